@@ -0,0 +1,193 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.commons.util;
+
+import static java.util.stream.Collectors.toList;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@code ClassFileInfo} provides information about a class that is read
+ * directly from its class file, without loading the class.
+ *
+ * <p>Only the constant pool, the header that follows it, and the names of
+ * the directly implemented interfaces are read. This
+ * makes it cheap to reject class files that cannot possibly be of interest,
+ * e.g. because they reference none of the annotations a test engine looks
+ * for, before loading them.
+ *
+ * @since 5.0
+ */
+public final class ClassFileInfo {
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+	private static final String OBJECT_CLASS_NAME = "java/lang/Object";
+
+	/**
+	 * Read the class file at the supplied path.
+	 *
+	 * @throws IOException if the file cannot be read or is not a class file
+	 */
+	public static ClassFileInfo read(Path classFile) throws IOException {
+		Preconditions.notNull(classFile, "classFile must not be null");
+		try (InputStream inputStream = Files.newInputStream(classFile)) {
+			return read(inputStream);
+		}
+	}
+
+	/**
+	 * Read a class file from the supplied stream, which is not closed.
+	 *
+	 * @throws IOException if the stream cannot be read or does not contain a
+	 * class file
+	 */
+	public static ClassFileInfo read(InputStream classFile) throws IOException {
+		Preconditions.notNull(classFile, "classFile must not be null");
+		DataInputStream input = new DataInputStream(new BufferedInputStream(classFile));
+		if (input.readInt() != MAGIC) {
+			throw new IOException("Not a class file");
+		}
+		input.readUnsignedShort(); // minor version
+		input.readUnsignedShort(); // major version
+
+		int constantPoolCount = input.readUnsignedShort();
+		String[] utf8Entries = new String[constantPoolCount];
+		int[] classNameIndices = new int[constantPoolCount];
+		for (int i = 1; i < constantPoolCount; i++) {
+			int tag = input.readUnsignedByte();
+			switch (tag) {
+				case 1: // Utf8
+					utf8Entries[i] = input.readUTF();
+					break;
+				case 7: // Class
+					classNameIndices[i] = input.readUnsignedShort();
+					break;
+				case 8: // String
+				case 16: // MethodType
+				case 19: // Module
+				case 20: // Package
+					input.skipBytes(2);
+					break;
+				case 15: // MethodHandle
+					input.skipBytes(3);
+					break;
+				case 3: // Integer
+				case 4: // Float
+				case 9: // Fieldref
+				case 10: // Methodref
+				case 11: // InterfaceMethodref
+				case 12: // NameAndType
+				case 17: // Dynamic
+				case 18: // InvokeDynamic
+					input.skipBytes(4);
+					break;
+				case 5: // Long
+				case 6: // Double
+					input.skipBytes(8);
+					// 8-byte constants occupy two entries.
+					i++;
+					break;
+				default:
+					throw new IOException("Unknown constant pool tag " + tag);
+			}
+		}
+
+		input.readUnsignedShort(); // access flags
+		input.readUnsignedShort(); // this class
+		int superclassIndex = input.readUnsignedShort();
+		int interfacesCount = input.readUnsignedShort();
+		List<String> interfaceNames = new ArrayList<>(interfacesCount);
+		for (int i = 0; i < interfacesCount; i++) {
+			interfaceNames.add(utf8Entries[classNameIndices[input.readUnsignedShort()]]);
+		}
+
+		Set<String> utf8Constants = new HashSet<>();
+		for (String entry : utf8Entries) {
+			if (entry != null) {
+				utf8Constants.add(entry);
+			}
+		}
+		String superclassName = (superclassIndex == 0) ? null : utf8Entries[classNameIndices[superclassIndex]];
+		return new ClassFileInfo(utf8Constants, superclassName, interfaceNames);
+	}
+
+	private final Set<String> utf8Constants;
+
+	private final String superclassName;
+
+	private final List<String> interfaceNames;
+
+	private ClassFileInfo(Set<String> utf8Constants, String superclassName, List<String> interfaceNames) {
+		this.utf8Constants = utf8Constants;
+		this.superclassName = superclassName;
+		this.interfaceNames = interfaceNames;
+	}
+
+	/**
+	 * Get the fully qualified name of the superclass, if any.
+	 */
+	public Optional<String> getSuperclassName() {
+		return Optional.ofNullable(this.superclassName).map(name -> name.replace('/', '.'));
+	}
+
+	/**
+	 * Determine if the class extends a class other than {@link Object}.
+	 */
+	public boolean hasSuperclassOtherThanObject() {
+		return this.superclassName != null && !OBJECT_CLASS_NAME.equals(this.superclassName);
+	}
+
+	/**
+	 * Get the fully qualified names of the interfaces the class directly
+	 * implements, in declaration order.
+	 */
+	public List<String> getInterfaceNames() {
+		return this.interfaceNames.stream().map(name -> name.replace('/', '.')).collect(toList());
+	}
+
+	/**
+	 * Determine if the class directly implements any interfaces.
+	 */
+	public boolean hasInterfaces() {
+		return !this.interfaceNames.isEmpty();
+	}
+
+	/**
+	 * Determine if the class, or any of its fields or methods, is annotated
+	 * with an annotation that is retained at runtime.
+	 */
+	public boolean hasRuntimeVisibleAnnotations() {
+		return this.utf8Constants.contains(RUNTIME_VISIBLE_ANNOTATIONS);
+	}
+
+	/**
+	 * Determine if the class file refers to the type with the supplied fully
+	 * qualified name, e.g. as the type of an annotation, field or parameter.
+	 */
+	public boolean referencesType(String typeName) {
+		String internalName = typeName.replace('.', '/');
+		return this.utf8Constants.contains("L" + internalName + ";") || this.utf8Constants.contains(internalName);
+	}
+
+}
@@ -12,33 +12,100 @@ package org.junit.gen5.commons.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
+ * {@code ClasspathScanner} finds the classes in a package or classpath root.
+ *
+ * <p>Classes are found in directories as well as in JAR files. Scanning
+ * happens in two stages: the class files beneath the source directories or
+ * in the JAR files are collected first, and the corresponding classes are
+ * then loaded and filtered. In <em>parallel</em> mode, directory subtrees
+ * are walked in a fork-join pool and classes are loaded concurrently. In
+ * either mode, classes are returned in a deterministic order, sorted by path.
+ *
+ * <p>An optional {@link ClassFileInfo} filter is applied to each class file
+ * before its class is loaded, so that classes which are certainly not of
+ * interest are never loaded. If a {@link DiscoveryIndex} is configured,
+ * unchanged class files that were found not to be of interest by a previous
+ * scan with the same filters are skipped without being read.
+ *
  * @since 5.0
  */
 class ClasspathScanner {
 
 	private static final String CLASS_FILE_SUFFIX = ".class";
+	private static final String JAR_FILE_SUFFIX = ".jar";
+	private static final String META_INF_PREFIX = "META-INF/";
+
+	/**
+	 * Class file filter that accepts all class files without reading them.
+	 */
+	static final Predicate<ClassFileInfo> ACCEPT_ALL = classFile -> true;
 	private static final Logger LOG = Logger.getLogger(ClasspathScanner.class.getName());
 
 	private final Supplier<ClassLoader> classLoaderSupplier;
 	private final BiFunction<String, ClassLoader, Optional<Class<?>>> loadClass;
+	private final Predicate<ClassFileInfo> classFileFilter;
+	private final boolean parallel;
+	private final Optional<Path> indexDirectory;
 
 	ClasspathScanner(Supplier<ClassLoader> classLoaderSupplier,
 			BiFunction<String, ClassLoader, Optional<Class<?>>> loadClass) {
+		this(classLoaderSupplier, loadClass, false);
+	}
+
+	ClasspathScanner(Supplier<ClassLoader> classLoaderSupplier,
+			BiFunction<String, ClassLoader, Optional<Class<?>>> loadClass, boolean parallel) {
+		this(classLoaderSupplier, loadClass, ACCEPT_ALL, parallel);
+	}
+
+	ClasspathScanner(Supplier<ClassLoader> classLoaderSupplier,
+			BiFunction<String, ClassLoader, Optional<Class<?>>> loadClass, Predicate<ClassFileInfo> classFileFilter,
+			boolean parallel) {
+		this(classLoaderSupplier, loadClass, classFileFilter, parallel, DiscoveryIndex.getConfiguredIndexDirectory());
+	}
+
+	/**
+	 * @param indexDirectory the directory in which to store the
+	 * {@link DiscoveryIndex}, if any
+	 */
+	ClasspathScanner(Supplier<ClassLoader> classLoaderSupplier,
+			BiFunction<String, ClassLoader, Optional<Class<?>>> loadClass, Predicate<ClassFileInfo> classFileFilter,
+			boolean parallel, Optional<Path> indexDirectory) {
 		this.classLoaderSupplier = classLoaderSupplier;
 		this.loadClass = loadClass;
+		this.classFileFilter = classFileFilter;
+		this.parallel = parallel;
+		this.indexDirectory = indexDirectory;
 	}
 
 	boolean isPackage(String packageName) {
@@ -53,97 +120,447 @@ class ClasspathScanner {
 	}
 
 	List<Class<?>> scanForClassesInPackage(String basePackageName, Predicate<Class<?>> classFilter) {
+		List<Class<?>> classes = new ArrayList<>();
+		scanForClassesInPackage(basePackageName, classFilter, classes::add);
+		return classes;
+	}
+
+	/**
+	 * Pass each class in the supplied package that satisfies the supplied
+	 * filter to the supplied action as soon as it has been loaded, in the
+	 * same order in which {@link #scanForClassesInPackage(String, Predicate)}
+	 * would return it.
+	 */
+	void scanForClassesInPackage(String basePackageName, Predicate<Class<?>> classFilter,
+			Consumer<Class<?>> action) {
 		Preconditions.notBlank(basePackageName, "basePackageName must not be blank");
 
-		List<File> dirs = allSourceDirsForPackage(basePackageName);
-		LOG.fine(() -> "Directories found: " + dirs);
-		return allClassesInSourceDirs(dirs, basePackageName, classFilter);
+		List<Path> sources = allSourcesForPackage(basePackageName);
+		LOG.fine(() -> "Directories and JAR files found: " + sources);
+		forEachClassInSources(sources, basePackageName, classFilter, action);
 	}
 
-	private List<Class<?>> allClassesInSourceDirs(List<File> sourceDirs, String basePackageName,
-			Predicate<Class<?>> classFilter) {
-		List<Class<?>> classes = new ArrayList<>();
-		for (File aSourceDir : sourceDirs) {
-			classes.addAll(findClassesInSourceDirRecursively(aSourceDir, basePackageName, classFilter));
+	private void forEachClassInSources(List<Path> sources, String basePackageName, Predicate<Class<?>> classFilter,
+			Consumer<Class<?>> action) {
+		Optional<String> indexScope = indexScope(classFilter);
+		List<DiscoveryIndex> indexes = new ArrayList<>();
+		List<ClassFile> classFiles = new ArrayList<>();
+		for (Path source : sources) {
+			DiscoveryIndex index = openIndex(source, basePackageName, indexScope);
+			indexes.add(index);
+			if (Files.isDirectory(source)) {
+				classFiles.addAll(findClassFilesInSourceDirRecursively(source, basePackageName, index));
+			}
+			else {
+				classFiles.addAll(findClassFilesInJarFile(source, basePackageName, index));
+			}
 		}
-		return classes;
+		loadClasses(classFiles, classFilter, action);
+		indexes.forEach(DiscoveryIndex::save);
 	}
 
 	List<Class<?>> scanForClassesInClasspathRoot(File root, Predicate<Class<?>> classFilter) {
+		List<Class<?>> classes = new ArrayList<>();
+		scanForClassesInClasspathRoot(root, classFilter, classes::add);
+		return classes;
+	}
+
+	/**
+	 * Pass each class in the supplied classpath root that satisfies the
+	 * supplied filter to the supplied action as soon as it has been loaded,
+	 * in the same order in which
+	 * {@link #scanForClassesInClasspathRoot(File, Predicate)} would return it.
+	 */
+	void scanForClassesInClasspathRoot(File root, Predicate<Class<?>> classFilter, Consumer<Class<?>> action) {
 		Preconditions.notNull(root, "root must not be null");
 		Preconditions.condition(root.exists(), "root must exist");
-		Preconditions.condition(root.isDirectory(), "root must be a directory");
+		Preconditions.condition(root.isDirectory() || isJarFile(root.toPath()),
+			"root must be a directory or a JAR file");
 
-		return findClassesInSourceDirRecursively(root, "", classFilter);
+		DiscoveryIndex index = openIndex(root.toPath(), "", indexScope(classFilter));
+		List<ClassFile> classFiles = root.isDirectory() ? findClassFilesInSourceDirRecursively(root.toPath(), "", index)
+				: findClassFilesInJarFile(root.toPath(), "", index);
+		loadClasses(classFiles, classFilter, action);
+		index.save();
 	}
 
-	private List<File> allSourceDirsForPackage(String basePackageName) {
+	/**
+	 * Determine the scope of the {@link DiscoveryIndex} for the filters of a
+	 * scan, which is only possible if their classes have stable names.
+	 */
+	private Optional<String> indexScope(Predicate<Class<?>> classFilter) {
+		Optional<String> classFileFilterName = (this.classFileFilter == ACCEPT_ALL) ? Optional.of("*")
+				: stableClassName(this.classFileFilter);
+		Optional<String> classFilterName = stableClassName(classFilter);
+		if (classFileFilterName.isPresent() && classFilterName.isPresent()) {
+			return Optional.of(classFileFilterName.get() + "|" + classFilterName.get());
+		}
+		return Optional.empty();
+	}
+
+	private static Optional<String> stableClassName(Object object) {
+		Class<?> clazz = object.getClass();
+		if (clazz.isSynthetic() || clazz.isAnonymousClass() || clazz.isLocalClass()
+				|| clazz.getName().contains("$$Lambda")) {
+			return Optional.empty();
+		}
+		return Optional.of(clazz.getName());
+	}
+
+	private DiscoveryIndex openIndex(Path source, String packageName, Optional<String> indexScope) {
+		if (!this.indexDirectory.isPresent() || !indexScope.isPresent()) {
+			return DiscoveryIndex.NONE;
+		}
+		return DiscoveryIndex.open(this.indexDirectory.get(), source, packageName + "|" + indexScope.get());
+	}
+
+	/**
+	 * Find the directories and JAR files that contain the supplied package.
+	 * For directories, the directory corresponding to the package itself is
+	 * returned; for JAR files, the JAR file.
+	 */
+	private List<Path> allSourcesForPackage(String basePackageName) {
 		try {
 			ClassLoader classLoader = classLoaderSupplier.get();
 			LOG.fine(() -> "ClassLoader: " + classLoader);
 			String path = packagePath(basePackageName);
 			Enumeration<URL> resources = null;
 			resources = classLoader.getResources(path);
-			List<File> dirs = new ArrayList<>();
+			List<Path> sources = new ArrayList<>();
 			while (resources.hasMoreElements()) {
 				URL resource = resources.nextElement();
-				dirs.add(new File(resource.getFile()));
+				toSourcePath(resource).ifPresent(sources::add);
 			}
-			return dirs;
+			return sources;
 		}
 		catch (IOException e) {
 			return Collections.emptyList();
 		}
 	}
 
+	private Optional<Path> toSourcePath(URL resource) {
+		try {
+			if ("file".equals(resource.getProtocol())) {
+				return Optional.of(Paths.get(resource.toURI()));
+			}
+			if ("jar".equals(resource.getProtocol())) {
+				// jar:file:/path/to/file.jar!/org/example
+				String jarFileUri = resource.getPath().substring(0, resource.getPath().indexOf("!/"));
+				return Optional.of(Paths.get(new URI(jarFileUri)));
+			}
+		}
+		catch (URISyntaxException | RuntimeException ex) {
+			LOG.fine(() -> "Failed to resolve classpath resource " + resource + ": " + ex.getMessage());
+			return Optional.empty();
+		}
+		LOG.fine(() -> "Unsupported classpath resource: " + resource);
+		return Optional.empty();
+	}
+
+	/**
+	 * Collect all candidate class files in the supplied JAR file that reside
+	 * in the supplied package or its subpackages.
+	 *
+	 * <p>Entry names are read from the central directory of the JAR file;
+	 * only entries of candidate class files are inflated, and only if a class
+	 * file filter needs to inspect them.
+	 */
+	private List<ClassFile> findClassFilesInJarFile(Path jarFile, String packageName, DiscoveryIndex index) {
+		String entryPrefix = packageName.isEmpty() ? "" : packagePath(packageName) + "/";
+		List<ClassFile> classFiles = new ArrayList<>();
+		try (ZipFile zipFile = new ZipFile(jarFile.toFile())) {
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				String entryName = entry.getName();
+				if (!entry.isDirectory() && entryName.startsWith(entryPrefix) && entryName.endsWith(CLASS_FILE_SUFFIX)
+						&& !entryName.startsWith(META_INF_PREFIX)) {
+					String classFileName = entryName.substring(0, entryName.length() - CLASS_FILE_SUFFIX.length());
+					ClassFile classFile = new ClassFile(classFileName.replace('/', '.'), entryName, entry.getSize(),
+						entry.getCrc(), index);
+					if (isCandidateClassFile(classFile, () -> zipFile.getInputStream(entry))) {
+						classFiles.add(classFile);
+					}
+				}
+			}
+		}
+		catch (IOException ex) {
+			LOG.warning(() -> "Failed to read JAR file " + jarFile + ": " + ex.getMessage());
+		}
+		classFiles.sort((first, second) -> first.className.compareTo(second.className));
+		return classFiles;
+	}
+
 	private String packagePath(String basePackageName) {
 		return basePackageName.replace('.', '/');
 	}
 
-	private List<Class<?>> findClassesInSourceDirRecursively(File sourceDir, String packageName,
-			Predicate<Class<?>> classFilter) {
-		List<Class<?>> classesCollector = new ArrayList<>();
-		if (collectClassesRecursively(sourceDir, packageName, classesCollector, classFilter))
-			return classesCollector;
-		return classesCollector;
+	private List<ClassFile> findClassFilesInSourceDirRecursively(Path sourceDir, String packageName,
+			DiscoveryIndex index) {
+		ClassFileCollector collector = new ClassFileCollector(sourceDir, packageName,
+			(file, filePackageName) -> createClassFileIfCandidate(sourceDir, file, filePackageName, index),
+			this.parallel);
+		if (this.parallel) {
+			return ForkJoinPool.commonPool().invoke(collector);
+		}
+		return collector.compute();
+	}
+
+	private Optional<ClassFile> createClassFileIfCandidate(Path sourceDir, Path file, String packageName,
+			DiscoveryIndex index) {
+		String className = classNameForClassFile(file, packageName);
+		ClassFile classFile = new ClassFile(className, null, 0, 0, DiscoveryIndex.NONE);
+		if (index.isEnabled()) {
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+				classFile = new ClassFile(className, sourceDir.relativize(file).toString(), attributes.size(),
+					attributes.lastModifiedTime().toMillis(), index);
+			}
+			catch (IOException ex) {
+				LOG.fine(() -> "Failed to read attributes of class file " + file + ": " + ex.getMessage());
+			}
+		}
+		return isCandidateClassFile(classFile, () -> Files.newInputStream(file)) ? Optional.of(classFile)
+				: Optional.empty();
+	}
+
+	/**
+	 * Load the classes of the supplied class files, apply the supplied filter
+	 * to them and pass the remaining ones to the supplied action, in order.
+	 */
+	private void loadClasses(List<ClassFile> classFiles, Predicate<Class<?>> classFilter,
+			Consumer<Class<?>> action) {
+		// Resolve the class loader once, since worker threads may have a different context class loader.
+		ClassLoader classLoader = classLoaderSupplier.get();
+		Stream<ClassFile> classFileStream = this.parallel ? classFiles.parallelStream() : classFiles.stream();
+		// @formatter:off
+		classFileStream
+				.map(classFile -> loadClass(classFile, classLoader, classFilter))
+				.filter(Optional::isPresent)
+				.map(Optional::get)
+				.forEachOrdered(action);
+		// @formatter:on
 	}
 
-	private boolean collectClassesRecursively(File sourceDir, String packageName, List<Class<?>> classesCollector,
+	private Optional<Class<?>> loadClass(ClassFile classFile, ClassLoader classLoader,
 			Predicate<Class<?>> classFilter) {
-		LOG.finer(() -> "Searching for classes in package: " + packageName);
-		if (!sourceDir.exists()) {
+		Optional<Class<?>> clazz = loadClass.apply(classFile.className, classLoader);
+		if (clazz.isPresent() && !classFilter.test(clazz.get())) {
+			if (isSelfContained(clazz.get())) {
+				classFile.recordNonCandidate();
+			}
+			return Optional.empty();
+		}
+		return clazz;
+	}
+
+	/**
+	 * Determine if the verdict of a class filter on the supplied class can only
+	 * change along with its own class file.
+	 *
+	 * <p>That is not the case if the class extends another class, implements
+	 * interfaces, declares member classes, or if it or any of its members is
+	 * annotated with an annotation other than those of the JDK, since the
+	 * filter may inspect the meta-annotations of its annotation type.
+	 */
+	private static boolean isSelfContained(Class<?> clazz) {
+		try {
+			Class<?> superclass = clazz.getSuperclass();
+			if ((superclass != null && superclass != Object.class) || clazz.getInterfaces().length > 0
+					|| clazz.getDeclaredClasses().length > 0 || !hasOnlyJdkAnnotations(clazz)) {
+				return false;
+			}
+			for (Field field : clazz.getDeclaredFields()) {
+				if (!hasOnlyJdkAnnotations(field)) {
+					return false;
+				}
+			}
+			List<Executable> executables = new ArrayList<>();
+			Collections.addAll(executables, clazz.getDeclaredConstructors());
+			Collections.addAll(executables, clazz.getDeclaredMethods());
+			for (Executable executable : executables) {
+				if (!hasOnlyJdkAnnotations(executable)) {
+					return false;
+				}
+				for (Parameter parameter : executable.getParameters()) {
+					if (!hasOnlyJdkAnnotations(parameter)) {
+						return false;
+					}
+				}
+			}
 			return true;
 		}
-		File[] files = sourceDir.listFiles();
-		LOG.finer(() -> "Files found: " + Arrays.toString(files));
-		for (File file : files) {
-			if (isClassFile(file)) {
-				Optional<Class<?>> classForClassFile = loadClassForClassFile(file, packageName);
-				classForClassFile.filter(classFilter).ifPresent(clazz -> classesCollector.add(clazz));
+		catch (LinkageError err) {
+			return false;
+		}
+	}
+
+	private static boolean hasOnlyJdkAnnotations(AnnotatedElement element) {
+		for (Annotation annotation : element.getDeclaredAnnotations()) {
+			String annotationTypeName = annotation.annotationType().getName();
+			if (!annotationTypeName.startsWith("java.") && !annotationTypeName.startsWith("javax.")) {
+				return false;
 			}
-			else if (file.isDirectory()) {
-				collectClassesRecursively(file, appendPackageName(packageName, file.getName()), classesCollector,
-					classFilter);
+		}
+		return true;
+	}
+
+	/**
+	 * Determine if the supplied class file is a candidate, consulting the
+	 * discovery index first and the class file filter second. Files that
+	 * cannot be read are passed on, leaving it to the class loader to reject
+	 * them.
+	 */
+	private boolean isCandidateClassFile(ClassFile classFile, ClassFileOpener opener) {
+		if (classFile.isKnownNonCandidate()) {
+			return false;
+		}
+		if (this.classFileFilter == ACCEPT_ALL) {
+			return true;
+		}
+		try (InputStream inputStream = opener.open()) {
+			ClassFileInfo classFileInfo = ClassFileInfo.read(inputStream);
+			if (!this.classFileFilter.test(classFileInfo)) {
+				// The verdict may change along with a superclass or an implemented interface.
+				if (!classFileInfo.hasSuperclassOtherThanObject() && !classFileInfo.hasInterfaces()) {
+					classFile.recordNonCandidate();
+				}
+				return false;
 			}
+			return true;
+		}
+		catch (IOException ex) {
+			LOG.fine(() -> "Failed to read class file " + classFile.className + ": " + ex.getMessage());
+			return true;
 		}
-		return false;
 	}
 
-	private String appendPackageName(String packageName, String subpackageName) {
+	private static boolean isJarFile(Path file) {
+		return Files.isRegularFile(file) && file.getFileName().toString().endsWith(JAR_FILE_SUFFIX);
+	}
+
+	private static String appendPackageName(String packageName, String subpackageName) {
 		if (packageName.isEmpty())
 			return subpackageName;
 		else
 			return packageName + "." + subpackageName;
 	}
 
-	private Optional<Class<?>> loadClassForClassFile(File file, String packageName) {
-		String className = packageName + '.'
-				+ file.getName().substring(0, file.getName().length() - CLASS_FILE_SUFFIX.length());
-		return loadClass.apply(className, classLoaderSupplier.get());
+	private static String classNameForClassFile(Path file, String packageName) {
+		String fileName = file.getFileName().toString();
+		return appendPackageName(packageName, fileName.substring(0, fileName.length() - CLASS_FILE_SUFFIX.length()));
+	}
+
+	private static boolean isClassFile(Path file) {
+		return file.getFileName().toString().endsWith(CLASS_FILE_SUFFIX) && Files.isRegularFile(file);
+	}
+
+	@FunctionalInterface
+	private interface ClassFileOpener {
+
+		InputStream open() throws IOException;
+	}
+
+	/**
+	 * A class file found while scanning, along with the information needed
+	 * to record it in the {@link DiscoveryIndex} of its source.
+	 */
+	private static class ClassFile {
+
+		private final String className;
+
+		private final String entryName;
+
+		private final long size;
+
+		private final long fingerprint;
+
+		private final DiscoveryIndex index;
+
+		ClassFile(String className, String entryName, long size, long fingerprint, DiscoveryIndex index) {
+			this.className = className;
+			this.entryName = entryName;
+			this.size = size;
+			this.fingerprint = fingerprint;
+			this.index = index;
+		}
+
+		boolean isKnownNonCandidate() {
+			return this.index.isEnabled()
+					&& this.index.isKnownNonCandidate(this.entryName, this.size, this.fingerprint);
+		}
+
+		void recordNonCandidate() {
+			this.index.recordNonCandidate(this.entryName, this.size, this.fingerprint);
+		}
 	}
 
-	private static boolean isClassFile(File file) {
-		return file.isFile() && file.getName().endsWith(CLASS_FILE_SUFFIX);
+	/**
+	 * Collects all candidate class files beneath a directory, forking a
+	 * subtask per subdirectory in parallel mode.
+	 */
+	@SuppressWarnings("serial")
+	private static class ClassFileCollector extends RecursiveTask<List<ClassFile>> {
+
+		private final Path sourceDir;
+
+		private final String packageName;
+
+		private final BiFunction<Path, String, Optional<ClassFile>> classFileFactory;
+
+		private final boolean fork;
+
+		ClassFileCollector(Path sourceDir, String packageName,
+				BiFunction<Path, String, Optional<ClassFile>> classFileFactory, boolean fork) {
+			this.sourceDir = sourceDir;
+			this.packageName = packageName;
+			this.classFileFactory = classFileFactory;
+			this.fork = fork;
+		}
+
+		@Override
+		protected List<ClassFile> compute() {
+			LOG.finer(() -> "Searching for classes in package: " + packageName);
+			if (!Files.isDirectory(this.sourceDir)) {
+				return Collections.emptyList();
+			}
+
+			List<Path> files = listSorted(this.sourceDir);
+			LOG.finer(() -> "Files found: " + files);
+
+			List<ClassFile> classFiles = new ArrayList<>();
+			List<ClassFileCollector> subtasks = new ArrayList<>();
+			for (Path file : files) {
+				if (isClassFile(file)) {
+					this.classFileFactory.apply(file, this.packageName).ifPresent(classFiles::add);
+				}
+				else if (Files.isDirectory(file)) {
+					String subpackageName = appendPackageName(this.packageName, file.getFileName().toString());
+					subtasks.add(new ClassFileCollector(file, subpackageName, this.classFileFactory, this.fork));
+				}
+			}
+
+			if (this.fork) {
+				invokeAll(subtasks);
+				subtasks.forEach(subtask -> classFiles.addAll(subtask.join()));
+			}
+			else {
+				subtasks.forEach(subtask -> classFiles.addAll(subtask.compute()));
+			}
+			return classFiles;
+		}
+
+		private static List<Path> listSorted(Path dir) {
+			List<Path> files = new ArrayList<>();
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+				stream.forEach(files::add);
+			}
+			catch (IOException ex) {
+				LOG.warning(() -> "Failed to list directory " + dir + ": " + ex.getMessage());
+			}
+			Collections.sort(files);
+			return files;
+		}
 	}
 
 }
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.commons.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * {@code DiscoveryIndex} persistently records which class files of a single
+ * directory or JAR file were found <em>not</em> to be of interest when they
+ * were last scanned with the same filters, so that they need not be loaded
+ * again as long as they remain unchanged.
+ *
+ * <p>Class files are identified by their size and a fingerprint: their last
+ * modification time for files in directories and their CRC for entries in
+ * JAR files. Class files whose verdict may depend on other class files, e.g.
+ * because they extend another class, implement interfaces or are annotated
+ * with annotations that may carry meta-annotations, must not be recorded.
+ *
+ * <p>The index is enabled by setting the system property
+ * {@value #INDEX_DIRECTORY_PROPERTY} to a directory in which to store index
+ * files. Index files are replaced atomically, so an index directory may be
+ * shared by multiple JVMs; concurrent updates of the same index file do not
+ * corrupt it, but the last update wins.
+ *
+ * @since 5.0
+ */
+class DiscoveryIndex {
+
+	/**
+	 * Name of the system property that specifies the directory in which
+	 * index files are stored.
+	 */
+	static final String INDEX_DIRECTORY_PROPERTY = ReflectionUtils.DISCOVERY_INDEX_DIRECTORY_PROPERTY;
+
+	/**
+	 * Index that records nothing.
+	 */
+	static final DiscoveryIndex NONE = new DiscoveryIndex(null, null, Collections.emptyMap());
+
+	private static final Logger LOG = Logger.getLogger(DiscoveryIndex.class.getName());
+
+	private static final String HEADER_PREFIX = "# ";
+
+	private static final String SEPARATOR = "\t";
+
+	/**
+	 * Get the index directory configured via {@value #INDEX_DIRECTORY_PROPERTY}.
+	 */
+	static Optional<Path> getConfiguredIndexDirectory() {
+		return Optional.ofNullable(System.getProperty(INDEX_DIRECTORY_PROPERTY)).filter(
+			StringUtils::isNotBlank).map(Paths::get);
+	}
+
+	/**
+	 * Open the index for the supplied source, i.e. directory or JAR file,
+	 * as scanned with the supplied scope.
+	 *
+	 * @param scope identifies the filters applied while scanning; verdicts
+	 * recorded for one scope do not apply to another
+	 */
+	static DiscoveryIndex open(Path indexDirectory, Path source, String scope) {
+		String header = HEADER_PREFIX + source.toAbsolutePath().normalize() + SEPARATOR + scope;
+		Path indexFile = indexDirectory.resolve(sha1Hex(header) + ".idx");
+		return new DiscoveryIndex(indexFile, header, readEntries(indexFile, header));
+	}
+
+	private static String sha1Hex(String text) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			// Every Java platform is required to support SHA-1.
+			throw new IllegalStateException("SHA-1 is not supported", ex);
+		}
+		StringBuilder hex = new StringBuilder(40);
+		for (byte b : digest.digest(text.getBytes(UTF_8))) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+	private final Path indexFile;
+
+	private final String header;
+
+	private final Map<String, Entry> previousEntries;
+
+	private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+
+	private DiscoveryIndex(Path indexFile, String header, Map<String, Entry> previousEntries) {
+		this.indexFile = indexFile;
+		this.header = header;
+		this.previousEntries = previousEntries;
+	}
+
+	boolean isEnabled() {
+		return this.indexFile != null;
+	}
+
+	/**
+	 * Determine if the supplied class file was recorded as not being of
+	 * interest and has not changed since.
+	 */
+	boolean isKnownNonCandidate(String entryName, long size, long fingerprint) {
+		Entry entry = this.previousEntries.get(entryName);
+		if (entry != null && entry.size == size && entry.fingerprint == fingerprint) {
+			this.currentEntries.put(entryName, entry);
+			return true;
+		}
+		return false;
+	}
+
+	void recordNonCandidate(String entryName, long size, long fingerprint) {
+		if (isEnabled()) {
+			this.currentEntries.put(entryName, new Entry(size, fingerprint));
+		}
+	}
+
+	/**
+	 * Write the verdicts of the current scan to the index file, if they
+	 * differ from those read when the index was opened.
+	 */
+	void save() {
+		if (!isEnabled() || this.currentEntries.equals(this.previousEntries)) {
+			return;
+		}
+		Path tempFile = null;
+		try {
+			Files.createDirectories(this.indexFile.getParent());
+			tempFile = Files.createTempFile(this.indexFile.getParent(), this.indexFile.getFileName().toString(),
+				".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(tempFile, UTF_8)) {
+				writer.write(this.header);
+				writer.newLine();
+				for (Map.Entry<String, Entry> entry : this.currentEntries.entrySet()) {
+					writer.write(entry.getValue().size + SEPARATOR + entry.getValue().fingerprint + SEPARATOR
+							+ entry.getKey());
+					writer.newLine();
+				}
+			}
+			moveAtomically(tempFile, this.indexFile);
+		}
+		catch (IOException ex) {
+			LOG.warning(() -> "Failed to write discovery index " + this.indexFile + ": " + ex.getMessage());
+			deleteQuietly(tempFile);
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException ex) {
+			LOG.fine(() -> "Failed to delete " + file + ": " + ex.getMessage());
+		}
+	}
+
+	private static void moveAtomically(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (AtomicMoveNotSupportedException ex) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static Map<String, Entry> readEntries(Path indexFile, String header) {
+		if (!Files.isRegularFile(indexFile)) {
+			return Collections.emptyMap();
+		}
+		Map<String, Entry> entries = new HashMap<>();
+		try (BufferedReader reader = Files.newBufferedReader(indexFile, UTF_8)) {
+			if (!header.equals(reader.readLine())) {
+				// Different source or scope with the same digest
+				return Collections.emptyMap();
+			}
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] parts = line.split(SEPARATOR, 3);
+				entries.put(parts[2], new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1])));
+			}
+			return entries;
+		}
+		catch (IOException | RuntimeException ex) {
+			LOG.warning(() -> "Ignoring unreadable discovery index " + indexFile + ": " + ex.getMessage());
+			return Collections.emptyMap();
+		}
+	}
+
+	private static class Entry {
+
+		private final long size;
+
+		private final long fingerprint;
+
+		Entry(long size, long fingerprint) {
+			this.size = size;
+			this.fingerprint = fingerprint;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Entry)) {
+				return false;
+			}
+			Entry that = (Entry) obj;
+			return this.size == that.size && this.fingerprint == that.fingerprint;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.size, this.fingerprint);
+		}
+	}
+
+}
@@ -13,6 +13,9 @@ package org.junit.gen5.commons.util;
 import static java.util.stream.Collectors.toList;
 
 import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -22,9 +25,13 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -37,10 +44,38 @@ import java.util.stream.Collectors;
  */
 public final class ReflectionUtils {
 
+	/**
+	 * Name of the system property that specifies the directory in which the
+	 * classpath scanner caches, across runs, which class files were found
+	 * not to contain any tests.
+	 */
+	public static final String DISCOVERY_INDEX_DIRECTORY_PROPERTY = "junit.discovery.index.dir";
+
 	public enum MethodSortOrder {
 		HierarchyDown, HierarchyUp
 	}
 
+	/**
+	 * Methods in the hierarchy of each class, per sort order. Since the cache
+	 * is keyed by class, it is bounded by the number of loaded classes and
+	 * does not prevent them from being unloaded.
+	 */
+	private static final ClassValue<HierarchyMethods> hierarchyMethods = new ClassValue<HierarchyMethods>() {
+
+		@Override
+		protected HierarchyMethods computeValue(Class<?> clazz) {
+			return new HierarchyMethods(clazz);
+		}
+	};
+
+	private static final ClassValue<ConstructorHandles> constructorHandles = new ClassValue<ConstructorHandles>() {
+
+		@Override
+		protected ConstructorHandles computeValue(Class<?> clazz) {
+			return new ConstructorHandles(clazz);
+		}
+	};
+
 	private ReflectionUtils() {
 		/* no-op */
 	}
@@ -87,14 +122,21 @@ public final class ReflectionUtils {
 		return Modifier.isStatic(member.getModifiers());
 	}
 
+	/**
+	 * Create a new instance of the supplied class by invoking the constructor
+	 * whose parameter types match the runtime types of the supplied arguments.
+	 *
+	 * <p>Resolved constructors are cached per class as method handles. The
+	 * cache is attached to the class itself and therefore does not prevent
+	 * its class loader from being garbage collected.
+	 */
+	@SuppressWarnings("unchecked")
 	public static <T> T newInstance(Class<T> clazz, Object... args) {
 		Preconditions.notNull(clazz, "class must not be null");
 
 		try {
 			Class<?>[] parameterTypes = Arrays.stream(args).map(Object::getClass).toArray(Class<?>[]::new);
-			Constructor<T> constructor = clazz.getDeclaredConstructor(parameterTypes);
-			makeAccessible(constructor);
-			return constructor.newInstance(args);
+			return (T) getConstructorHandle(clazz, parameterTypes).invokeExact(args);
 		}
 		catch (Throwable ex) {
 			handleException(ex);
@@ -104,6 +146,15 @@ public final class ReflectionUtils {
 		throw new IllegalStateException("Exception handling algorithm in ReflectionUtils is incomplete");
 	}
 
+	/**
+	 * Get the cached handle for the constructor of the supplied class with
+	 * the supplied parameter types, resolving it on first use.
+	 */
+	static MethodHandle getConstructorHandle(Class<?> clazz, Class<?>... parameterTypes)
+			throws ReflectiveOperationException {
+		return constructorHandles.get(clazz).getConstructorHandle(parameterTypes);
+	}
+
 	/**
 	 * Invoke the supplied method, making it accessible if necessary and
 	 * wrapping any checked exception in an {@code IllegalStateException}.
@@ -132,6 +183,67 @@ public final class ReflectionUtils {
 		throw new IllegalStateException("Exception handling algorithm in ReflectionUtils is incomplete");
 	}
 
+	/**
+	 * Create a {@link MethodHandle} for the supplied method, making it
+	 * accessible if necessary.
+	 *
+	 * <p>The returned handle is adapted to the uniform type
+	 * {@code (Object target, Object[] args)Object} so that it can be invoked
+	 * via {@link #invokeMethodHandle} regardless of the method's signature.
+	 * For {@code static} methods, the target is ignored.
+	 *
+	 * @param method the method for which to create the handle
+	 * @return the adapted method handle; never {@code null}
+	 * @see #invokeMethodHandle(MethodHandle, Object, Object...)
+	 */
+	public static MethodHandle getMethodHandle(Method method) {
+		Preconditions.notNull(method, "method must not be null");
+
+		try {
+			makeAccessible(method);
+			MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+			if (isStatic(method)) {
+				methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+			}
+			// @formatter:off
+			return methodHandle
+					.asSpreader(Object[].class, method.getParameterCount())
+					.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+			// @formatter:on
+		}
+		catch (Throwable ex) {
+			handleException(ex);
+		}
+
+		// Appeasing the compiler: this should hopefully never happen...
+		throw new IllegalStateException("Exception handling algorithm in ReflectionUtils is incomplete");
+	}
+
+	/**
+	 * Invoke the supplied method handle, wrapping any checked exception in an
+	 * {@code IllegalStateException}.
+	 *
+	 * @param methodHandle a method handle created via {@link #getMethodHandle}
+	 * @param target the object on which to invoke the method; may be
+	 * {@code null} if the method is {@code static}
+	 * @param args the arguments to pass to the method
+	 * @return the value returned by the method invocation or {@code null}
+	 * if the return type is {@code void}
+	 */
+	public static Object invokeMethodHandle(MethodHandle methodHandle, Object target, Object... args) {
+		Preconditions.notNull(methodHandle, "methodHandle must not be null");
+
+		try {
+			return (Object) methodHandle.invokeExact(target, args);
+		}
+		catch (Throwable ex) {
+			handleException(ex);
+		}
+
+		// Appeasing the compiler: this should hopefully never happen...
+		throw new IllegalStateException("Exception handling algorithm in ReflectionUtils is incomplete");
+	}
+
 	public static Optional<Class<?>> loadClass(String name) {
 		return loadClass(name, getDefaultClassLoader());
 	}
@@ -233,14 +345,116 @@ public final class ReflectionUtils {
 		// @formatter:on
 	}
 
+	/**
+	 * Get all directories and JAR files on the classpath.
+	 *
+	 * @see #getAllClasspathRootDirectories()
+	 */
+	public static Set<File> getAllClasspathRoots() {
+		String fullClassPath = System.getProperty("java.class.path");
+		final String separator = System.getProperty("path.separator");
+		// @formatter:off
+		return Arrays.stream(fullClassPath.split(separator))
+				.map(File::new)
+				.filter(root -> root.isDirectory() || (root.isFile() && root.getName().endsWith(".jar")))
+				.collect(Collectors.toSet());
+		// @formatter:on
+	}
+
+	/**
+	 * Find all classes in the supplied classpath root, which may be either a
+	 * directory or a JAR file, that satisfy the supplied predicate.
+	 */
 	public static List<Class<?>> findAllClassesInClasspathRoot(File root, Predicate<Class<?>> classTester) {
-		return new ClasspathScanner(ReflectionUtils::getDefaultClassLoader,
-			ReflectionUtils::loadClass).scanForClassesInClasspathRoot(root, classTester);
+		return findAllClassesInClasspathRoot(root, classTester, false);
+	}
+
+	/**
+	 * Find all classes in the supplied classpath root that satisfy the
+	 * supplied predicate.
+	 *
+	 * @param parallel whether to scan directories and load classes
+	 * concurrently; if {@code true}, the predicate must be thread-safe
+	 */
+	public static List<Class<?>> findAllClassesInClasspathRoot(File root, Predicate<Class<?>> classTester,
+			boolean parallel) {
+		return findAllClassesInClasspathRoot(root, ClasspathScanner.ACCEPT_ALL, classTester, parallel);
+	}
+
+	/**
+	 * Find all classes in the supplied classpath root that satisfy the
+	 * supplied predicate, loading only classes whose {@link ClassFileInfo}
+	 * satisfies the supplied class file filter.
+	 *
+	 * @param parallel whether to scan directories and load classes
+	 * concurrently; if {@code true}, both predicates must be thread-safe
+	 */
+	public static List<Class<?>> findAllClassesInClasspathRoot(File root, Predicate<ClassFileInfo> classFileFilter,
+			Predicate<Class<?>> classTester, boolean parallel) {
+		return new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, ReflectionUtils::loadClass,
+			classFileFilter, parallel).scanForClassesInClasspathRoot(root, classTester);
+	}
+
+	/**
+	 * Pass each class in the supplied classpath root that satisfies the
+	 * supplied predicates to the supplied action as soon as it has been
+	 * loaded, in the order in which
+	 * {@link #findAllClassesInClasspathRoot(File, Predicate, Predicate, boolean)}
+	 * would return it.
+	 *
+	 * <p>This allows callers to start processing classes before the whole
+	 * classpath root has been scanned.
+	 */
+	public static void forEachClassInClasspathRoot(File root, Predicate<ClassFileInfo> classFileFilter,
+			Predicate<Class<?>> classTester, boolean parallel, Consumer<Class<?>> action) {
+		new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, ReflectionUtils::loadClass, classFileFilter,
+			parallel).scanForClassesInClasspathRoot(root, classTester, action);
 	}
 
 	public static List<Class<?>> findAllClassesInPackage(String basePackageName, Predicate<Class<?>> classTester) {
-		return new ClasspathScanner(ReflectionUtils::getDefaultClassLoader,
-			ReflectionUtils::loadClass).scanForClassesInPackage(basePackageName, classTester);
+		return findAllClassesInPackage(basePackageName, classTester, false);
+	}
+
+	/**
+	 * Find all classes in the supplied package and its subpackages that
+	 * satisfy the supplied predicate.
+	 *
+	 * @param parallel whether to scan directories and load classes
+	 * concurrently; if {@code true}, the predicate must be thread-safe
+	 */
+	public static List<Class<?>> findAllClassesInPackage(String basePackageName, Predicate<Class<?>> classTester,
+			boolean parallel) {
+		return findAllClassesInPackage(basePackageName, ClasspathScanner.ACCEPT_ALL, classTester, parallel);
+	}
+
+	/**
+	 * Find all classes in the supplied package and its subpackages that
+	 * satisfy the supplied predicate, loading only classes whose
+	 * {@link ClassFileInfo} satisfies the supplied class file filter.
+	 *
+	 * @param parallel whether to scan directories and load classes
+	 * concurrently; if {@code true}, both predicates must be thread-safe
+	 */
+	public static List<Class<?>> findAllClassesInPackage(String basePackageName,
+			Predicate<ClassFileInfo> classFileFilter, Predicate<Class<?>> classTester, boolean parallel) {
+		return new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, ReflectionUtils::loadClass,
+			classFileFilter, parallel).scanForClassesInPackage(basePackageName, classTester);
+	}
+
+	/**
+	 * Pass each class in the supplied package and its subpackages that
+	 * satisfies the supplied predicates to the supplied action as soon as it
+	 * has been loaded, in the order in which
+	 * {@link #findAllClassesInPackage(String, Predicate, Predicate, boolean)}
+	 * would return it.
+	 *
+	 * <p>This allows callers to start processing classes before the whole
+	 * package has been scanned.
+	 */
+	public static void forEachClassInPackage(String basePackageName, Predicate<ClassFileInfo> classFileFilter,
+			Predicate<Class<?>> classTester, boolean parallel, Consumer<Class<?>> action) {
+		new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, ReflectionUtils::loadClass, classFileFilter,
+			parallel).scanForClassesInPackage(basePackageName, classTester, action);
 	}
 
 	public static List<Class<?>> findInnerClasses(Class<?> clazz, Predicate<Class<?>> predicate) {
@@ -268,12 +482,76 @@ public final class ReflectionUtils {
 		Preconditions.notNull(sortOrder, "MethodSortOrder must not be null");
 
 		// @formatter:off
-		return findAllMethodsInHierarchy(clazz, sortOrder).stream()
+		return getAllMethodsInHierarchy(clazz, sortOrder).stream()
 				.filter(predicate)
 				.collect(toList());
 		// @formatter:on
 	}
 
+	/**
+	 * Determine if any of the methods that {@link #findMethods(Class, Predicate)}
+	 * would find for the supplied class satisfies the supplied predicate,
+	 * without collecting them.
+	 *
+	 * <p>The hierarchy is searched from the supplied class upwards, and the
+	 * search stops at the first matching method that is not shadowed. Methods
+	 * are only checked for being shadowed if they match.
+	 */
+	public static boolean anyMethodMatches(Class<?> clazz, Predicate<Method> predicate) {
+		Preconditions.notNull(clazz, "Class must not be null");
+		Preconditions.notNull(predicate, "predicate must not be null");
+
+		return anyMethodMatches(clazz, predicate, Collections.emptyList());
+	}
+
+	private static boolean anyMethodMatches(Class<?> clazz, Predicate<Method> predicate,
+			List<Method> shadowingMethods) {
+		List<Method> localMethods = Arrays.asList(clazz.getDeclaredMethods());
+		if (anyUnshadowedMethodMatches(localMethods, predicate, shadowingMethods)) {
+			return true;
+		}
+		List<Method> lowerMethods = concat(shadowingMethods, localMethods);
+		Class<?> superclass = clazz.getSuperclass();
+		if (superclass != null && superclass != Object.class
+				&& anyMethodMatches(superclass, predicate, lowerMethods)) {
+			return true;
+		}
+		return anyInterfaceMethodMatches(clazz, predicate, lowerMethods);
+	}
+
+	private static boolean anyInterfaceMethodMatches(Class<?> clazz, Predicate<Method> predicate,
+			List<Method> shadowingMethods) {
+		for (Class<?> ifc : clazz.getInterfaces()) {
+			List<Method> localMethods = Arrays.stream(ifc.getDeclaredMethods()).filter(Method::isDefault).collect(
+				Collectors.toList());
+			if (anyUnshadowedMethodMatches(localMethods, predicate, shadowingMethods)
+					|| anyInterfaceMethodMatches(ifc, predicate, concat(shadowingMethods, localMethods))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean anyUnshadowedMethodMatches(List<Method> methods, Predicate<Method> predicate,
+			List<Method> shadowingMethods) {
+		for (Method method : methods) {
+			if (predicate.test(method) && !isMethodShadowedByLocalMethods(method, shadowingMethods)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static List<Method> concat(List<Method> first, List<Method> second) {
+		if (first.isEmpty()) {
+			return second;
+		}
+		List<Method> methods = new ArrayList<>(first.size() + second.size());
+		methods.addAll(first);
+		methods.addAll(second);
+		return methods;
+	}
+
 	/**
 	 * Return all methods in superclass hierarchy except from Object.
 	 */
@@ -281,22 +559,27 @@ public final class ReflectionUtils {
 		Preconditions.notNull(clazz, "Class must not be null");
 		Preconditions.notNull(sortOrder, "MethodSortOrder must not be null");
 
+		return new ArrayList<>(getAllMethodsInHierarchy(clazz, sortOrder));
+	}
+
+	/**
+	 * Get the cached, unmodifiable list of all methods in the hierarchy of
+	 * the supplied class.
+	 */
+	private static List<Method> getAllMethodsInHierarchy(Class<?> clazz, MethodSortOrder sortOrder) {
+		return hierarchyMethods.get(clazz).getMethods(sortOrder);
+	}
+
+	private static List<Method> computeAllMethodsInHierarchy(Class<?> clazz, MethodSortOrder sortOrder) {
 		// TODO Support interface default methods.
 		// TODO Determine if we need to support bridged methods.
 
 		List<Method> localMethods = Arrays.asList(clazz.getDeclaredMethods());
-
-		// @formatter:off
-		List<Method> superclassMethods = getSuperclassMethods(clazz, sortOrder).stream()
-				.filter(method -> !isMethodShadowedByLocalMethods(method, localMethods))
-				.collect(toList());
-		// @formatter:on
-
-		// @formatter:off
-		List<Method> interfaceMethods = getInterfaceMethods(clazz, sortOrder).stream()
-				.filter(method -> !isMethodShadowedByLocalMethods(method, localMethods))
-				.collect(toList());
-		// @formatter:on
+		Set<MethodSignature> localSignatures = signaturesOf(localMethods);
+		List<Method> superclassMethods = withoutShadowedMethods(getSuperclassMethods(clazz, sortOrder),
+			localSignatures);
+		List<Method> interfaceMethods = withoutShadowedMethods(getInterfaceMethods(clazz, sortOrder),
+			localSignatures);
 
 		List<Method> methods = new ArrayList<>();
 		if (sortOrder == MethodSortOrder.HierarchyDown) {
@@ -308,24 +591,17 @@ public final class ReflectionUtils {
 			methods.addAll(interfaceMethods);
 			methods.addAll(superclassMethods);
 		}
-		return methods;
+		return Collections.unmodifiableList(methods);
 	}
 
 	private static List<Method> getInterfaceMethods(Class<?> clazz, MethodSortOrder sortOrder) {
-		Preconditions.notNull(clazz, "Class must not be null");
-		Preconditions.notNull(sortOrder, "MethodSortOrder must not be null");
-
 		List<Method> allInterfaceMethods = new ArrayList<>();
 		for (Class<?> ifc : clazz.getInterfaces()) {
 
 			List<Method> localMethods = Arrays.stream(ifc.getDeclaredMethods()).filter(Method::isDefault).collect(
 				Collectors.toList());
-
-			// @formatter:off
-			List<Method> subInterfaceMethods = getInterfaceMethods(ifc, sortOrder).stream()
-					.filter(method -> !isMethodShadowedByLocalMethods(method, localMethods))
-					.collect(toList());
-			// @formatter:on
+			List<Method> subInterfaceMethods = withoutShadowedMethods(getInterfaceMethods(ifc, sortOrder),
+				signaturesOf(localMethods));
 
 			if (sortOrder == MethodSortOrder.HierarchyDown) {
 				allInterfaceMethods.addAll(subInterfaceMethods);
@@ -340,33 +616,46 @@ public final class ReflectionUtils {
 	}
 
 	private static List<Method> getSuperclassMethods(Class<?> clazz, MethodSortOrder sortOrder) {
-		if (clazz.getSuperclass() != Object.class) {
-			return findAllMethodsInHierarchy(clazz.getSuperclass(), sortOrder);
+		Class<?> superclass = clazz.getSuperclass();
+		if (superclass != null && superclass != Object.class) {
+			return getAllMethodsInHierarchy(superclass, sortOrder);
 		}
 		else {
 			return Collections.emptyList();
 		}
 	}
 
-	private static boolean isMethodShadowedByLocalMethods(Method method, List<Method> localMethods) {
-		return localMethods.stream().anyMatch(local -> isMethodShadowedBy(method, local));
+	private static Set<MethodSignature> signaturesOf(List<Method> methods) {
+		Set<MethodSignature> signatures = new HashSet<>();
+		for (Method method : methods) {
+			signatures.add(new MethodSignature(method));
+		}
+		return signatures;
 	}
 
-	private static boolean isMethodShadowedBy(Method upper, Method lower) {
-		if (!lower.getName().equals(upper.getName())) {
-			return false;
+	private static List<Method> withoutShadowedMethods(List<Method> methods, Set<MethodSignature> localSignatures) {
+		if (methods.isEmpty() || localSignatures.isEmpty()) {
+			return methods;
 		}
-		Class<?>[] lowerParameterTypes = lower.getParameterTypes();
-		Class<?>[] upperParameterTypes = upper.getParameterTypes();
-		if (lowerParameterTypes.length != upperParameterTypes.length) {
-			return false;
-		}
-		for (int i = 0; i < lowerParameterTypes.length; i++) {
-			if (!lowerParameterTypes[i].equals(upperParameterTypes[i])) {
-				return false;
+		List<Method> unshadowedMethods = new ArrayList<>(methods.size());
+		for (Method method : methods) {
+			if (!localSignatures.contains(new MethodSignature(method))) {
+				unshadowedMethods.add(method);
 			}
 		}
-		return true;
+		return unshadowedMethods;
+	}
+
+	/**
+	 * Determine if the supplied method is shadowed by any of the supplied
+	 * methods with a linear scan, which is only worthwhile for single checks.
+	 */
+	private static boolean isMethodShadowedByLocalMethods(Method method, List<Method> localMethods) {
+		if (localMethods.isEmpty()) {
+			return false;
+		}
+		MethodSignature signature = new MethodSignature(method);
+		return localMethods.stream().anyMatch(local -> signature.equals(new MethodSignature(local)));
 	}
 
 	private static void makeAccessible(AccessibleObject object) {
@@ -400,4 +689,111 @@ public final class ReflectionUtils {
 		throw new IllegalStateException("Unhandled exception", ex);
 	}
 
+	/**
+	 * The methods in the hierarchy of a single class, i.e. those declared in
+	 * the class, its superclasses and its interfaces that are not shadowed by
+	 * a method with the same signature further down. They are computed once
+	 * per {@link MethodSortOrder} and kept in that order.
+	 */
+	private static class HierarchyMethods {
+
+		private final Class<?> clazz;
+
+		private final Map<MethodSortOrder, List<Method>> methodsBySortOrder = new ConcurrentHashMap<>();
+
+		HierarchyMethods(Class<?> clazz) {
+			this.clazz = clazz;
+		}
+
+		List<Method> getMethods(MethodSortOrder sortOrder) {
+			List<Method> methods = this.methodsBySortOrder.get(sortOrder);
+			if (methods == null) {
+				methods = computeAllMethodsInHierarchy(this.clazz, sortOrder);
+				this.methodsBySortOrder.putIfAbsent(sortOrder, methods);
+			}
+			return methods;
+		}
+	}
+
+	/**
+	 * The name and parameter types of a method, which determine whether it
+	 * shadows a method declared in a superclass or interface.
+	 */
+	private static final class MethodSignature {
+
+		private final String name;
+
+		private final Class<?>[] parameterTypes;
+
+		private final int hashCode;
+
+		MethodSignature(Method method) {
+			this.name = method.getName();
+			this.parameterTypes = method.getParameterTypes();
+			this.hashCode = 31 * this.name.hashCode() + Arrays.hashCode(this.parameterTypes);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof MethodSignature)) {
+				return false;
+			}
+			MethodSignature that = (MethodSignature) obj;
+			return this.name.equals(that.name) && Arrays.equals(this.parameterTypes, that.parameterTypes);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+	/**
+	 * Handles for the constructors of a single class that have already been
+	 * resolved, keyed by their parameter types. Each handle accepts the
+	 * constructor arguments as an {@code Object[]} and returns the new
+	 * instance as an {@code Object}.
+	 */
+	private static class ConstructorHandles {
+
+		/**
+		 * Upper bound for the number of cached constructors per class;
+		 * further constructors are resolved on every invocation.
+		 */
+		private static final int MAX_SIZE = 16;
+
+		private final Class<?> clazz;
+
+		private final Map<List<Class<?>>, MethodHandle> handles = new ConcurrentHashMap<>();
+
+		ConstructorHandles(Class<?> clazz) {
+			this.clazz = clazz;
+		}
+
+		MethodHandle getConstructorHandle(Class<?>[] parameterTypes) throws ReflectiveOperationException {
+			List<Class<?>> key = Arrays.asList(parameterTypes);
+			MethodHandle handle = this.handles.get(key);
+			if (handle == null) {
+				handle = resolveConstructorHandle(parameterTypes);
+				if (this.handles.size() < MAX_SIZE) {
+					this.handles.putIfAbsent(key, handle);
+				}
+			}
+			return handle;
+		}
+
+		private MethodHandle resolveConstructorHandle(Class<?>[] parameterTypes) throws ReflectiveOperationException {
+			if (isAbstract(this.clazz)) {
+				throw new InstantiationException(this.clazz.getName());
+			}
+			Constructor<?> constructor = this.clazz.getDeclaredConstructor(parameterTypes);
+			makeAccessible(constructor);
+			// @formatter:off
+			return MethodHandles.lookup().unreflectConstructor(constructor)
+					.asSpreader(Object[].class, parameterTypes.length)
+					.asType(MethodType.methodType(Object.class, Object[].class));
+			// @formatter:on
+		}
+	}
+
 }
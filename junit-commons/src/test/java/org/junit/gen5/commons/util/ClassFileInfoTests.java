@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.commons.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ClassFileInfo}.
+ *
+ * @since 5.0
+ */
+public class ClassFileInfoTests {
+
+	@Test
+	public void readAnnotatedClass() throws IOException {
+		ClassFileInfo classFileInfo = read(ClassFileInfoTests.class);
+
+		Assert.assertTrue(classFileInfo.hasRuntimeVisibleAnnotations());
+		Assert.assertTrue(classFileInfo.referencesType(Test.class.getName()));
+		Assert.assertFalse(classFileInfo.hasSuperclassOtherThanObject());
+		Assert.assertEquals("java.lang.Object", classFileInfo.getSuperclassName().get());
+	}
+
+	@Test
+	public void readSubclassWithoutAnnotations() throws IOException {
+		ClassFileInfo classFileInfo = read(Subclass.class);
+
+		Assert.assertFalse(classFileInfo.hasRuntimeVisibleAnnotations());
+		Assert.assertFalse(classFileInfo.referencesType(Test.class.getName()));
+		Assert.assertTrue(classFileInfo.hasSuperclassOtherThanObject());
+		Assert.assertEquals(Superclass.class.getName(), classFileInfo.getSuperclassName().get());
+		Assert.assertFalse(classFileInfo.hasInterfaces());
+	}
+
+	@Test
+	public void readClassImplementingInterfaces() throws IOException {
+		ClassFileInfo classFileInfo = read(Implementation.class);
+
+		Assert.assertTrue(classFileInfo.hasInterfaces());
+		Assert.assertEquals(Arrays.asList(FirstInterface.class.getName(), Runnable.class.getName()),
+			classFileInfo.getInterfaceNames());
+		Assert.assertFalse(classFileInfo.hasSuperclassOtherThanObject());
+		Assert.assertFalse(read(Superclass.class).hasInterfaces());
+	}
+
+	@Test(expected = IOException.class)
+	public void readInvalidClassFile() throws IOException {
+		ClassFileInfo.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+	}
+
+	private static ClassFileInfo read(Class<?> clazz) throws IOException {
+		String resourceName = clazz.getName().substring(clazz.getPackage().getName().length() + 1) + ".class";
+		try (InputStream inputStream = clazz.getResourceAsStream(resourceName)) {
+			return ClassFileInfo.read(inputStream);
+		}
+	}
+
+	static class Superclass {
+
+		long value = 42L;
+	}
+
+	static class Subclass extends Superclass {
+
+		double otherValue = 4.2;
+	}
+
+	interface FirstInterface {
+	}
+
+	static class Implementation implements FirstInterface, Runnable {
+
+		@Override
+		public void run() {
+		}
+	}
+
+}
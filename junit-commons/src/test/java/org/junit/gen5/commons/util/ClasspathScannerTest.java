@@ -11,19 +11,37 @@
 package org.junit.gen5.commons.util;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Predicate;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class ClasspathScannerTest {
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	private ClasspathScanner classpathScanner;
 
 	@Before
@@ -46,6 +64,18 @@ public class ClasspathScannerTest {
 		Assert.assertSame(ClasspathScannerTest.class, classes.get(0));
 	}
 
+	@Test
+	public void parallelScanFindsSameClassesInSameOrder() {
+		ClasspathScanner parallelScanner = new ClasspathScanner(ReflectionUtils::getDefaultClassLoader,
+			ReflectionUtils::loadClass, true);
+
+		List<Class<?>> classes = classpathScanner.scanForClassesInPackage("org.junit.gen5.commons", clazz -> true);
+		List<Class<?>> parallelClasses = parallelScanner.scanForClassesInPackage("org.junit.gen5.commons",
+			clazz -> true);
+
+		Assert.assertEquals(classes, parallelClasses);
+	}
+
 	@Test
 	public void isPackage() throws IOException, ClassNotFoundException {
 		Assert.assertTrue(classpathScanner.isPackage("org.junit.gen5.commons"));
@@ -70,6 +100,133 @@ public class ClasspathScannerTest {
 		Assert.assertTrue(classes.contains(ClasspathScannerTest.class));
 	}
 
+	@Test
+	public void findAllClassesInJarFile() throws IOException {
+		File jarFile = createJarFileWith(ClasspathScannerTest.class, NestedClassToBeFound.class);
+
+		List<Class<?>> classes = classpathScanner.scanForClassesInClasspathRoot(jarFile, clazz -> true);
+		Assert.assertEquals(Arrays.asList(ClasspathScannerTest.class, NestedClassToBeFound.class), classes);
+	}
+
+	@Test
+	public void findAllClassesInPackageInJarFile() throws IOException {
+		File jarFile = createJarFileWith(ClasspathScannerTest.class, NestedClassToBeFound.class);
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jarFile.toURI().toURL() }, null)) {
+			ClasspathScanner jarScanner = new ClasspathScanner(() -> classLoader, ReflectionUtils::loadClass);
+			List<Class<?>> classes = jarScanner.scanForClassesInPackage("org.junit.gen5.commons", clazz -> true);
+
+			List<String> classNames = classes.stream().map(Class::getName).collect(Collectors.toList());
+			Assert.assertEquals(Arrays.asList(ClasspathScannerTest.class.getName(),
+				NestedClassToBeFound.class.getName()), classNames);
+		}
+	}
+
+	@Test
+	public void unchangedClassFilesRejectedByPreviousScanAreNotLoadedAgain() throws IOException {
+		File jarFile = createJarFileWith(MemberClassToBeFound.class, NestedClassToBeFound.class);
+		Optional<Path> indexDirectory = Optional.of(temporaryFolder.newFolder("index").toPath());
+		AtomicInteger loadedClasses = new AtomicInteger();
+		BiFunction<String, ClassLoader, Optional<Class<?>>> countingLoadClass = (name, classLoader) -> {
+			loadedClasses.incrementAndGet();
+			return ReflectionUtils.loadClass(name, classLoader);
+		};
+
+		new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, countingLoadClass, ClasspathScanner.ACCEPT_ALL,
+			false, indexDirectory).scanForClassesInClasspathRoot(jarFile, new RejectAll());
+		Assert.assertEquals(2, loadedClasses.getAndSet(0));
+
+		List<Class<?>> classes = new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, countingLoadClass,
+			ClasspathScanner.ACCEPT_ALL, false, indexDirectory).scanForClassesInClasspathRoot(jarFile,
+				new RejectAll());
+		Assert.assertEquals(0, loadedClasses.get());
+		Assert.assertTrue(classes.isEmpty());
+	}
+
+	@Test
+	public void rejectedClassesImplementingInterfacesAreNotRecordedInIndex() throws IOException {
+		File jarFile = createJarFileWith(NestedClassToBeFound.class, ImplementingClassToBeFound.class);
+		Optional<Path> indexDirectory = Optional.of(temporaryFolder.newFolder("index").toPath());
+		List<String> loadedClassNames = new CopyOnWriteArrayList<>();
+		BiFunction<String, ClassLoader, Optional<Class<?>>> recordingLoadClass = (name, classLoader) -> {
+			loadedClassNames.add(name);
+			return ReflectionUtils.loadClass(name, classLoader);
+		};
+
+		new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, recordingLoadClass, ClasspathScanner.ACCEPT_ALL,
+			false, indexDirectory).scanForClassesInClasspathRoot(jarFile, new RejectAll());
+		Assert.assertEquals(2, loadedClassNames.size());
+		loadedClassNames.clear();
+
+		new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, recordingLoadClass, ClasspathScanner.ACCEPT_ALL,
+			false, indexDirectory).scanForClassesInClasspathRoot(jarFile, new RejectAll());
+		Assert.assertEquals(Arrays.asList(ImplementingClassToBeFound.class.getName()), loadedClassNames);
+	}
+
+	@Test
+	public void rejectedClassesAnnotatedWithNonJdkAnnotationsAreNotRecordedInIndex() throws IOException {
+		File jarFile = createJarFileWith(JdkAnnotatedClassToBeFound.class, AnnotatedClassToBeFound.class,
+			ClassWithAnnotatedMethodToBeFound.class);
+		Optional<Path> indexDirectory = Optional.of(temporaryFolder.newFolder("index").toPath());
+		List<String> loadedClassNames = new CopyOnWriteArrayList<>();
+		BiFunction<String, ClassLoader, Optional<Class<?>>> recordingLoadClass = (name, classLoader) -> {
+			loadedClassNames.add(name);
+			return ReflectionUtils.loadClass(name, classLoader);
+		};
+
+		new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, recordingLoadClass, ClasspathScanner.ACCEPT_ALL,
+			false, indexDirectory).scanForClassesInClasspathRoot(jarFile, new RejectAll());
+		Assert.assertEquals(3, loadedClassNames.size());
+		loadedClassNames.clear();
+
+		new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, recordingLoadClass, ClasspathScanner.ACCEPT_ALL,
+			false, indexDirectory).scanForClassesInClasspathRoot(jarFile, new RejectAll());
+		Assert.assertEquals(
+			Arrays.asList(AnnotatedClassToBeFound.class.getName(), ClassWithAnnotatedMethodToBeFound.class.getName()),
+			loadedClassNames);
+	}
+
+	@Test
+	public void rejectedClassFilesImplementingInterfacesAreNotRecordedInIndex() throws IOException {
+		File jarFile = createJarFileWith(NestedClassToBeFound.class, ImplementingClassToBeFound.class);
+		Optional<Path> indexDirectory = Optional.of(temporaryFolder.newFolder("index").toPath());
+		CountingClassFileRejector classFileFilter = new CountingClassFileRejector();
+
+		new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, ReflectionUtils::loadClass, classFileFilter, false,
+			indexDirectory).scanForClassesInClasspathRoot(jarFile, new RejectAll());
+		Assert.assertEquals(2, classFileFilter.invocations.getAndSet(0));
+
+		new ClasspathScanner(ReflectionUtils::getDefaultClassLoader, ReflectionUtils::loadClass, classFileFilter, false,
+			indexDirectory).scanForClassesInClasspathRoot(jarFile, new RejectAll());
+		Assert.assertEquals(1, classFileFilter.invocations.get());
+	}
+
+	private File createJarFileWith(Class<?>... classes) throws IOException {
+		File jarFile = temporaryFolder.newFile("classes.jar");
+		try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+			// Directory entries are required for package lookups via ClassLoader.getResources().
+			String packagePath = "";
+			for (String packageSegment : ClasspathScannerTest.class.getPackage().getName().split("\\.")) {
+				packagePath += packageSegment + "/";
+				jarOutputStream.putNextEntry(new JarEntry(packagePath));
+				jarOutputStream.closeEntry();
+			}
+			for (Class<?> clazz : classes) {
+				String entryName = clazz.getName().replace('.', '/') + ".class";
+				jarOutputStream.putNextEntry(new JarEntry(entryName));
+				try (InputStream classFile = clazz.getResourceAsStream("/" + entryName)) {
+					byte[] buffer = new byte[4096];
+					int length;
+					while ((length = classFile.read(buffer)) != -1) {
+						jarOutputStream.write(buffer, 0, length);
+					}
+				}
+				jarOutputStream.closeEntry();
+			}
+		}
+		return jarFile;
+	}
+
 	private File getTestClasspathRoot() {
 		String fullClassPath = System.getProperty("java.class.path");
 		final String separator = System.getProperty("path.separator");
@@ -81,10 +238,55 @@ public class ClasspathScannerTest {
 		return new File(testRoot.get());
 	}
 
+	static class RejectAll implements Predicate<Class<?>> {
+
+		@Override
+		public boolean test(Class<?> clazz) {
+			return false;
+		}
+	}
+
+	static class CountingClassFileRejector implements Predicate<ClassFileInfo> {
+
+		final AtomicInteger invocations = new AtomicInteger();
+
+		@Override
+		public boolean test(ClassFileInfo classFile) {
+			invocations.incrementAndGet();
+			return false;
+		}
+	}
+
 	class MemberClassToBeFound {
 	}
 
 	static class NestedClassToBeFound {
 	}
 
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Marker {
+	}
+
+	@Deprecated
+	static class JdkAnnotatedClassToBeFound {
+	}
+
+	@Marker
+	static class AnnotatedClassToBeFound {
+	}
+
+	static class ClassWithAnnotatedMethodToBeFound {
+
+		@Marker
+		void method() {
+		}
+	}
+
+	static class ImplementingClassToBeFound implements Runnable {
+
+		@Override
+		public void run() {
+		}
+	}
+
 }
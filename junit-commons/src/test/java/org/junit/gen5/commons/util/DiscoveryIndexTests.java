@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.commons.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link DiscoveryIndex}.
+ *
+ * @since 5.0
+ */
+public class DiscoveryIndexTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void savedVerdictsAreReadWhenReopened() throws IOException {
+		Path indexDirectory = temporaryFolder.newFolder("index").toPath();
+		Path source = temporaryFolder.newFolder("classes").toPath();
+
+		DiscoveryIndex index = DiscoveryIndex.open(indexDirectory, source, "scope");
+		index.recordNonCandidate("Foo.class", 42, 4711);
+		index.save();
+
+		DiscoveryIndex reopenedIndex = DiscoveryIndex.open(indexDirectory, source, "scope");
+		Assert.assertTrue(reopenedIndex.isKnownNonCandidate("Foo.class", 42, 4711));
+		Assert.assertFalse(reopenedIndex.isKnownNonCandidate("Foo.class", 42, 4712));
+		Assert.assertFalse(DiscoveryIndex.open(indexDirectory, source, "other").isKnownNonCandidate("Foo.class", 42,
+			4711));
+	}
+
+	@Test
+	public void indexFileIsNamedByTheSha1DigestOfSourceAndScope() throws IOException {
+		Path indexDirectory = temporaryFolder.newFolder("index").toPath();
+		Path source = temporaryFolder.newFolder("classes").toPath();
+		DiscoveryIndex index = DiscoveryIndex.open(indexDirectory, source, "scope");
+		index.recordNonCandidate("Foo.class", 42, 4711);
+		index.save();
+
+		String fileName = listFiles(indexDirectory).get(0).getFileName().toString();
+		Assert.assertTrue(fileName, fileName.matches("[0-9a-f]{40}\\.idx"));
+	}
+
+	@Test
+	public void temporaryFileIsDeletedIfIndexFileCannotBeReplaced() throws IOException {
+		Path indexDirectory = temporaryFolder.newFolder("index").toPath();
+		Path source = temporaryFolder.newFolder("classes").toPath();
+		DiscoveryIndex index = DiscoveryIndex.open(indexDirectory, source, "scope");
+		index.recordNonCandidate("Foo.class", 42, 4711);
+		index.save();
+		Path indexFile = listFiles(indexDirectory).get(0);
+
+		// a non-empty directory in place of the index file cannot be replaced
+		Files.delete(indexFile);
+		Files.createFile(Files.createDirectory(indexFile).resolve("blocker"));
+		DiscoveryIndex blockedIndex = DiscoveryIndex.open(indexDirectory, source, "scope");
+		blockedIndex.recordNonCandidate("Foo.class", 42, 4711);
+		blockedIndex.save();
+
+		List<Path> files = listFiles(indexDirectory);
+		Assert.assertEquals(1, files.size());
+		Assert.assertTrue(Files.isDirectory(files.get(0)));
+	}
+
+	private static List<Path> listFiles(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.collect(Collectors.toList());
+		}
+	}
+
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.commons.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.gen5.commons.util.ReflectionUtils.MethodSortOrder.HierarchyDown;
+import static org.junit.gen5.commons.util.ReflectionUtils.MethodSortOrder.HierarchyUp;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ReflectionUtils}.
+ *
+ * @since 5.0
+ */
+public final class ReflectionUtilsTests {
+
+	@Test
+	public void anyMethodMatchesFindsLocalInheritedAndDefaultMethods() {
+		assertAnyMethodMatches(ChildClass.class, method -> method.getName().equals("childMethod"), true);
+		assertAnyMethodMatches(ChildClass.class, method -> method.getName().equals("parentMethod"), true);
+		assertAnyMethodMatches(ChildClass.class, method -> method.getName().equals("defaultMethod"), true);
+		assertAnyMethodMatches(ChildClass.class, method -> method.getName().equals("missingMethod"), false);
+	}
+
+	@Test
+	public void anyMethodMatchesIgnoresShadowedMethods() {
+		Predicate<Method> declaredInParent = method -> method.getDeclaringClass() == ParentClass.class
+				&& method.getName().equals("overriddenMethod");
+		Predicate<Method> declaredInInterface = method -> method.getDeclaringClass() == InterfaceWithDefaultMethod.class
+				&& method.getName().equals("overriddenDefaultMethod");
+
+		assertAnyMethodMatches(ChildClass.class, declaredInParent, false);
+		assertAnyMethodMatches(ParentClass.class, declaredInParent, true);
+		assertAnyMethodMatches(ChildClass.class, declaredInInterface, false);
+	}
+
+	@Test
+	public void findAllMethodsInHierarchyExcludesShadowedMethodsAndReturnsCopies() {
+		List<Method> methods = ReflectionUtils.findAllMethodsInHierarchy(ChildClass.class, HierarchyDown);
+
+		assertEquals(1, methods.stream().filter(method -> method.getName().equals("overriddenMethod")).count());
+		assertEquals(ChildClass.class,
+			methods.stream().filter(method -> method.getName().equals("overriddenMethod")).findFirst().get()
+					.getDeclaringClass());
+		assertEquals(ParentClass.class, methods.get(0).getDeclaringClass());
+
+		methods.clear();
+		assertEquals(ReflectionUtils.findAllMethodsInHierarchy(ChildClass.class, HierarchyDown).size(),
+			ReflectionUtils.findAllMethodsInHierarchy(ChildClass.class, HierarchyUp).size());
+		assertFalse(ReflectionUtils.findAllMethodsInHierarchy(ChildClass.class, HierarchyDown).isEmpty());
+	}
+
+	@Test
+	public void methodHandlesInvokeInstanceAndStaticMethods() throws Exception {
+		MethodHandle instanceMethod = ReflectionUtils.getMethodHandle(
+			InvocationTarget.class.getDeclaredMethod("concat", String.class, int.class));
+		MethodHandle staticMethod = ReflectionUtils.getMethodHandle(
+			InvocationTarget.class.getDeclaredMethod("staticMethod"));
+		MethodHandle voidMethod = ReflectionUtils.getMethodHandle(
+			InvocationTarget.class.getDeclaredMethod("voidMethod"));
+
+		assertEquals("prefix:a1", ReflectionUtils.invokeMethodHandle(instanceMethod, new InvocationTarget(), "a", 1));
+		assertEquals("static", ReflectionUtils.invokeMethodHandle(staticMethod, null));
+		assertNull(ReflectionUtils.invokeMethodHandle(voidMethod, new InvocationTarget()));
+	}
+
+	@Test
+	public void methodHandlesRethrowUncheckedExceptionsUnchanged() throws Exception {
+		MethodHandle methodHandle = ReflectionUtils.getMethodHandle(
+			InvocationTarget.class.getDeclaredMethod("throwUnchecked"));
+
+		try {
+			ReflectionUtils.invokeMethodHandle(methodHandle, new InvocationTarget());
+			fail("exception expected");
+		}
+		catch (UnsupportedOperationException ex) {
+			assertEquals("unchecked", ex.getMessage());
+		}
+	}
+
+	@Test
+	public void methodHandlesWrapCheckedExceptionsLikeInvokeMethod() throws Exception {
+		Method method = InvocationTarget.class.getDeclaredMethod("throwChecked");
+		MethodHandle methodHandle = ReflectionUtils.getMethodHandle(method);
+
+		IllegalStateException viaHandle = null;
+		IllegalStateException viaReflection = null;
+		try {
+			ReflectionUtils.invokeMethodHandle(methodHandle, new InvocationTarget());
+		}
+		catch (IllegalStateException ex) {
+			viaHandle = ex;
+		}
+		try {
+			ReflectionUtils.invokeMethod(method, new InvocationTarget());
+		}
+		catch (IllegalStateException ex) {
+			viaReflection = ex;
+		}
+
+		assertEquals(viaReflection.getMessage(), viaHandle.getMessage());
+		assertEquals(IOException.class, viaHandle.getCause().getClass());
+		assertEquals(IOException.class, viaReflection.getCause().getClass());
+	}
+
+	@Test
+	public void newInstanceInvokesConstructorMatchingArguments() {
+		assertEquals("default", ReflectionUtils.newInstance(Instantiable.class).value);
+		assertEquals("value", ReflectionUtils.newInstance(Instantiable.class, "value").value);
+		assertNotSame(ReflectionUtils.newInstance(Instantiable.class), ReflectionUtils.newInstance(Instantiable.class));
+	}
+
+	@Test
+	public void constructorHandlesAreCachedPerClassAndParameterTypes() throws Exception {
+		MethodHandle handle = ReflectionUtils.getConstructorHandle(Instantiable.class);
+
+		assertSame(handle, ReflectionUtils.getConstructorHandle(Instantiable.class));
+		assertNotSame(handle, ReflectionUtils.getConstructorHandle(Instantiable.class, String.class));
+		assertNotSame(handle, ReflectionUtils.getConstructorHandle(OtherInstantiable.class));
+		assertEquals(OtherInstantiable.class, ReflectionUtils.newInstance(OtherInstantiable.class).getClass());
+	}
+
+	@Test
+	public void newInstanceRethrowsUncheckedExceptionOfConstructorUnchanged() {
+		try {
+			ReflectionUtils.newInstance(Instantiable.class, Boolean.TRUE);
+			fail("exception expected");
+		}
+		catch (UnsupportedOperationException ex) {
+			assertEquals("unchecked", ex.getMessage());
+		}
+	}
+
+	@Test
+	public void newInstanceWrapsCheckedExceptionOfConstructor() {
+		try {
+			ReflectionUtils.newInstance(Instantiable.class, 42);
+			fail("exception expected");
+		}
+		catch (IllegalStateException ex) {
+			assertEquals("Unhandled exception", ex.getMessage());
+			assertEquals(IOException.class, ex.getCause().getClass());
+		}
+	}
+
+	@Test
+	public void newInstanceReportsMissingConstructorAndAbstractClass() {
+		try {
+			ReflectionUtils.newInstance(Instantiable.class, 42L);
+			fail("exception expected");
+		}
+		catch (IllegalStateException ex) {
+			assertEquals(NoSuchMethodException.class, ex.getCause().getClass());
+		}
+		try {
+			ReflectionUtils.newInstance(AbstractClass.class);
+			fail("exception expected");
+		}
+		catch (IllegalStateException ex) {
+			assertEquals(InstantiationException.class, ex.getCause().getClass());
+		}
+	}
+
+	private static void assertAnyMethodMatches(Class<?> clazz, Predicate<Method> predicate, boolean expected) {
+		assertEquals(!ReflectionUtils.findMethods(clazz, predicate).isEmpty(), expected);
+		if (expected) {
+			assertTrue(ReflectionUtils.anyMethodMatches(clazz, predicate));
+		}
+		else {
+			assertFalse(ReflectionUtils.anyMethodMatches(clazz, predicate));
+		}
+	}
+
+	interface InterfaceWithDefaultMethod {
+
+		default void defaultMethod() {
+		}
+
+		default void overriddenDefaultMethod() {
+		}
+	}
+
+	static class ParentClass {
+
+		void parentMethod() {
+		}
+
+		void overriddenMethod() {
+		}
+	}
+
+	static class Instantiable {
+
+		final String value;
+
+		Instantiable() {
+			this("default");
+		}
+
+		private Instantiable(String value) {
+			this.value = value;
+		}
+
+		Instantiable(Boolean unchecked) {
+			throw new UnsupportedOperationException("unchecked");
+		}
+
+		Instantiable(Integer checked) throws IOException {
+			throw new IOException("checked");
+		}
+	}
+
+	static class OtherInstantiable {
+	}
+
+	static abstract class AbstractClass {
+	}
+
+	static class InvocationTarget {
+
+		private String concat(String value, int number) {
+			return "prefix:" + value + number;
+		}
+
+		private static String staticMethod() {
+			return "static";
+		}
+
+		void voidMethod() {
+		}
+
+		void throwUnchecked() {
+			throw new UnsupportedOperationException("unchecked");
+		}
+
+		void throwChecked() throws IOException {
+			throw new IOException("checked");
+		}
+	}
+
+	static class ChildClass extends ParentClass implements InterfaceWithDefaultMethod {
+
+		void childMethod() {
+		}
+
+		@Override
+		void overriddenMethod() {
+		}
+
+		@Override
+		public void overriddenDefaultMethod() {
+		}
+	}
+
+}
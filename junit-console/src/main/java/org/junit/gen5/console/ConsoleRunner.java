@@ -11,9 +11,11 @@
 package org.junit.gen5.console;
 
 import static io.airlift.airline.SingleCommand.singleCommand;
+import static org.junit.gen5.commons.util.ReflectionUtils.DISCOVERY_INDEX_DIRECTORY_PROPERTY;
 
 import java.io.File;
 import java.io.PrintWriter;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Set;
 
@@ -29,6 +31,7 @@ import org.junit.gen5.commons.util.Preconditions;
 import org.junit.gen5.commons.util.ReflectionUtils;
 import org.junit.gen5.engine.TestPlanSpecification;
 import org.junit.gen5.engine.TestPlanSpecificationElement;
+import org.junit.gen5.launcher.BackPressurePolicy;
 import org.junit.gen5.launcher.Launcher;
 import org.junit.gen5.launcher.listeners.SummaryCreatingTestListener;
 import org.junit.gen5.launcher.listeners.TestExecutionSummary;
@@ -56,6 +59,43 @@ public class ConsoleRunner {
 	@Option(name = {"-a", "--all"}, description = "Run all tests")
 	private boolean runAllTests;
 
+	@Option(name = {"-j", "--include-jars"},
+			description = "Also run tests in JAR files on the classpath (only if --all|-a has been chosen)")
+	private boolean includeJars;
+
+	@Option(name = {"--discovery-index"},
+			description = "Directory in which to cache which class files contain no tests across runs")
+	private String discoveryIndexDirectory;
+
+	@Option(name = {"--parallel-discovery"},
+			description = "Discover tests concurrently across test engines and test plan elements")
+	private boolean parallelDiscovery;
+
+	@Option(name = {"--pipelined"},
+			description = "Start executing tests while further tests are still being discovered")
+	private boolean pipelined;
+
+	@Option(name = {"--concurrent-engines"},
+			description = "Execute the tests of each test engine on a thread of its own")
+	private boolean concurrentEngines;
+
+	@Option(name = {"--async-listeners"},
+			description = "Notify listeners on a background thread, with at most the given number of pending events")
+	private int asyncListenerQueueCapacity;
+
+	@Option(name = {"--forks"},
+			description = "Execute tests in the given number of forked JVMs, distributing test classes among them "
+					+ "(not with --pipelined)")
+	private int forks;
+
+	@Option(name = {"--fork-durations"},
+			description = "File in which to record test class durations for balancing forked JVMs (only with --forks)")
+	private String forkDurationsFile;
+
+	@Option(name = {"--execution-attribute"},
+			description = "Attribute passed to the test engines as name=value, e.g. junit5.execution.parallel=true")
+	private List<String> executionAttributes;
+
 	@Option(name = {"-D", "--hide-details"}, description = "Hide details while tests are being executed")
 	private boolean hideDetails;
 
@@ -90,8 +130,41 @@ public class ConsoleRunner {
 	}
 
 	private void run() {
+		Preconditions.condition(forks == 0 || !pipelined, "--forks cannot be combined with --pipelined");
+
+		TestExecutionSummary summary;
+		String previousDiscoveryIndexDirectory = System.getProperty(DISCOVERY_INDEX_DIRECTORY_PROPERTY);
+		if (discoveryIndexDirectory != null) {
+			System.setProperty(DISCOVERY_INDEX_DIRECTORY_PROPERTY, discoveryIndexDirectory);
+		}
+		try {
+			summary = executeTests();
+		}
+		finally {
+			if (discoveryIndexDirectory != null) {
+				restoreSystemProperty(DISCOVERY_INDEX_DIRECTORY_PROPERTY, previousDiscoveryIndexDirectory);
+			}
+		}
+
+		printSummaryToStandardOut(summary);
+
+		if (enableExitCode) {
+			long failedTests = summary.countFailedTests();
+			int exitCode = (int) Math.min(Integer.MAX_VALUE, failedTests);
+			System.exit(exitCode);
+		}
+	}
+
+	private TestExecutionSummary executeTests() {
 		// TODO Configure launcher?
 		Launcher launcher = new Launcher();
+		launcher.setConcurrentEngineExecutionEnabled(concurrentEngines);
+		if (executionAttributes != null) {
+			executionAttributes.forEach(attribute -> setExecutionAttribute(launcher, attribute));
+		}
+		if (asyncListenerQueueCapacity > 0) {
+			launcher.enableAsynchronousListenerDispatch(asyncListenerQueueCapacity, BackPressurePolicy.BLOCK);
+		}
 
 		TestExecutionSummary summary = new TestExecutionSummary();
 
@@ -99,17 +172,35 @@ public class ConsoleRunner {
 
 		TestPlanSpecification testPlanSpecification = createTestPlanSpecification();
 
-		launcher.execute(testPlanSpecification);
-
-		printSummaryToStandardOut(summary);
+		if (forks > 0) {
+			launcher.executeForked(testPlanSpecification, forks,
+				forkDurationsFile != null ? Paths.get(forkDurationsFile) : null);
+		}
+		else if (pipelined) {
+			launcher.executePipelined(testPlanSpecification);
+		}
+		else {
+			launcher.execute(testPlanSpecification);
+		}
+		return summary;
+	}
 
-		if (enableExitCode) {
-			long failedTests = summary.countFailedTests();
-			int exitCode = (int) Math.min(Integer.MAX_VALUE, failedTests);
-			System.exit(exitCode);
+	private static void restoreSystemProperty(String name, String value) {
+		if (value != null) {
+			System.setProperty(name, value);
+		}
+		else {
+			System.clearProperty(name);
 		}
 	}
 
+	private static void setExecutionAttribute(Launcher launcher, String attribute) {
+		int separatorIndex = attribute.indexOf('=');
+		Preconditions.condition(separatorIndex > 0,
+			() -> "Execution attribute must be specified as name=value: " + attribute);
+		launcher.setExecutionAttribute(attribute.substring(0, separatorIndex), attribute.substring(separatorIndex + 1));
+	}
+
 	private void registerListeners(Launcher launcher, TestExecutionSummary summary) {
 		SummaryCreatingTestListener testSummaryListener = new SummaryCreatingTestListener(summary);
 		launcher.registerTestPlanExecutionListeners(testSummaryListener);
@@ -121,12 +212,14 @@ public class ConsoleRunner {
 	private TestPlanSpecification createTestPlanSpecification() {
 		TestPlanSpecification testPlanSpecification;
 		if (runAllTests) {
-			Set<File> rootDirectories = ReflectionUtils.getAllClasspathRootDirectories();
+			Set<File> rootDirectories = includeJars ? ReflectionUtils.getAllClasspathRoots()
+					: ReflectionUtils.getAllClasspathRootDirectories();
 			testPlanSpecification = TestPlanSpecification.build(TestPlanSpecification.allTests(rootDirectories));
 		}
 		else {
 			testPlanSpecification = TestPlanSpecification.build(testPlanSpecificationElementsFromArguments());
 		}
+		testPlanSpecification.setParallelDiscoveryEnabled(parallelDiscovery);
 		return testPlanSpecification;
 	}
 
@@ -15,6 +15,7 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.junit.gen5.commons.util.Preconditions;
 
@@ -53,7 +54,9 @@ public abstract class AbstractTestDescriptor implements TestDescriptor {
 
 	@Override
 	public void removeChild(TestDescriptor child) {
-		this.children.remove(child);
+		if (this.children.remove(child)) {
+			forEachInSubtree(child, getRoot()::descendantRemoved);
+		}
 		if (child instanceof AbstractTestDescriptor) {
 			((AbstractTestDescriptor) child).setParent(null);
 		}
@@ -92,10 +95,47 @@ public abstract class AbstractTestDescriptor implements TestDescriptor {
 	@Override
 	public final void addChild(TestDescriptor child) {
 		Preconditions.notNull(child, "child must not be null");
+		if (!this.children.add(child)) {
+			return;
+		}
 		if (child instanceof AbstractTestDescriptor) {
 			((AbstractTestDescriptor) child).setParent(this);
 		}
-		this.children.add(child);
+		forEachInSubtree(child, getRoot()::descendantAdded);
+	}
+
+	/**
+	 * Called on the root of a hierarchy when the supplied descriptor has been
+	 * added below it, either directly or as a descendant of an added child.
+	 *
+	 * <p>The default implementation does nothing.
+	 */
+	protected void descendantAdded(TestDescriptor descendant) {
+	}
+
+	/**
+	 * Called on the root of a hierarchy when the supplied descriptor has been
+	 * removed from below it, either directly or as a descendant of a removed
+	 * child.
+	 *
+	 * <p>The default implementation does nothing.
+	 */
+	protected void descendantRemoved(TestDescriptor descendant) {
+	}
+
+	private AbstractTestDescriptor getRoot() {
+		AbstractTestDescriptor root = this;
+		while (root.parent instanceof AbstractTestDescriptor) {
+			root = (AbstractTestDescriptor) root.parent;
+		}
+		return root;
+	}
+
+	private static void forEachInSubtree(TestDescriptor root, Consumer<TestDescriptor> action) {
+		action.accept(root);
+		for (TestDescriptor child : root.getChildren()) {
+			forEachInSubtree(child, action);
+		}
 	}
 
 	@Override
@@ -10,13 +10,26 @@
 
 package org.junit.gen5.engine;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
 /**
+ * {@code EngineDescriptor} is the root of the hierarchy of descriptors
+ * discovered by a {@link TestEngine}.
+ *
+ * <p>It maintains an index of all its descendants by unique ID, which is
+ * kept up to date as descriptors are added to or removed from the hierarchy,
+ * so that {@link #findByUniqueId(String)} does not need to walk the tree.
+ *
  * @since 5.0
  */
 public class EngineDescriptor extends AbstractTestDescriptor {
 
 	private final TestEngine engine;
 
+	private final Map<String, TestDescriptor> descendantsByUniqueId = new HashMap<>();
+
 	public EngineDescriptor(TestEngine engine) {
 		super(engine.getId());
 		this.engine = engine;
@@ -36,4 +49,22 @@ public class EngineDescriptor extends AbstractTestDescriptor {
 		return engine;
 	}
 
+	@Override
+	public Optional<TestDescriptor> findByUniqueId(String uniqueId) {
+		if (getUniqueId().equals(uniqueId)) {
+			return Optional.of(this);
+		}
+		return Optional.ofNullable(this.descendantsByUniqueId.get(uniqueId));
+	}
+
+	@Override
+	protected void descendantAdded(TestDescriptor descendant) {
+		this.descendantsByUniqueId.put(descendant.getUniqueId(), descendant);
+	}
+
+	@Override
+	protected void descendantRemoved(TestDescriptor descendant) {
+		this.descendantsByUniqueId.remove(descendant.getUniqueId(), descendant);
+	}
+
 }
@@ -10,6 +10,8 @@
 
 package org.junit.gen5.engine;
 
+import java.util.function.Consumer;
+
 public interface TestEngine {
 
 	default String getId() {
@@ -18,5 +20,23 @@ public interface TestEngine {
 
 	void discoverTests(TestPlanSpecification specification, EngineDescriptor engineDescriptor);
 
+	/**
+	 * Discover tests incrementally, passing them to the supplied consumer in
+	 * batches as soon as they have been resolved, so that they can be
+	 * executed while discovery continues.
+	 *
+	 * <p>Each batch is a separate {@link EngineDescriptor} for this engine
+	 * that can be passed to {@link #execute(ExecutionRequest)} on its own.
+	 * No test may be contained in more than one batch.
+	 *
+	 * <p>The default implementation discovers all tests and passes them on
+	 * as a single batch.
+	 */
+	default void discoverTests(TestPlanSpecification specification, Consumer<EngineDescriptor> batchConsumer) {
+		EngineDescriptor engineDescriptor = new EngineDescriptor(this);
+		discoverTests(specification, engineDescriptor);
+		batchConsumer.accept(engineDescriptor);
+	}
+
 	void execute(ExecutionRequest request);
 }
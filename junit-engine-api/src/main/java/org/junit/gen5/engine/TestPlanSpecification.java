@@ -94,6 +94,18 @@ public final class TestPlanSpecification implements Iterable<TestPlanSpecificati
 		return new UniqueIdSpecification(uniqueId);
 	}
 
+	/**
+	 * Create specification elements for the supplied unique IDs.
+	 *
+	 * <p>Engines resolve the elements of a specification with shared state,
+	 * so unique IDs that share a prefix, e.g. those of methods in the same
+	 * class, should be specified together rather than in separate
+	 * specifications.
+	 */
+	public static List<TestPlanSpecificationElement> forUniqueIds(Collection<String> uniqueIds) {
+		return uniqueIds.stream().map(TestPlanSpecification::forUniqueId).collect(toList());
+	}
+
 	public static Predicate<TestDescriptor> byTags(String... tagNames) {
 		List<String> includeTags = Arrays.asList(tagNames);
 		// @formatter:off
@@ -128,6 +140,8 @@ public final class TestPlanSpecification implements Iterable<TestPlanSpecificati
 	// Engine filters are handed through to all test engines to be applied during discovery
 	private List<EngineFilter> engineFilters = new ArrayList<>();
 
+	private boolean parallelDiscoveryEnabled;
+
 	public TestPlanSpecification(List<TestPlanSpecificationElement> elements) {
 		this.elements = elements;
 	}
@@ -155,6 +169,22 @@ public final class TestPlanSpecification implements Iterable<TestPlanSpecificati
 		return Collections.unmodifiableList(engineFilters);
 	}
 
+	/**
+	 * Allow tests to be discovered concurrently: test engines in parallel with
+	 * each other, and independent elements of this specification in parallel
+	 * within a single engine, if the engine supports it.
+	 *
+	 * <p>The resulting test plan is the same as with sequential discovery.
+	 * Parallel discovery is disabled by default.
+	 */
+	public void setParallelDiscoveryEnabled(boolean parallelDiscoveryEnabled) {
+		this.parallelDiscoveryEnabled = parallelDiscoveryEnabled;
+	}
+
+	public boolean isParallelDiscoveryEnabled() {
+		return this.parallelDiscoveryEnabled;
+	}
+
 	public boolean acceptDescriptor(TestDescriptor testDescriptor) {
 		Preconditions.notNull(testDescriptor, "testDescriptor must not be null");
 		return this.descriptorFilter.test(testDescriptor);
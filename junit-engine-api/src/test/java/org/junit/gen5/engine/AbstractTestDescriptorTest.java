@@ -98,6 +98,83 @@ public class AbstractTestDescriptorTest {
 		Assert.assertFalse(visited.contains("group1"));
 	}
 
+	@Test
+	public void findDescendantsByUniqueId() {
+		Assert.assertSame(engineDescriptor, engineDescriptor.findByUniqueId("testEngine").get());
+		Assert.assertEquals("leaf11-1", engineDescriptor.findByUniqueId("leaf11-1").get().getUniqueId());
+		Assert.assertFalse(engineDescriptor.findByUniqueId("unknown").isPresent());
+
+		GroupDescriptor group3 = new GroupDescriptor("group3");
+		group3.addChild(new LeafDescriptor("leaf3-1"));
+		engineDescriptor.addChild(group3);
+		Assert.assertTrue(engineDescriptor.findByUniqueId("leaf3-1").isPresent());
+
+		group3.addChild(new LeafDescriptor("leaf3-2"));
+		Assert.assertTrue(engineDescriptor.findByUniqueId("leaf3-2").isPresent());
+	}
+
+	@Test
+	public void prunedDescendantsCannotBeFoundByUniqueId() {
+		engineDescriptor.accept((descriptor, delete) -> {
+			if (descriptor.getUniqueId().equals("group1"))
+				delete.run();
+		});
+
+		Assert.assertFalse(engineDescriptor.findByUniqueId("group1").isPresent());
+		Assert.assertFalse(engineDescriptor.findByUniqueId("leaf11-1").isPresent());
+		Assert.assertTrue(engineDescriptor.findByUniqueId("leaf2-1").isPresent());
+	}
+
+	@Test
+	public void addingAnAlreadyPresentChildKeepsTheExistingOne() {
+		TestDescriptor group1 = engineDescriptor.findByUniqueId("group1").get();
+		GroupDescriptor duplicate = new GroupDescriptor("group1");
+		duplicate.addChild(new LeafDescriptor("leaf-of-duplicate"));
+
+		engineDescriptor.addChild(duplicate);
+
+		Assert.assertEquals(2, engineDescriptor.getChildren().size());
+		Assert.assertSame(group1, engineDescriptor.findByUniqueId("group1").get());
+		Assert.assertFalse(duplicate.getParent().isPresent());
+		Assert.assertFalse(engineDescriptor.findByUniqueId("leaf-of-duplicate").isPresent());
+	}
+
+	@Test
+	public void onlyTheRootIsNotifiedOfAddedAndRemovedDescendants() {
+		AtomicInteger rootNotifications = new AtomicInteger();
+		AtomicInteger innerNotifications = new AtomicInteger();
+		GroupDescriptor root = new GroupDescriptor("root") {
+
+			@Override
+			protected void descendantAdded(TestDescriptor descendant) {
+				rootNotifications.incrementAndGet();
+			}
+
+			@Override
+			protected void descendantRemoved(TestDescriptor descendant) {
+				rootNotifications.decrementAndGet();
+			}
+		};
+		GroupDescriptor inner = new GroupDescriptor("inner") {
+
+			@Override
+			protected void descendantAdded(TestDescriptor descendant) {
+				innerNotifications.incrementAndGet();
+			}
+		};
+		root.addChild(inner);
+		GroupDescriptor subtree = new GroupDescriptor("subtree");
+		subtree.addChild(new LeafDescriptor("leaf1"));
+		subtree.addChild(new LeafDescriptor("leaf2"));
+
+		inner.addChild(subtree);
+		Assert.assertEquals(4, rootNotifications.get());
+		Assert.assertEquals(0, innerNotifications.get());
+
+		inner.removeChild(subtree);
+		Assert.assertEquals(1, rootNotifications.get());
+	}
+
 }
 
 class GroupDescriptor extends AbstractTestDescriptor {
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+import org.junit.gen5.commons.util.Preconditions;
+
+/**
+ * {@code AsynchronousListenerDispatcher} delivers listener notifications on
+ * a dedicated background thread, so that slow listeners do not delay the
+ * threads executing tests.
+ *
+ * <p>Notifications are queued in a bounded queue and delivered in the order
+ * in which they were dispatched. What happens when the queue is full is
+ * determined by the {@link BackPressurePolicy}. The policy is applied to the
+ * start and finish notifications of a test as a pair: the finish notification
+ * is discarded if and only if the start notification was.
+ *
+ * <p>The background thread runs until the dispatcher is {@linkplain #close
+ * closed}, which delivers all pending notifications first. Notifications
+ * dispatched after that are ignored.
+ *
+ * @since 5.0
+ */
+class AsynchronousListenerDispatcher {
+
+	private static final Logger LOG = Logger.getLogger(AsynchronousListenerDispatcher.class.getName());
+
+	/**
+	 * Marks the end of the notifications to deliver.
+	 */
+	private static final Runnable STOP = () -> {
+	};
+
+	private final BlockingQueue<Runnable> pendingNotifications;
+
+	private final BackPressurePolicy backPressurePolicy;
+
+	private final AtomicLong discardedNotifications = new AtomicLong();
+
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	/**
+	 * Keys of the tests whose start notification was discarded.
+	 */
+	private final Set<Object> discardedStarts = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Held for reading while queueing a notification and for writing while
+	 * closing, so that no notification is queued after the end marker.
+	 */
+	private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+	private final Thread dispatchThread;
+
+	private volatile boolean closed;
+
+	AsynchronousListenerDispatcher(int queueCapacity, BackPressurePolicy backPressurePolicy) {
+		Preconditions.condition(queueCapacity > 0, "queueCapacity must be greater than zero");
+		Preconditions.notNull(backPressurePolicy, "backPressurePolicy must not be null");
+
+		this.pendingNotifications = new ArrayBlockingQueue<>(queueCapacity);
+		this.backPressurePolicy = backPressurePolicy;
+
+		this.dispatchThread = new Thread(this::deliverNotifications, "junit-listener-dispatcher");
+		this.dispatchThread.setDaemon(true);
+		this.dispatchThread.setContextClassLoader(Thread.currentThread().getContextClassLoader());
+		this.dispatchThread.start();
+	}
+
+	/**
+	 * Queue the supplied notification, applying the back-pressure policy if
+	 * the queue is full and the notification may be discarded.
+	 */
+	void dispatch(Runnable notification, boolean discardable) {
+		queue(notification, discardable);
+	}
+
+	/**
+	 * Queue the start notification of the test with the supplied key,
+	 * applying the back-pressure policy if the queue is full.
+	 */
+	void dispatchTestStarted(Object testKey, Runnable notification) {
+		if (!queue(notification, true)) {
+			this.discardedStarts.add(testKey);
+		}
+	}
+
+	/**
+	 * Queue the finish notification of the test with the supplied key, or
+	 * discard it if its start notification was discarded.
+	 */
+	void dispatchTestFinished(Object testKey, Runnable notification) {
+		if (this.discardedStarts.remove(testKey)) {
+			this.discardedNotifications.incrementAndGet();
+			return;
+		}
+		queue(notification, false);
+	}
+
+	/**
+	 * @return whether the notification was queued, i.e. neither discarded nor
+	 * ignored
+	 */
+	private boolean queue(Runnable notification, boolean discardable) {
+		this.closeLock.readLock().lock();
+		try {
+			if (this.closed) {
+				LOG.fine("Ignoring listener notification dispatched after close");
+				return false;
+			}
+			if (discardable && this.backPressurePolicy == BackPressurePolicy.DISCARD) {
+				if (this.pendingNotifications.offer(notification)) {
+					return true;
+				}
+				this.discardedNotifications.incrementAndGet();
+				return false;
+			}
+			this.pendingNotifications.put(notification);
+			return true;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while dispatching listener notification", ex);
+		}
+		finally {
+			this.closeLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Deliver all pending notifications, stop the background thread and
+	 * rethrow the first exception thrown by a listener.
+	 *
+	 * <p>Closing an already closed dispatcher has no effect.
+	 */
+	void close() {
+		this.closeLock.writeLock().lock();
+		try {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+		}
+		finally {
+			this.closeLock.writeLock().unlock();
+		}
+		try {
+			this.pendingNotifications.put(STOP);
+			this.dispatchThread.join();
+		}
+		catch (InterruptedException ex) {
+			this.dispatchThread.interrupt();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for listener notifications", ex);
+		}
+		reportDiscardedNotificationsAndFailures();
+	}
+
+	private void reportDiscardedNotificationsAndFailures() {
+		long discarded = this.discardedNotifications.getAndSet(0);
+		if (discarded > 0) {
+			LOG.warning(() -> String.format("Discarded %d listener notifications", discarded));
+		}
+		Throwable listenerFailure = this.failure.getAndSet(null);
+		if (listenerFailure instanceof RuntimeException) {
+			throw (RuntimeException) listenerFailure;
+		}
+		if (listenerFailure instanceof Error) {
+			throw (Error) listenerFailure;
+		}
+	}
+
+	private void deliverNotifications() {
+		while (true) {
+			Runnable notification;
+			try {
+				notification = this.pendingNotifications.take();
+			}
+			catch (InterruptedException ex) {
+				return;
+			}
+			if (notification == STOP) {
+				return;
+			}
+			try {
+				notification.run();
+			}
+			catch (Throwable t) {
+				Throwable previousFailure = this.failure.getAndUpdate(existing -> existing != null ? existing : t);
+				if (previousFailure != null && previousFailure != t) {
+					previousFailure.addSuppressed(t);
+				}
+			}
+		}
+	}
+
+}
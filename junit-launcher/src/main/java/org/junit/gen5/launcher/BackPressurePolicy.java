@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+/**
+ * Determines what happens to a test execution notification when listeners
+ * are notified asynchronously and the queue of pending notifications is full.
+ *
+ * <p>Notifications about the test plan as a whole, e.g.
+ * {@link TestPlanExecutionListener#testPlanExecutionFinished}, are never
+ * discarded.
+ *
+ * @since 5.0
+ * @see Launcher#enableAsynchronousListenerDispatch(int, BackPressurePolicy)
+ */
+public enum BackPressurePolicy {
+
+	/**
+	 * Wait until the listeners have caught up, slowing down test execution.
+	 */
+	BLOCK,
+
+	/**
+	 * Discard the notification, so that test execution is never slowed down
+	 * by listeners; the number of discarded notifications is logged when the
+	 * test plan finishes.
+	 *
+	 * <p>A test's finished notification is discarded if and only if its
+	 * {@linkplain org.junit.gen5.engine.TestExecutionListener#testStarted
+	 * started} notification was, so that listeners never see only one of
+	 * them. Finished notifications of tests whose start was delivered may
+	 * therefore still wait for the listeners to catch up.
+	 */
+	DISCARD
+
+}
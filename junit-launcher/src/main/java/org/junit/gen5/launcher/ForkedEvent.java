@@ -0,0 +1,225 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestExecutionListener;
+
+/**
+ * Test execution notification sent from a {@linkplain ForkedTestRunner forked
+ * JVM} to the JVM that forked it, which identifies the test by its unique ID.
+ *
+ * <p>Events are written as plain data rather than serialized objects: the
+ * type, the unique ID and, for skipped, aborted and failed tests, the class
+ * name, message and stack trace of the throwable and of each of its causes.
+ * The receiving side represents the throwable as a {@link RemoteThrowable};
+ * suppressed throwables are not transferred.
+ *
+ * @since 5.0
+ */
+class ForkedEvent {
+
+	enum Type {
+		DYNAMIC_TEST_FOUND, TEST_STARTED, TEST_SKIPPED, TEST_ABORTED, TEST_FAILED, TEST_SUCCEEDED
+	}
+
+	private final Type type;
+
+	private final String uniqueId;
+
+	private final Throwable throwable;
+
+	ForkedEvent(Type type, TestDescriptor testDescriptor) {
+		this(type, testDescriptor, null);
+	}
+
+	ForkedEvent(Type type, TestDescriptor testDescriptor, Throwable throwable) {
+		this(type, testDescriptor.getUniqueId(), throwable);
+	}
+
+	private ForkedEvent(Type type, String uniqueId, Throwable throwable) {
+		this.type = type;
+		this.uniqueId = uniqueId;
+		this.throwable = throwable;
+	}
+
+	Type getType() {
+		return this.type;
+	}
+
+	String getUniqueId() {
+		return this.uniqueId;
+	}
+
+	Throwable getThrowable() {
+		return this.throwable;
+	}
+
+	/**
+	 * Notify the supplied listener of this event for the supplied descriptor,
+	 * which is the local counterpart of the descriptor in the forked JVM.
+	 */
+	void deliverTo(TestExecutionListener listener, TestDescriptor testDescriptor) {
+		switch (this.type) {
+			case DYNAMIC_TEST_FOUND:
+				listener.dynamicTestFound(testDescriptor);
+				break;
+			case TEST_STARTED:
+				listener.testStarted(testDescriptor);
+				break;
+			case TEST_SKIPPED:
+				listener.testSkipped(testDescriptor, this.throwable);
+				break;
+			case TEST_ABORTED:
+				listener.testAborted(testDescriptor, this.throwable);
+				break;
+			case TEST_FAILED:
+				listener.testFailed(testDescriptor, this.throwable);
+				break;
+			case TEST_SUCCEEDED:
+				listener.testSucceeded(testDescriptor);
+				break;
+		}
+	}
+
+	void writeTo(DataOutputStream out) throws IOException {
+		out.writeByte(this.type.ordinal());
+		writeString(out, this.uniqueId);
+		writeThrowable(out, this.throwable);
+	}
+
+	/**
+	 * Read the next event from the supplied stream.
+	 *
+	 * @return the event, or {@link Optional#empty()} if the stream ended
+	 * before the next event
+	 * @throws IOException if the stream ended within an event or does not
+	 * contain a valid event
+	 */
+	static Optional<ForkedEvent> readFrom(DataInputStream in) throws IOException {
+		int ordinal = in.read();
+		if (ordinal < 0) {
+			return Optional.empty();
+		}
+		if (ordinal >= Type.values().length) {
+			throw new IOException("Unknown test execution event type " + ordinal);
+		}
+		String uniqueId = readString(in);
+		Throwable throwable = readThrowable(in);
+		return Optional.of(new ForkedEvent(Type.values()[ordinal], uniqueId, throwable));
+	}
+
+	private static void writeThrowable(DataOutput out, Throwable throwable) throws IOException {
+		List<Throwable> causeChain = new ArrayList<>();
+		Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Throwable current = throwable; current != null && visited.add(current); current = current.getCause()) {
+			causeChain.add(current);
+		}
+		out.writeInt(causeChain.size());
+		for (Throwable current : causeChain) {
+			writeString(out, current.getClass().getName());
+			writeString(out, current.getMessage());
+			StackTraceElement[] stackTrace = current.getStackTrace();
+			out.writeInt(stackTrace.length);
+			for (StackTraceElement element : stackTrace) {
+				writeString(out, element.getClassName());
+				writeString(out, element.getMethodName());
+				writeString(out, element.getFileName());
+				out.writeInt(element.getLineNumber());
+			}
+		}
+	}
+
+	private static Throwable readThrowable(DataInput in) throws IOException {
+		int causeChainLength = in.readInt();
+		RemoteThrowable[] causeChain = new RemoteThrowable[causeChainLength];
+		for (int i = 0; i < causeChainLength; i++) {
+			causeChain[i] = new RemoteThrowable(readString(in), readString(in));
+			StackTraceElement[] stackTrace = new StackTraceElement[in.readInt()];
+			for (int j = 0; j < stackTrace.length; j++) {
+				stackTrace[j] = new StackTraceElement(readString(in), readString(in), readString(in), in.readInt());
+			}
+			causeChain[i].setStackTrace(stackTrace);
+		}
+		for (int i = 1; i < causeChainLength; i++) {
+			causeChain[i - 1].initCause(causeChain[i]);
+		}
+		return (causeChainLength > 0) ? causeChain[0] : null;
+	}
+
+	/**
+	 * Write the supplied string, which may be {@code null}, as its length in
+	 * bytes followed by its UTF-8 encoding.
+	 */
+	static void writeString(DataOutput out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	static String readString(DataInput in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	/**
+	 * Throwable received from a forked JVM, which describes itself like the
+	 * original throwable but has no other properties of its class.
+	 */
+	static class RemoteThrowable extends Throwable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String className;
+
+		RemoteThrowable(String className, String message) {
+			super(message);
+			this.className = className;
+		}
+
+		/**
+		 * Get the name of the class of the original throwable.
+		 */
+		String getClassName() {
+			return this.className;
+		}
+
+		@Override
+		public String toString() {
+			String message = getLocalizedMessage();
+			return (message != null) ? this.className + ": " + message : this.className;
+		}
+	}
+
+}
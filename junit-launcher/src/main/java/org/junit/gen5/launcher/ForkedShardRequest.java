@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import static org.junit.gen5.launcher.ForkedEvent.readString;
+import static org.junit.gen5.launcher.ForkedEvent.writeString;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.gen5.engine.TestPlanSpecification;
+import org.junit.gen5.engine.TestPlanSpecificationElement;
+
+/**
+ * Shard of a test plan sent to a {@linkplain ForkedTestRunner forked JVM}:
+ * the names of the classes and the unique IDs of the other elements to
+ * discover, the unique IDs of the tests to execute and the execution
+ * attributes to pass to the engines.
+ *
+ * <p>Only execution attributes whose values are strings, booleans, integers
+ * or longs can be sent to a forked JVM.
+ *
+ * @since 5.0
+ */
+class ForkedShardRequest {
+
+	private static final byte STRING_ATTRIBUTE = 'S';
+
+	private static final byte BOOLEAN_ATTRIBUTE = 'Z';
+
+	private static final byte INTEGER_ATTRIBUTE = 'I';
+
+	private static final byte LONG_ATTRIBUTE = 'J';
+
+	private final List<String> classNames;
+
+	private final List<String> uniqueIds;
+
+	private final Set<String> testIds;
+
+	private final Map<String, Object> executionAttributes;
+
+	ForkedShardRequest(List<String> classNames, List<String> uniqueIds, Set<String> testIds,
+			Map<String, Object> executionAttributes) {
+		this.classNames = classNames;
+		this.uniqueIds = uniqueIds;
+		this.testIds = testIds;
+		this.executionAttributes = executionAttributes;
+	}
+
+	static boolean isTransferable(Object attributeValue) {
+		return attributeValue instanceof String || attributeValue instanceof Boolean
+				|| attributeValue instanceof Integer || attributeValue instanceof Long;
+	}
+
+	Map<String, Object> getExecutionAttributes() {
+		return this.executionAttributes;
+	}
+
+	/**
+	 * Create the specification that discovers the elements of this shard,
+	 * filtered to the tests to execute.
+	 */
+	TestPlanSpecification toSpecification() {
+		List<TestPlanSpecificationElement> elements = new ArrayList<>();
+		elements.addAll(TestPlanSpecification.forNames(this.classNames));
+		elements.addAll(TestPlanSpecification.forUniqueIds(this.uniqueIds));
+		TestPlanSpecification specification = TestPlanSpecification.build(elements);
+		specification.filterWith(descriptor -> this.testIds.contains(descriptor.getUniqueId()));
+		return specification;
+	}
+
+	void writeTo(DataOutputStream out) throws IOException {
+		writeStrings(out, this.classNames);
+		writeStrings(out, this.uniqueIds);
+		writeStrings(out, this.testIds);
+		out.writeInt(this.executionAttributes.size());
+		for (Map.Entry<String, Object> attribute : this.executionAttributes.entrySet()) {
+			writeString(out, attribute.getKey());
+			Object value = attribute.getValue();
+			if (value instanceof String) {
+				out.writeByte(STRING_ATTRIBUTE);
+				writeString(out, (String) value);
+			}
+			else if (value instanceof Boolean) {
+				out.writeByte(BOOLEAN_ATTRIBUTE);
+				out.writeBoolean((Boolean) value);
+			}
+			else if (value instanceof Integer) {
+				out.writeByte(INTEGER_ATTRIBUTE);
+				out.writeInt((Integer) value);
+			}
+			else if (value instanceof Long) {
+				out.writeByte(LONG_ATTRIBUTE);
+				out.writeLong((Long) value);
+			}
+			else {
+				throw new IllegalStateException(
+					"Execution attribute " + attribute.getKey() + " cannot be sent to a forked JVM: " + value);
+			}
+		}
+		out.flush();
+	}
+
+	static ForkedShardRequest readFrom(DataInputStream in) throws IOException {
+		List<String> classNames = readStrings(in, new ArrayList<>());
+		List<String> uniqueIds = readStrings(in, new ArrayList<>());
+		Set<String> testIds = readStrings(in, new HashSet<>());
+		Map<String, Object> executionAttributes = new LinkedHashMap<>();
+		int attributeCount = in.readInt();
+		for (int i = 0; i < attributeCount; i++) {
+			String name = readString(in);
+			byte type = in.readByte();
+			switch (type) {
+				case STRING_ATTRIBUTE:
+					executionAttributes.put(name, readString(in));
+					break;
+				case BOOLEAN_ATTRIBUTE:
+					executionAttributes.put(name, in.readBoolean());
+					break;
+				case INTEGER_ATTRIBUTE:
+					executionAttributes.put(name, in.readInt());
+					break;
+				case LONG_ATTRIBUTE:
+					executionAttributes.put(name, in.readLong());
+					break;
+				default:
+					throw new IOException("Unknown type " + type + " of execution attribute " + name);
+			}
+		}
+		return new ForkedShardRequest(classNames, uniqueIds, testIds, executionAttributes);
+	}
+
+	private static void writeStrings(DataOutputStream out, Collection<String> values) throws IOException {
+		out.writeInt(values.size());
+		for (String value : values) {
+			writeString(out, value);
+		}
+	}
+
+	private static <C extends Collection<String>> C readStrings(DataInputStream in, C values) throws IOException {
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			values.add(readString(in));
+		}
+		return values;
+	}
+
+}
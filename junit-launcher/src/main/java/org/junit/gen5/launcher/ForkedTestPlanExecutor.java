@@ -0,0 +1,407 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.gen5.launcher.TestEngineRegistry.lookupAllTestEngines;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.junit.gen5.commons.util.Preconditions;
+import org.junit.gen5.engine.EngineDescriptor;
+import org.junit.gen5.engine.JavaSource;
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestEngine;
+import org.junit.gen5.engine.TestExecutionListener;
+
+/**
+ * {@code ForkedTestPlanExecutor} executes a discovered {@link TestPlan} in
+ * several concurrently running forked JVMs.
+ *
+ * <p>The children of each engine descriptor are grouped by their class into
+ * units that are assigned to shards as a whole, longest first, always to the
+ * shard with the least total estimated duration. Each shard is executed by a
+ * {@link ForkedTestRunner} that receives the shard on its standard input
+ * and sends its notifications back on its standard output; they are
+ * delivered to the listeners for the corresponding descriptors of the test
+ * plan. A forked JVM that is still running when its shard fails or the
+ * execution is interrupted is destroyed.
+ *
+ * @since 5.0
+ * @see Launcher#executeForked(org.junit.gen5.engine.TestPlanSpecification, int, Path)
+ */
+class ForkedTestPlanExecutor {
+
+	private static final Logger LOG = Logger.getLogger(ForkedTestPlanExecutor.class.getName());
+
+	private static final String FORWARDED_SYSTEM_PROPERTY_PREFIX = "junit.";
+
+	/**
+	 * Time to wait for a forked JVM to exit after it closed its standard
+	 * output.
+	 */
+	private static final long EXIT_TIMEOUT_SECONDS = 30;
+
+	private final int forkCount;
+
+	private final Path durationsFile;
+
+	private final Map<String, Object> executionAttributes = new LinkedHashMap<>();
+
+	private final TestPlanExecutionListener testPlanExecutionListener;
+
+	private final TestExecutionListener testExecutionListener;
+
+	private final Set<Process> runningProcesses = ConcurrentHashMap.newKeySet();
+
+	ForkedTestPlanExecutor(int forkCount, Path durationsFile, Map<String, Object> executionAttributes,
+			TestPlanExecutionListener testPlanExecutionListener, TestExecutionListener testExecutionListener) {
+		Preconditions.condition(forkCount > 0, "forkCount must be greater than zero");
+
+		this.forkCount = forkCount;
+		this.durationsFile = durationsFile;
+		executionAttributes.forEach((name, value) -> {
+			if (ForkedShardRequest.isTransferable(value)) {
+				this.executionAttributes.put(name, value);
+			}
+			else {
+				LOG.warning(() -> "Not passing execution attribute " + name + " to forked JVMs: " + value);
+			}
+		});
+		this.testPlanExecutionListener = testPlanExecutionListener;
+		this.testExecutionListener = testExecutionListener;
+	}
+
+	void execute(TestPlan testPlan) {
+		List<TestEngine> testEngines = new ArrayList<>();
+		List<ShardUnit> units = collectUnits(testPlan, testEngines);
+		Properties durations = readDurations();
+		estimateDurations(units, durations);
+
+		Map<String, ShardUnit> unitsByTestId = new HashMap<>();
+		units.forEach(unit -> unit.testIds.forEach(testId -> unitsByTestId.put(testId, unit)));
+		List<Runnable> shardExecutions = new ArrayList<>();
+		for (List<ShardUnit> shard : assignToShards(units, Math.min(this.forkCount, units.size()))) {
+			shardExecutions.add(() -> executeShard(shard, testPlan, unitsByTestId));
+		}
+
+		this.testPlanExecutionListener.testPlanExecutionStarted(testPlan);
+		testEngines.forEach(
+			engine -> this.testPlanExecutionListener.testPlanExecutionStartedOnEngine(testPlan, engine));
+		try {
+			if (!shardExecutions.isEmpty()) {
+				Launcher.executeConcurrently(shardExecutions, "junit-forked-execution");
+			}
+		}
+		finally {
+			this.runningProcesses.forEach(Process::destroyForcibly);
+			testEngines.forEach(
+				engine -> this.testPlanExecutionListener.testPlanExecutionFinishedOnEngine(testPlan, engine));
+			this.testPlanExecutionListener.testPlanExecutionFinished(testPlan);
+			writeDurations(units, durations);
+		}
+	}
+
+	/**
+	 * Group the children of all engine descriptors of the test plan by the
+	 * class they stem from, or by their unique ID if they have no class.
+	 */
+	static List<ShardUnit> collectUnits(TestPlan testPlan, List<TestEngine> testEngines) {
+		Map<String, ShardUnit> unitsByKey = new LinkedHashMap<>();
+		for (TestEngine testEngine : lookupAllTestEngines()) {
+			Optional<EngineDescriptor> engineDescriptor = testPlan.getEngineDescriptorFor(testEngine);
+			if (!engineDescriptor.isPresent()) {
+				continue;
+			}
+			testEngines.add(testEngine);
+			for (TestDescriptor child : engineDescriptor.get().getChildren()) {
+				Optional<String> className = child.getSource().filter(JavaSource.class::isInstance).map(
+					JavaSource.class::cast).flatMap(JavaSource::getJavaClass).map(Class::getName);
+				String key = className.orElse(child.getUniqueId());
+				ShardUnit unit = unitsByKey.computeIfAbsent(key,
+					k -> new ShardUnit(k, className.isPresent(), unitsByKey.size()));
+				child.accept((descriptor, remove) -> {
+					if (descriptor.isTest()) {
+						unit.testIds.add(descriptor.getUniqueId());
+					}
+				});
+			}
+		}
+		return new ArrayList<>(unitsByKey.values());
+	}
+
+	/**
+	 * Estimate the duration of each unit as recorded by previous runs; units
+	 * without a recorded duration are assumed to take the average time.
+	 */
+	static void estimateDurations(List<ShardUnit> units, Properties durations) {
+		long total = 0;
+		int known = 0;
+		for (ShardUnit unit : units) {
+			String duration = durations.getProperty(unit.key);
+			if (duration != null) {
+				unit.estimatedDuration = Math.max(1, Long.parseLong(duration));
+				total += unit.estimatedDuration;
+				known++;
+			}
+		}
+		long average = (known > 0) ? Math.max(1, total / known) : 1;
+		units.stream().filter(unit -> unit.estimatedDuration == 0).forEach(unit -> unit.estimatedDuration = average);
+	}
+
+	static List<List<ShardUnit>> assignToShards(List<ShardUnit> units, int shardCount) {
+		List<List<ShardUnit>> shards = new ArrayList<>();
+		long[] shardDurations = new long[shardCount];
+		for (int i = 0; i < shardCount; i++) {
+			shards.add(new ArrayList<>());
+		}
+		List<ShardUnit> longestFirst = new ArrayList<>(units);
+		longestFirst.sort(Comparator.comparingLong((ShardUnit unit) -> unit.estimatedDuration).reversed());
+		for (ShardUnit unit : longestFirst) {
+			int shortestShard = 0;
+			for (int i = 1; i < shardCount; i++) {
+				if (shardDurations[i] < shardDurations[shortestShard]) {
+					shortestShard = i;
+				}
+			}
+			shards.get(shortestShard).add(unit);
+			shardDurations[shortestShard] += unit.estimatedDuration;
+		}
+		// Execute the units of each shard in the order of the test plan
+		shards.forEach(shard -> shard.sort(Comparator.comparingInt(unit -> unit.position)));
+		return shards;
+	}
+
+	private void executeShard(List<ShardUnit> shard, TestPlan testPlan, Map<String, ShardUnit> unitsByTestId) {
+		List<String> classNames = new ArrayList<>();
+		List<String> uniqueIds = new ArrayList<>();
+		Set<String> testIds = new HashSet<>();
+		for (ShardUnit unit : shard) {
+			(unit.isClass ? classNames : uniqueIds).add(unit.key);
+			testIds.addAll(unit.testIds);
+		}
+		ForkedShardRequest request = new ForkedShardRequest(classNames, uniqueIds, testIds,
+			this.executionAttributes);
+
+		Process process = null;
+		try {
+			process = startForkedJvm();
+			this.runningProcesses.add(process);
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()))) {
+				request.writeTo(out);
+			}
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(process.getInputStream()))) {
+				receiveEvents(in, testPlan, unitsByTestId);
+			}
+			if (!process.waitFor(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				throw new IllegalStateException(
+					"Forked JVM did not exit within " + EXIT_TIMEOUT_SECONDS + " seconds after executing its tests");
+			}
+			if (process.exitValue() != 0) {
+				throw new IllegalStateException("Forked JVM exited with code " + process.exitValue());
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to execute tests in forked JVM", ex);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for forked JVM", ex);
+		}
+		finally {
+			if (process != null) {
+				this.runningProcesses.remove(process);
+				process.destroyForcibly();
+			}
+		}
+	}
+
+	private static Process startForkedJvm() throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		for (String name : System.getProperties().stringPropertyNames()) {
+			if (name.startsWith(FORWARDED_SYSTEM_PROPERTY_PREFIX)) {
+				command.add("-D" + name + "=" + System.getProperty(name));
+			}
+		}
+		command.add(ForkedTestRunner.class.getName());
+		return new ProcessBuilder(command).redirectError(Redirect.INHERIT).start();
+	}
+
+	private void receiveEvents(DataInputStream in, TestPlan testPlan, Map<String, ShardUnit> unitsByTestId)
+			throws IOException {
+		Optional<ForkedEvent> nextEvent;
+		while ((nextEvent = ForkedEvent.readFrom(in)).isPresent()) {
+			ForkedEvent event = nextEvent.get();
+			ShardUnit unit = unitsByTestId.get(event.getUniqueId());
+			if (unit != null) {
+				unit.record(event.getType());
+			}
+			// Tests unknown to the test plan were discovered dynamically by
+			// the forked JVM and have no local counterpart.
+			testPlan.findByUniqueId(event.getUniqueId()).ifPresent(
+				descriptor -> event.deliverTo(this.testExecutionListener, descriptor));
+		}
+	}
+
+	/**
+	 * Read the durations recorded by previous runs. A durations file that
+	 * cannot be read or contains a value that is not a number is ignored as
+	 * a whole, as if there were no history.
+	 */
+	Properties readDurations() {
+		Properties durations = new Properties();
+		if (this.durationsFile != null && Files.isRegularFile(this.durationsFile)) {
+			try (BufferedReader reader = Files.newBufferedReader(this.durationsFile, UTF_8)) {
+				durations.load(reader);
+				for (String key : durations.stringPropertyNames()) {
+					Long.parseLong(durations.getProperty(key));
+				}
+			}
+			catch (IOException | IllegalArgumentException ex) {
+				LOG.warning(() -> "Ignoring unreadable test durations " + this.durationsFile + ": " + ex.getMessage());
+				return new Properties();
+			}
+		}
+		return durations;
+	}
+
+	/**
+	 * Record the measured durations of the supplied units in the durations
+	 * file, keeping the previously recorded durations of all other units.
+	 *
+	 * <p>The file is replaced by moving a completely written temporary file,
+	 * so that concurrent or interrupted runs cannot leave it truncated.
+	 */
+	void writeDurations(List<ShardUnit> units, Properties durations) {
+		if (this.durationsFile == null) {
+			return;
+		}
+		units.forEach(unit -> unit.getMeasuredDurationMillis().ifPresent(
+			duration -> durations.setProperty(unit.key, String.valueOf(duration))));
+		Path tempFile = null;
+		try {
+			tempFile = Files.createTempFile(this.durationsFile.toAbsolutePath().getParent(),
+				this.durationsFile.getFileName().toString(), ".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(tempFile, UTF_8)) {
+				durations.store(writer, "Test durations in milliseconds");
+			}
+			try {
+				Files.move(tempFile, this.durationsFile, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tempFile, this.durationsFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException ex) {
+			LOG.warning(() -> "Failed to write test durations " + this.durationsFile + ": " + ex.getMessage());
+			deleteIfExists(tempFile);
+		}
+	}
+
+	private static void deleteIfExists(Path file) {
+		if (file != null) {
+			try {
+				Files.deleteIfExists(file);
+			}
+			catch (IOException ex) {
+				LOG.warning(() -> "Failed to delete temporary file " + file + ": " + ex.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Tests of a single class, or of a single child of an engine descriptor
+	 * without a class, that are always executed by the same forked JVM.
+	 */
+	static class ShardUnit {
+
+		private final String key;
+
+		private final boolean isClass;
+
+		private final int position;
+
+		private final List<String> testIds = new ArrayList<>();
+
+		private long estimatedDuration;
+
+		private long firstStartNanos = -1;
+
+		private long lastFinishNanos = -1;
+
+		ShardUnit(String key, boolean isClass, int position) {
+			this.key = key;
+			this.isClass = isClass;
+			this.position = position;
+		}
+
+		String getKey() {
+			return this.key;
+		}
+
+		long getEstimatedDuration() {
+			return this.estimatedDuration;
+		}
+
+		void record(ForkedEvent.Type eventType) {
+			long now = System.nanoTime();
+			if (eventType == ForkedEvent.Type.TEST_STARTED) {
+				if (this.firstStartNanos < 0) {
+					this.firstStartNanos = now;
+				}
+			}
+			else if (eventType != ForkedEvent.Type.DYNAMIC_TEST_FOUND) {
+				this.lastFinishNanos = now;
+			}
+		}
+
+		Optional<Long> getMeasuredDurationMillis() {
+			if (this.firstStartNanos < 0 || this.lastFinishNanos < this.firstStartNanos) {
+				return Optional.empty();
+			}
+			return Optional.of((this.lastFinishNanos - this.firstStartNanos) / 1_000_000);
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestExecutionListener;
+
+/**
+ * Entry point of a JVM forked by {@link Launcher#executeForked} to execute
+ * one shard of a test plan.
+ *
+ * <p>Reads a {@link ForkedShardRequest} from standard input and writes a
+ * {@link ForkedEvent} for each test execution notification to standard
+ * output. Anything the tests print to {@link System#out} is redirected to
+ * standard error so that it cannot interfere with the events.
+ *
+ * <p>Exits with status {@code 0} once all tests have been executed, even if
+ * some of them failed, and with status {@code 1} if the execution itself
+ * failed.
+ *
+ * @since 5.0
+ */
+public class ForkedTestRunner {
+
+	public static void main(String... args) {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+		System.setOut(System.err);
+
+		int exitCode = 0;
+		try {
+			ForkedShardRequest request = ForkedShardRequest.readFrom(
+				new DataInputStream(new BufferedInputStream(System.in)));
+			Launcher launcher = new Launcher();
+			request.getExecutionAttributes().forEach(launcher::setExecutionAttribute);
+			launcher.registerTestPlanExecutionListeners(new ForwardingTestExecutionListener(out));
+			launcher.execute(request.toSpecification());
+			out.flush();
+		}
+		catch (Throwable t) {
+			t.printStackTrace();
+			exitCode = 1;
+		}
+		// Do not wait for threads that the tests left running.
+		System.exit(exitCode);
+	}
+
+	private static class ForwardingTestExecutionListener implements TestExecutionListener {
+
+		private final DataOutputStream out;
+
+		ForwardingTestExecutionListener(DataOutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void dynamicTestFound(TestDescriptor testDescriptor) {
+			send(new ForkedEvent(ForkedEvent.Type.DYNAMIC_TEST_FOUND, testDescriptor));
+		}
+
+		@Override
+		public void testStarted(TestDescriptor testDescriptor) {
+			send(new ForkedEvent(ForkedEvent.Type.TEST_STARTED, testDescriptor));
+		}
+
+		@Override
+		public void testSkipped(TestDescriptor testDescriptor, Throwable t) {
+			send(new ForkedEvent(ForkedEvent.Type.TEST_SKIPPED, testDescriptor, t));
+		}
+
+		@Override
+		public void testAborted(TestDescriptor testDescriptor, Throwable t) {
+			send(new ForkedEvent(ForkedEvent.Type.TEST_ABORTED, testDescriptor, t));
+		}
+
+		@Override
+		public void testFailed(TestDescriptor testDescriptor, Throwable t) {
+			send(new ForkedEvent(ForkedEvent.Type.TEST_FAILED, testDescriptor, t));
+		}
+
+		@Override
+		public void testSucceeded(TestDescriptor testDescriptor) {
+			send(new ForkedEvent(ForkedEvent.Type.TEST_SUCCEEDED, testDescriptor));
+		}
+
+		/**
+		 * Engines may notify concurrently, so events are written one at a
+		 * time. Each is flushed immediately because the forking JVM measures
+		 * durations by the arrival of the events.
+		 */
+		private synchronized void send(ForkedEvent event) {
+			try {
+				event.writeTo(this.out);
+				this.out.flush();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to send test execution event to forking JVM", ex);
+			}
+		}
+	}
+
+}
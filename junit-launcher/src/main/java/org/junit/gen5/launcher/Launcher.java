@@ -12,10 +12,27 @@ package org.junit.gen5.launcher;
 
 import static org.junit.gen5.launcher.TestEngineRegistry.lookupAllTestEngines;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
+import org.junit.gen5.commons.util.Preconditions;
 import org.junit.gen5.engine.EngineDescriptor;
 import org.junit.gen5.engine.ExecutionRequest;
+import org.junit.gen5.engine.TestDescriptor;
 import org.junit.gen5.engine.TestEngine;
 import org.junit.gen5.engine.TestExecutionListener;
 import org.junit.gen5.engine.TestPlanSpecification;
@@ -27,42 +44,490 @@ import org.junit.gen5.engine.TestPlanSpecification;
  */
 public class Launcher {
 
+	/**
+	 * Maximum number of discovered batches kept pending while executing
+	 * tests in a pipeline.
+	 */
+	private static final int MAX_PENDING_BATCHES = 16;
+
 	private final TestListenerRegistry listenerRegistry = new TestListenerRegistry();
 
+	private boolean concurrentEngineExecutionEnabled;
+
+	private final Map<String, Object> executionAttributes = new LinkedHashMap<>();
+
 	public void registerTestPlanExecutionListeners(TestExecutionListener... testListeners) {
 		listenerRegistry.registerListener(testListeners);
 	}
 
+	/**
+	 * Notify the registered listeners on a background thread instead of the
+	 * threads executing tests, so that slow listeners do not slow down test
+	 * execution.
+	 *
+	 * <p>Notifications are delivered in order. At most {@code queueCapacity}
+	 * of them are kept pending; the {@code backPressurePolicy} determines
+	 * what happens when that limit is reached. All pending notifications are
+	 * delivered, and the background thread is stopped, before any of the
+	 * {@code execute} methods returns or throws.
+	 */
+	public void enableAsynchronousListenerDispatch(int queueCapacity, BackPressurePolicy backPressurePolicy) {
+		listenerRegistry.enableAsynchronousDispatch(queueCapacity, backPressurePolicy);
+	}
+
+	/**
+	 * Enable or disable the execution of each engine's tests on a thread of
+	 * its own when executing a {@link TestPlan}.
+	 *
+	 * <p>Disabled by default. When enabled, the engines' notifications are
+	 * interleaved, but each engine's are still delivered between its
+	 * {@link TestPlanExecutionListener#testPlanExecutionStartedOnEngine started}
+	 * and {@link TestPlanExecutionListener#testPlanExecutionFinishedOnEngine finished}
+	 * notifications.
+	 */
+	public void setConcurrentEngineExecutionEnabled(boolean concurrentEngineExecutionEnabled) {
+		this.concurrentEngineExecutionEnabled = concurrentEngineExecutionEnabled;
+	}
+
+	public boolean isConcurrentEngineExecutionEnabled() {
+		return this.concurrentEngineExecutionEnabled;
+	}
+
+	/**
+	 * Set an attribute that is passed to every test engine as part of each
+	 * {@link ExecutionRequest}, e.g. to enable an engine-specific execution
+	 * mode such as parallel execution of test classes.
+	 *
+	 * @see ExecutionRequest#getAttributes()
+	 */
+	public void setExecutionAttribute(String name, Object value) {
+		Preconditions.notBlank(name, "name must not be null or empty");
+		this.executionAttributes.put(name, value);
+	}
+
+	public Map<String, Object> getExecutionAttributes() {
+		return Collections.unmodifiableMap(this.executionAttributes);
+	}
+
 	public TestPlan discover(TestPlanSpecification specification) {
 		TestPlan testPlan = new TestPlan();
-		for (TestEngine testEngine : lookupAllTestEngines()) {
-			EngineDescriptor engineDescriptor = new EngineDescriptor(testEngine);
-			testEngine.discoverTests(specification, engineDescriptor);
-			testPlan.addEngineDescriptor(engineDescriptor);
+		List<TestEngine> testEngines = new ArrayList<>();
+		lookupAllTestEngines().forEach(testEngines::add);
+
+		List<EngineDescriptor> engineDescriptors;
+		if (specification.isParallelDiscoveryEnabled() && testEngines.size() > 1) {
+			engineDescriptors = discoverInParallel(specification, testEngines);
 		}
-		testPlan.applyFilters(specification);
-		testPlan.prune();
+		else {
+			engineDescriptors = new ArrayList<>();
+			for (TestEngine testEngine : testEngines) {
+				engineDescriptors.add(discover(specification, testEngine));
+			}
+		}
+
+		engineDescriptors.forEach(testPlan::addEngineDescriptor);
+		testPlan.applyFiltersAndPrune(specification);
 		return testPlan;
 	}
 
+	private EngineDescriptor discover(TestPlanSpecification specification, TestEngine testEngine) {
+		EngineDescriptor engineDescriptor = new EngineDescriptor(testEngine);
+		testEngine.discoverTests(specification, engineDescriptor);
+		return engineDescriptor;
+	}
+
+	/**
+	 * Let each engine discover its tests on a thread of its own and return
+	 * their engine descriptors in the order of the supplied engines.
+	 */
+	private List<EngineDescriptor> discoverInParallel(TestPlanSpecification specification,
+			List<TestEngine> testEngines) {
+
+		ExecutorService executorService = Executors.newFixedThreadPool(testEngines.size(),
+			createThreadFactory("junit-test-discovery"));
+		try {
+			List<Future<EngineDescriptor>> futures = new ArrayList<>();
+			for (TestEngine testEngine : testEngines) {
+				futures.add(executorService.submit(() -> discover(specification, testEngine)));
+			}
+			List<EngineDescriptor> engineDescriptors = new ArrayList<>();
+			for (Future<EngineDescriptor> future : futures) {
+				engineDescriptors.add(future.get());
+			}
+			return engineDescriptors;
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException("Test discovery failed", cause);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted during test discovery", ex);
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	static ThreadFactory createThreadFactory(String threadName) {
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		return runnable -> {
+			Thread thread = new Thread(runnable, threadName);
+			thread.setDaemon(true);
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		};
+	}
+
 	public void execute(TestPlanSpecification specification) {
 		execute(discover(specification));
 	}
 
+	/**
+	 * Discover and execute tests in a pipeline: tests are executed in the
+	 * batches in which engines {@linkplain TestEngine#discoverTests(TestPlanSpecification, java.util.function.Consumer)
+	 * discover them incrementally}, while discovery continues on a background
+	 * thread.
+	 *
+	 * <p>The test plan passed to listeners grows as batches are executed. In
+	 * particular, it is still <em>empty</em> when
+	 * {@link TestPlanExecutionListener#testPlanExecutionStarted} is called,
+	 * since discovery has only just begun; listeners must not rely on it to
+	 * know the tests up front. Before a batch is executed, listeners are
+	 * notified of each of its tests via
+	 * {@link TestExecutionListener#dynamicTestFound}. The finished
+	 * notifications are delivered even if an engine fails.
+	 *
+	 * <p>Discovery runs at most a few batches ahead of execution. If
+	 * execution fails, discovery is interrupted and its pending batches are
+	 * discarded.
+	 *
+	 * @return the test plan containing all executed tests
+	 */
+	public TestPlan executePipelined(TestPlanSpecification specification) {
+		return executeAndCloseListenerDispatch(() -> discoverAndExecutePipelined(specification));
+	}
+
+	private TestPlan discoverAndExecutePipelined(TestPlanSpecification specification) {
+		TestPlanExecutionListener testPlanExecutionListener = listenerRegistry.getCompositeTestPlanExecutionListener();
+		TestExecutionListener testExecutionListener = listenerRegistry.getCompositeTestExecutionListener();
+
+		TestPlan testPlan = new TestPlan();
+		BlockingQueue<Optional<EngineDescriptor>> batches = new ArrayBlockingQueue<>(MAX_PENDING_BATCHES);
+		AtomicReference<Throwable> discoveryFailure = new AtomicReference<>();
+		Thread discoveryThread = createThreadFactory("junit-test-discovery").newThread(() -> {
+			try {
+				for (TestEngine testEngine : lookupAllTestEngines()) {
+					testEngine.discoverTests(specification, batch -> putBatch(batches, batch));
+				}
+			}
+			catch (DiscoveryCancelledException ex) {
+				// execution has stopped and nobody is waiting for further batches
+				return;
+			}
+			catch (Throwable t) {
+				discoveryFailure.set(t);
+			}
+			try {
+				batches.put(Optional.empty());
+			}
+			catch (InterruptedException ex) {
+				// execution has stopped and nobody is waiting for the end of discovery
+			}
+		});
+		discoveryThread.start();
+
+		testPlanExecutionListener.testPlanExecutionStarted(testPlan);
+		TestEngine currentEngine = null;
+		try {
+			Optional<EngineDescriptor> nextBatch;
+			while ((nextBatch = takeBatch(batches)).isPresent()) {
+				EngineDescriptor batch = nextBatch.get();
+				if (!applyFilters(batch, specification)) {
+					continue;
+				}
+				TestEngine testEngine = batch.getEngine();
+				if (testEngine != currentEngine) {
+					if (currentEngine != null) {
+						TestEngine finishedEngine = currentEngine;
+						currentEngine = null;
+						testPlanExecutionListener.testPlanExecutionFinishedOnEngine(testPlan, finishedEngine);
+					}
+					testPlanExecutionListener.testPlanExecutionStartedOnEngine(testPlan, testEngine);
+					currentEngine = testEngine;
+				}
+				notifyTestsFound(batch, testExecutionListener);
+				testEngine.execute(createExecutionRequest(batch, testExecutionListener));
+				addToTestPlan(testPlan, batch);
+			}
+		}
+		finally {
+			discoveryThread.interrupt();
+			batches.clear();
+			try {
+				if (currentEngine != null) {
+					testPlanExecutionListener.testPlanExecutionFinishedOnEngine(testPlan, currentEngine);
+				}
+			}
+			finally {
+				testPlanExecutionListener.testPlanExecutionFinished(testPlan);
+			}
+		}
+
+		Throwable failure = discoveryFailure.get();
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		if (failure != null) {
+			throw new IllegalStateException("Test discovery failed", failure);
+		}
+		return testPlan;
+	}
+
+	/**
+	 * Notify the listener of each test below the supplied descriptor in the
+	 * order of the descriptor tree.
+	 */
+	private static void notifyTestsFound(TestDescriptor descriptor, TestExecutionListener listener) {
+		if (descriptor.isTest()) {
+			listener.dynamicTestFound(descriptor);
+		}
+		for (TestDescriptor child : descriptor.getChildren()) {
+			notifyTestsFound(child, listener);
+		}
+	}
+
+	private static void putBatch(BlockingQueue<Optional<EngineDescriptor>> batches, EngineDescriptor batch) {
+		try {
+			batches.put(Optional.of(batch));
+		}
+		catch (InterruptedException ex) {
+			// keep later attempts of the engine to emit batches from blocking
+			Thread.currentThread().interrupt();
+			throw new DiscoveryCancelledException();
+		}
+	}
+
+	/**
+	 * Thrown on the discovery thread to abort discovery once pipelined
+	 * execution has stopped.
+	 */
+	private static class DiscoveryCancelledException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		DiscoveryCancelledException() {
+			super("Test discovery was cancelled", null, false, false);
+		}
+	}
+
+	private static Optional<EngineDescriptor> takeBatch(BlockingQueue<Optional<EngineDescriptor>> batches) {
+		try {
+			return batches.take();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for tests to be discovered", ex);
+		}
+	}
+
+	/**
+	 * Apply the descriptor filters of the supplied specification to a batch
+	 * and prune it, just like for a fully discovered test plan.
+	 *
+	 * @return whether the batch still contains any tests
+	 */
+	private static boolean applyFilters(EngineDescriptor batch, TestPlanSpecification specification) {
+		TestPlan batchPlan = new TestPlan();
+		batchPlan.addEngineDescriptor(batch);
+		batchPlan.applyFiltersAndPrune(specification);
+		return !batchPlan.getEngineDescriptors().isEmpty();
+	}
+
+	private static void addToTestPlan(TestPlan testPlan, EngineDescriptor batch) {
+		EngineDescriptor engineDescriptor = testPlan.getEngineDescriptorFor(batch.getEngine()).orElseGet(() -> {
+			EngineDescriptor newEngineDescriptor = new EngineDescriptor(batch.getEngine());
+			testPlan.addEngineDescriptor(newEngineDescriptor);
+			return newEngineDescriptor;
+		});
+		mergeChildren(batch, engineDescriptor, engineDescriptor);
+	}
+
+	/**
+	 * Move the children of {@code source} to {@code target}. Descriptors
+	 * already present in the test plan, e.g. a class whose tests were
+	 * discovered in an earlier batch, are kept in place, and only their own
+	 * children are merged into them.
+	 */
+	private static void mergeChildren(TestDescriptor source, TestDescriptor target,
+			EngineDescriptor engineDescriptor) {
+
+		for (TestDescriptor child : new ArrayList<>(source.getChildren())) {
+			Optional<TestDescriptor> existing = engineDescriptor.findByUniqueId(child.getUniqueId());
+			if (existing.isPresent()) {
+				mergeChildren(child, existing.get(), engineDescriptor);
+			}
+			else {
+				source.removeChild(child);
+				target.addChild(child);
+			}
+		}
+	}
+
+	/**
+	 * Discover tests and execute them in {@code forkCount} forked JVMs.
+	 *
+	 * @see #executeForked(TestPlanSpecification, int, Path)
+	 */
+	public void executeForked(TestPlanSpecification specification, int forkCount) {
+		executeForked(specification, forkCount, null);
+	}
+
+	/**
+	 * Discover tests and execute them in {@code forkCount} forked JVMs that
+	 * run concurrently, each of which executes one shard of the test plan.
+	 *
+	 * <p>Tests are assigned to shards by class, balancing the shards by the
+	 * durations recorded in {@code durationsFile} by previous runs, if any.
+	 * The forked JVMs use the class path of this JVM and inherit its
+	 * {@code junit.*} system properties as well as the execution attributes
+	 * whose values are strings, booleans, integers or longs. Their
+	 * notifications are forwarded to the registered listeners.
+	 *
+	 * @param durationsFile file in which to record the duration of each
+	 * class, or {@code null} to balance shards by the number of classes
+	 */
+	public void executeForked(TestPlanSpecification specification, int forkCount, Path durationsFile) {
+		TestPlan testPlan = discover(specification);
+		executeAndCloseListenerDispatch(() -> {
+			new ForkedTestPlanExecutor(forkCount, durationsFile, this.executionAttributes,
+				listenerRegistry.getCompositeTestPlanExecutionListener(),
+				listenerRegistry.getCompositeTestExecutionListener()).execute(testPlan);
+			return null;
+		});
+	}
+
 	public void execute(TestPlan testPlan) {
+		executeAndCloseListenerDispatch(() -> {
+			executeTestPlan(testPlan);
+			return null;
+		});
+	}
+
+	private void executeTestPlan(TestPlan testPlan) {
 		TestPlanExecutionListener testPlanExecutionListener = listenerRegistry.getCompositeTestPlanExecutionListener();
 		TestExecutionListener testExecutionListener = listenerRegistry.getCompositeTestExecutionListener();
 
 		testPlanExecutionListener.testPlanExecutionStarted(testPlan);
-		for (TestEngine testEngine : lookupAllTestEngines()) {
-			Optional<EngineDescriptor> engineDescriptorOptional = testPlan.getEngineDescriptorFor(testEngine);
-			engineDescriptorOptional.ifPresent(engineDescriptor -> {
-				testPlanExecutionListener.testPlanExecutionStartedOnEngine(testPlan, testEngine);
-				testEngine.execute(new ExecutionRequest(engineDescriptor, testExecutionListener));
-				testPlanExecutionListener.testPlanExecutionFinishedOnEngine(testPlan, testEngine);
-			});
-		}
-		testPlanExecutionListener.testPlanExecutionFinished(testPlan);
+		try {
+			List<Runnable> engineExecutions = new ArrayList<>();
+			for (TestEngine testEngine : lookupAllTestEngines()) {
+				Optional<EngineDescriptor> engineDescriptorOptional = testPlan.getEngineDescriptorFor(testEngine);
+				engineDescriptorOptional.ifPresent(engineDescriptor -> engineExecutions.add(() -> {
+					testPlanExecutionListener.testPlanExecutionStartedOnEngine(testPlan, testEngine);
+					try {
+						testEngine.execute(createExecutionRequest(engineDescriptor, testExecutionListener));
+					}
+					finally {
+						testPlanExecutionListener.testPlanExecutionFinishedOnEngine(testPlan, testEngine);
+					}
+				}));
+			}
+			if (this.concurrentEngineExecutionEnabled && engineExecutions.size() > 1) {
+				executeConcurrently(engineExecutions, "junit-test-execution");
+			}
+			else {
+				engineExecutions.forEach(Runnable::run);
+			}
+		}
+		finally {
+			testPlanExecutionListener.testPlanExecutionFinished(testPlan);
+		}
+	}
+
+	/**
+	 * Run the supplied execution and close the asynchronous listener dispatch
+	 * afterwards, delivering all pending notifications. If the execution
+	 * fails, a failure of a listener is added to its suppressed exceptions
+	 * instead of replacing it.
+	 */
+	private <T> T executeAndCloseListenerDispatch(Supplier<T> execution) {
+		T result;
+		try {
+			result = execution.get();
+		}
+		catch (RuntimeException | Error ex) {
+			try {
+				listenerRegistry.closeAsynchronousDispatch();
+			}
+			catch (RuntimeException | Error listenerFailure) {
+				ex.addSuppressed(listenerFailure);
+			}
+			throw ex;
+		}
+		listenerRegistry.closeAsynchronousDispatch();
+		return result;
+	}
+
+	private ExecutionRequest createExecutionRequest(EngineDescriptor engineDescriptor,
+			TestExecutionListener testExecutionListener) {
+		ExecutionRequest request = new ExecutionRequest(engineDescriptor, testExecutionListener);
+		request.getAttributes().putAll(this.executionAttributes);
+		return request;
+	}
+
+	/**
+	 * Run each execution on a thread of its own and wait for all of them to
+	 * complete, even if one of them fails.
+	 */
+	static void executeConcurrently(List<Runnable> executions, String threadName) {
+		ExecutorService executorService = Executors.newFixedThreadPool(executions.size(),
+			createThreadFactory(threadName));
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (Runnable execution : executions) {
+				futures.add(executorService.submit(execution));
+			}
+			Throwable failure = null;
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException ex) {
+					if (failure == null) {
+						failure = ex.getCause();
+					}
+					else if (failure != ex.getCause()) {
+						failure.addSuppressed(ex.getCause());
+					}
+				}
+			}
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+			if (failure != null) {
+				throw new IllegalStateException("Test execution failed", failure);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted during test execution", ex);
+		}
+		finally {
+			executorService.shutdownNow();
+		}
 	}
 
 }
@@ -10,23 +10,46 @@
 
 package org.junit.gen5.launcher;
 
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import org.junit.gen5.commons.util.Preconditions;
 import org.junit.gen5.engine.TestDescriptor;
 import org.junit.gen5.engine.TestEngine;
 import org.junit.gen5.engine.TestExecutionListener;
 
 /**
+ * Registry of the listeners of a {@link Launcher}.
+ *
+ * <p>The composite listeners it provides may be called concurrently, e.g. by
+ * engines executing on threads of their own. Notifications are delivered to
+ * the registered listeners one at a time, so the listeners themselves need
+ * not be thread-safe.
+ *
+ * <p>If {@linkplain #enableAsynchronousDispatch asynchronous dispatch} is
+ * enabled, notifications are delivered on a background thread instead of the
+ * calling thread. The background thread is started by the first notification
+ * and runs until the {@linkplain #closeAsynchronousDispatch dispatch is
+ * closed} at the end of each execution.
+ *
  * @author Stefan Bechtold
  * @author Sam Brannen
  * @since 5.0
  */
 class TestListenerRegistry {
 
-	private final List<TestPlanExecutionListener> testPlanExecutionListeners = new LinkedList<>();
-	private final List<TestExecutionListener> testExecutionListeners = new LinkedList<>();
+	private final List<TestPlanExecutionListener> testPlanExecutionListeners = new CopyOnWriteArrayList<>();
+	private final List<TestExecutionListener> testExecutionListeners = new CopyOnWriteArrayList<>();
+
+	private final Object notificationLock = new Object();
+
+	private int asynchronousDispatchQueueCapacity;
+
+	private BackPressurePolicy asynchronousDispatchBackPressurePolicy;
+
+	private volatile AsynchronousListenerDispatcher asynchronousDispatcher;
 
 	void registerListener(TestExecutionListener... listeners) {
 		for (TestExecutionListener listener : listeners) {
@@ -37,12 +60,92 @@ class TestListenerRegistry {
 		}
 	}
 
+	/**
+	 * Enable asynchronous dispatch with the supplied settings. Notifications
+	 * pending with previous settings are delivered first.
+	 */
+	void enableAsynchronousDispatch(int queueCapacity, BackPressurePolicy backPressurePolicy) {
+		Preconditions.condition(queueCapacity > 0, "queueCapacity must be greater than zero");
+		Preconditions.notNull(backPressurePolicy, "backPressurePolicy must not be null");
+
+		closeAsynchronousDispatch();
+		synchronized (this) {
+			this.asynchronousDispatchQueueCapacity = queueCapacity;
+			this.asynchronousDispatchBackPressurePolicy = backPressurePolicy;
+		}
+	}
+
+	/**
+	 * Deliver all pending notifications and stop the background thread, if
+	 * any, rethrowing the first exception thrown by a listener.
+	 */
+	void closeAsynchronousDispatch() {
+		AsynchronousListenerDispatcher dispatcher;
+		synchronized (this) {
+			dispatcher = this.asynchronousDispatcher;
+			this.asynchronousDispatcher = null;
+		}
+		if (dispatcher != null) {
+			dispatcher.close();
+		}
+	}
+
+	/**
+	 * Get the dispatcher for the current execution, creating it on first use.
+	 *
+	 * @return the dispatcher, or {@code null} if asynchronous dispatch is not
+	 * enabled
+	 */
+	private AsynchronousListenerDispatcher getAsynchronousDispatcher() {
+		AsynchronousListenerDispatcher dispatcher = this.asynchronousDispatcher;
+		if (dispatcher == null) {
+			synchronized (this) {
+				dispatcher = this.asynchronousDispatcher;
+				if (dispatcher == null && this.asynchronousDispatchBackPressurePolicy != null) {
+					dispatcher = new AsynchronousListenerDispatcher(this.asynchronousDispatchQueueCapacity,
+						this.asynchronousDispatchBackPressurePolicy);
+					this.asynchronousDispatcher = dispatcher;
+				}
+			}
+		}
+		return dispatcher;
+	}
+
 	private void notifyTestPlanExecutionListeners(Consumer<TestPlanExecutionListener> consumer) {
-		this.testPlanExecutionListeners.forEach(consumer);
+		notifyListeners(this.testPlanExecutionListeners, consumer,
+			(dispatcher, notification) -> dispatcher.dispatch(notification, false));
 	}
 
 	private void notifyTestExecutionListeners(Consumer<TestExecutionListener> consumer) {
-		this.testExecutionListeners.forEach(consumer);
+		notifyListeners(this.testExecutionListeners, consumer,
+			(dispatcher, notification) -> dispatcher.dispatch(notification, true));
+	}
+
+	private void notifyTestStarted(TestDescriptor testDescriptor) {
+		notifyListeners(this.testExecutionListeners, listener -> listener.testStarted(testDescriptor),
+			(dispatcher, notification) -> dispatcher.dispatchTestStarted(testDescriptor.getUniqueId(), notification));
+	}
+
+	private void notifyTestFinished(TestDescriptor testDescriptor, Consumer<TestExecutionListener> consumer) {
+		notifyListeners(this.testExecutionListeners, consumer,
+			(dispatcher, notification) -> dispatcher.dispatchTestFinished(testDescriptor.getUniqueId(), notification));
+	}
+
+	private <T> void notifyListeners(List<T> listeners, Consumer<T> consumer,
+			BiConsumer<AsynchronousListenerDispatcher, Runnable> dispatch) {
+
+		Runnable notification = () -> {
+			synchronized (this.notificationLock) {
+				listeners.forEach(consumer);
+			}
+		};
+		AsynchronousListenerDispatcher dispatcher = getAsynchronousDispatcher();
+		if (dispatcher != null) {
+			dispatch.accept(dispatcher, notification);
+		}
+		else {
+			notification.run();
+		}
 	}
 
 	TestPlanExecutionListener getCompositeTestPlanExecutionListener() {
@@ -62,7 +165,7 @@ class TestListenerRegistry {
 
 		@Override
 		public void testStarted(TestDescriptor testDescriptor) {
-			notifyTestExecutionListeners(listener -> listener.testStarted(testDescriptor));
+			notifyTestStarted(testDescriptor);
 		}
 
 		@Override
@@ -72,17 +175,17 @@ class TestListenerRegistry {
 
 		@Override
 		public void testAborted(TestDescriptor testDescriptor, Throwable t) {
-			notifyTestExecutionListeners(listener -> listener.testAborted(testDescriptor, t));
+			notifyTestFinished(testDescriptor, listener -> listener.testAborted(testDescriptor, t));
 		}
 
 		@Override
 		public void testFailed(TestDescriptor testDescriptor, Throwable t) {
-			notifyTestExecutionListeners(listener -> listener.testFailed(testDescriptor, t));
+			notifyTestFinished(testDescriptor, listener -> listener.testFailed(testDescriptor, t));
 		}
 
 		@Override
 		public void testSucceeded(TestDescriptor testDescriptor) {
-			notifyTestExecutionListeners(listener -> listener.testSucceeded(testDescriptor));
+			notifyTestFinished(testDescriptor, listener -> listener.testSucceeded(testDescriptor));
 		}
 	}
 
@@ -10,9 +10,11 @@
 
 package org.junit.gen5.launcher;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -103,28 +105,65 @@ public final class TestPlan implements TestDescriptor {
 		new HashSet<>(engineDescriptors).forEach(child -> child.accept(visitor));
 	}
 
+	@Override
+	public Optional<TestDescriptor> findByUniqueId(String uniqueId) {
+		if (getUniqueId().equals(uniqueId)) {
+			return Optional.of(this);
+		}
+		for (EngineDescriptor engineDescriptor : this.engineDescriptors) {
+			Optional<TestDescriptor> result = engineDescriptor.findByUniqueId(uniqueId);
+			if (result.isPresent()) {
+				return result;
+			}
+		}
+		return Optional.empty();
+	}
+
 	@Override
 	public Optional<TestSource> getSource() {
 		return Optional.empty();
 	}
 
-	void applyFilters(TestPlanSpecification specification) {
-		Visitor filteringVisitor = (descriptor, remove) -> {
-			if (!descriptor.isTest())
-				return;
-			if (!specification.acceptDescriptor(descriptor))
-				remove.run();
-		};
-		accept(filteringVisitor);
+	/**
+	 * Remove all tests rejected by the descriptor filters of the supplied
+	 * specification, and then all descriptors, including engine descriptors,
+	 * that no longer contain any tests.
+	 *
+	 * <p>Both happen in a single post-order traversal, in which each
+	 * descriptor is visited once. A container without any remaining tests is
+	 * removed as a whole, together with its subtree.
+	 */
+	void applyFiltersAndPrune(TestPlanSpecification specification) {
+		for (EngineDescriptor engineDescriptor : new ArrayList<>(this.engineDescriptors)) {
+			if (!filterAndPrune(engineDescriptor, specification)) {
+				this.engineDescriptors.remove(engineDescriptor);
+			}
+		}
 	}
 
-	void prune() {
-		Visitor pruningVisitor = (descriptor, remove) -> {
-			if (descriptor.isRoot() || descriptor.hasTests())
-				return;
-			remove.run();
-		};
-		accept(pruningVisitor);
+	/**
+	 * @return whether the supplied descriptor still contains any tests, in
+	 * which case it has been filtered and pruned; otherwise, it is left for
+	 * the caller to remove
+	 */
+	private static boolean filterAndPrune(TestDescriptor descriptor, TestPlanSpecification specification) {
+		if (descriptor.isTest() && !specification.acceptDescriptor(descriptor)) {
+			return false;
+		}
+		boolean hasTests = descriptor.isTest();
+		List<TestDescriptor> childrenWithoutTests = new ArrayList<>();
+		for (TestDescriptor child : descriptor.getChildren()) {
+			if (filterAndPrune(child, specification)) {
+				hasTests = true;
+			}
+			else {
+				childrenWithoutTests.add(child);
+			}
+		}
+		if (hasTests) {
+			childrenWithoutTests.forEach(descriptor::removeChild);
+		}
+		return hasTests;
 	}
 
 }
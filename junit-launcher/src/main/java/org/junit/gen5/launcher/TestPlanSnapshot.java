@@ -0,0 +1,487 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.gen5.launcher.TestEngineRegistry.lookupAllTestEngines;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.gen5.commons.util.Preconditions;
+import org.junit.gen5.commons.util.ReflectionUtils;
+import org.junit.gen5.engine.AbstractTestDescriptor;
+import org.junit.gen5.engine.EngineDescriptor;
+import org.junit.gen5.engine.FileSystemSource;
+import org.junit.gen5.engine.FileSystemSource.FilePosition;
+import org.junit.gen5.engine.JavaSource;
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestEngine;
+import org.junit.gen5.engine.TestPlanSpecification;
+import org.junit.gen5.engine.TestPlanSpecificationElement;
+import org.junit.gen5.engine.TestSource;
+import org.junit.gen5.engine.TestTag;
+
+/**
+ * {@code TestPlanSnapshot} writes a discovered {@link TestPlan} in a compact
+ * binary format and reads it back, so that a test plan need not be
+ * discovered again by every consumer.
+ *
+ * <p>A snapshot records the tree of descriptors of each engine with their
+ * unique IDs, display names, tags and sources. Unique IDs are stored relative
+ * to the unique ID of their parent, and display names, tag names and class
+ * names are stored only once.
+ *
+ * <p>Descriptors read from a snapshot are not those of the engines and thus
+ * cannot be passed to the engines for execution. Instead, the tests of a
+ * snapshot are executed by discovering them again, restricted to the classes
+ * and unique IDs they stem from; see {@link #toSpecification(TestPlan)}.
+ * Sources referring to classes or methods that cannot be loaded when a
+ * snapshot is read are omitted.
+ *
+ * @since 5.0
+ */
+public final class TestPlanSnapshot {
+
+	private static final int MAGIC = 0x4A555450;
+
+	private static final int VERSION = 1;
+
+	private static final int TEST_FLAG = 1;
+
+	private static final int NO_SOURCE = 0;
+
+	private static final int CLASS_SOURCE = 1;
+
+	private static final int METHOD_SOURCE = 2;
+
+	private static final int FILE_SOURCE = 3;
+
+	private static final int FILE_POSITION_SOURCE = 4;
+
+	private static final int INITIAL_STRING_BUFFER_SIZE = 8192;
+
+	private TestPlanSnapshot() {
+		/* no-op */
+	}
+
+	/**
+	 * Write a snapshot of the supplied test plan to the supplied stream,
+	 * which is flushed but not closed.
+	 */
+	public static void write(TestPlan testPlan, OutputStream outputStream) throws IOException {
+		Preconditions.notNull(testPlan, "testPlan must not be null");
+		Preconditions.notNull(outputStream, "outputStream must not be null");
+
+		Writer writer = new Writer(new DataOutputStream(new BufferedOutputStream(outputStream)));
+		writer.out.writeInt(MAGIC);
+		writer.out.writeByte(VERSION);
+		Collection<TestDescriptor> engineDescriptors = testPlan.getEngineDescriptors();
+		writer.writeVarInt(engineDescriptors.size());
+		for (TestDescriptor engineDescriptor : engineDescriptors) {
+			writer.writeString(engineDescriptor.getUniqueId());
+			writer.writeChildren(engineDescriptor);
+		}
+		writer.out.flush();
+	}
+
+	/**
+	 * Read a test plan from a snapshot in the supplied stream, which is not
+	 * closed.
+	 *
+	 * @throws IOException if the stream cannot be read or does not contain a
+	 * complete and valid snapshot
+	 * @throws IllegalStateException if the snapshot contains tests of an
+	 * engine that is not available
+	 */
+	public static TestPlan read(InputStream inputStream) throws IOException {
+		Preconditions.notNull(inputStream, "inputStream must not be null");
+
+		try {
+			return read(new Reader(new DataInputStream(new BufferedInputStream(inputStream))));
+		}
+		catch (EOFException ex) {
+			EOFException truncated = new EOFException("Truncated test plan snapshot");
+			truncated.initCause(ex);
+			throw truncated;
+		}
+	}
+
+	private static TestPlan read(Reader reader) throws IOException {
+		if (reader.in.readInt() != MAGIC) {
+			throw new IOException("Not a test plan snapshot");
+		}
+		int version = reader.in.readUnsignedByte();
+		if (version != VERSION) {
+			throw new IOException("Unsupported test plan snapshot version " + version);
+		}
+		Map<String, TestEngine> testEngines = new HashMap<>();
+		lookupAllTestEngines().forEach(testEngine -> testEngines.put(testEngine.getId(), testEngine));
+
+		TestPlan testPlan = new TestPlan();
+		int engineCount = reader.readLength("engine count");
+		for (int i = 0; i < engineCount; i++) {
+			String engineId = reader.readString();
+			TestEngine testEngine = testEngines.get(engineId);
+			if (testEngine == null) {
+				throw new IllegalStateException("No test engine with ID '" + engineId + "' is available");
+			}
+			EngineDescriptor engineDescriptor = new EngineDescriptor(testEngine);
+			reader.readChildren(engineDescriptor);
+			testPlan.addEngineDescriptor(engineDescriptor);
+		}
+		return testPlan;
+	}
+
+	/**
+	 * Create a specification that discovers exactly the tests of the supplied
+	 * test plan, e.g. one {@linkplain #read read} from a snapshot.
+	 *
+	 * <p>The specification contains a class for each child of an engine
+	 * descriptor that stems from a class, the unique IDs of all others, and
+	 * a filter that only accepts the tests of the test plan.
+	 */
+	public static TestPlanSpecification toSpecification(TestPlan testPlan) {
+		Preconditions.notNull(testPlan, "testPlan must not be null");
+
+		Map<String, TestPlanSpecificationElement> elements = new LinkedHashMap<>();
+		Set<String> testIds = new HashSet<>();
+		for (TestDescriptor engineDescriptor : testPlan.getEngineDescriptors()) {
+			for (TestDescriptor child : engineDescriptor.getChildren()) {
+				Optional<Class<?>> testClass = child.getSource().filter(JavaSource.class::isInstance).map(
+					JavaSource.class::cast).flatMap(JavaSource::getJavaClass);
+				if (testClass.isPresent()) {
+					elements.putIfAbsent(testClass.get().getName(), TestPlanSpecification.forClass(testClass.get()));
+				}
+				else {
+					elements.putIfAbsent(child.getUniqueId(), TestPlanSpecification.forUniqueId(child.getUniqueId()));
+				}
+			}
+			engineDescriptor.accept((descriptor, remove) -> {
+				if (descriptor.isTest()) {
+					testIds.add(descriptor.getUniqueId());
+				}
+			});
+		}
+		TestPlanSpecification specification = TestPlanSpecification.build(new ArrayList<>(elements.values()));
+		specification.filterWith(descriptor -> testIds.contains(descriptor.getUniqueId()));
+		return specification;
+	}
+
+	private static class Writer {
+
+		private final DataOutputStream out;
+
+		private final Map<String, Integer> stringIndices = new HashMap<>();
+
+		Writer(DataOutputStream out) {
+			this.out = out;
+		}
+
+		void writeChildren(TestDescriptor parent) throws IOException {
+			Set<TestDescriptor> children = parent.getChildren();
+			writeVarInt(children.size());
+			for (TestDescriptor child : children) {
+				writeDescriptor(child, parent.getUniqueId());
+			}
+		}
+
+		private void writeDescriptor(TestDescriptor descriptor, String parentUniqueId) throws IOException {
+			this.out.writeByte(descriptor.isTest() ? TEST_FLAG : 0);
+
+			String uniqueId = descriptor.getUniqueId();
+			int commonPrefixLength = commonPrefixLength(uniqueId, parentUniqueId);
+			writeVarInt(commonPrefixLength);
+			writeUtf8(uniqueId.substring(commonPrefixLength));
+
+			writeString(descriptor.getDisplayName());
+			Set<TestTag> tags = descriptor.getTags();
+			writeVarInt(tags.size());
+			for (TestTag tag : tags) {
+				writeString(tag.getName());
+			}
+			writeSource(descriptor.getSource());
+			writeChildren(descriptor);
+		}
+
+		private void writeSource(Optional<TestSource> source) throws IOException {
+			if (source.isPresent() && source.get() instanceof JavaSource) {
+				JavaSource javaSource = (JavaSource) source.get();
+				Optional<Method> method = javaSource.getJavaMethod();
+				if (method.isPresent()) {
+					this.out.writeByte(METHOD_SOURCE);
+					writeString(method.get().getDeclaringClass().getName());
+					writeString(method.get().getName());
+					Class<?>[] parameterTypes = method.get().getParameterTypes();
+					writeVarInt(parameterTypes.length);
+					for (Class<?> parameterType : parameterTypes) {
+						writeString(parameterType.getName());
+					}
+					return;
+				}
+				if (javaSource.getJavaClass().isPresent()) {
+					this.out.writeByte(CLASS_SOURCE);
+					writeString(javaSource.getJavaClass().get().getName());
+					return;
+				}
+			}
+			if (source.isPresent() && source.get() instanceof FileSystemSource) {
+				FileSystemSource fileSource = (FileSystemSource) source.get();
+				if (fileSource.getFile().isPresent()) {
+					Optional<FilePosition> position = fileSource.getPosition();
+					this.out.writeByte(position.isPresent() ? FILE_POSITION_SOURCE : FILE_SOURCE);
+					writeString(fileSource.getFile().get().getPath());
+					if (position.isPresent()) {
+						writeVarInt(position.get().getLine());
+						writeVarInt(position.get().getColumn());
+					}
+					return;
+				}
+			}
+			this.out.writeByte(NO_SOURCE);
+		}
+
+		/**
+		 * Write a reference to a string that has been written before, or the
+		 * string itself the first time it is written.
+		 */
+		void writeString(String value) throws IOException {
+			Integer index = this.stringIndices.get(value);
+			if (index != null) {
+				writeVarInt(index + 1);
+			}
+			else {
+				this.stringIndices.put(value, this.stringIndices.size());
+				writeVarInt(0);
+				writeUtf8(value);
+			}
+		}
+
+		private void writeUtf8(String value) throws IOException {
+			byte[] bytes = value.getBytes(UTF_8);
+			writeVarInt(bytes.length);
+			this.out.write(bytes);
+		}
+
+		void writeVarInt(int value) throws IOException {
+			while ((value & ~0x7F) != 0) {
+				this.out.writeByte((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			this.out.writeByte(value);
+		}
+
+		private static int commonPrefixLength(String first, String second) {
+			int maxLength = Math.min(first.length(), second.length());
+			int length = 0;
+			while (length < maxLength && first.charAt(length) == second.charAt(length)) {
+				length++;
+			}
+			return length;
+		}
+	}
+
+	private static class Reader {
+
+		private final DataInputStream in;
+
+		private final List<String> strings = new ArrayList<>();
+
+		private final Map<String, Optional<Class<?>>> classesByName = new HashMap<>();
+
+		Reader(DataInputStream in) {
+			this.in = in;
+		}
+
+		void readChildren(AbstractTestDescriptor parent) throws IOException {
+			int childCount = readLength("child count");
+			for (int i = 0; i < childCount; i++) {
+				readDescriptor(parent);
+			}
+		}
+
+		private void readDescriptor(AbstractTestDescriptor parent) throws IOException {
+			boolean isTest = (this.in.readUnsignedByte() & TEST_FLAG) != 0;
+
+			int commonPrefixLength = readLength("unique ID prefix length");
+			String parentUniqueId = parent.getUniqueId();
+			if (commonPrefixLength > parentUniqueId.length()) {
+				throw new IOException("Unique ID prefix length " + commonPrefixLength
+						+ " exceeds length of parent unique ID '" + parentUniqueId + "'");
+			}
+			String uniqueId = parentUniqueId.substring(0, commonPrefixLength) + readUtf8();
+
+			String displayName = readString();
+			int tagCount = readLength("tag count");
+			Set<TestTag> tags = (tagCount == 0) ? Collections.emptySet() : new LinkedHashSet<>();
+			for (int i = 0; i < tagCount; i++) {
+				tags.add(new TestTag(readString()));
+			}
+
+			Optional<TestSource> source = readSource();
+			SnapshotTestDescriptor descriptor = new SnapshotTestDescriptor(uniqueId, displayName, isTest, tags, source);
+			// Add the descriptor before its children so that adding it does
+			// not need to visit its subtree.
+			parent.addChild(descriptor);
+			readChildren(descriptor);
+		}
+
+		private Optional<TestSource> readSource() throws IOException {
+			int sourceType = this.in.readUnsignedByte();
+			switch (sourceType) {
+				case NO_SOURCE:
+					return Optional.empty();
+				case CLASS_SOURCE:
+					return loadClass(readString()).map(JavaSource::new);
+				case METHOD_SOURCE:
+					Optional<Class<?>> declaringClass = loadClass(readString());
+					String methodName = readString();
+					List<String> parameterTypeNames = new ArrayList<>();
+					int parameterCount = readLength("parameter count");
+					for (int i = 0; i < parameterCount; i++) {
+						parameterTypeNames.add(readString());
+					}
+					return declaringClass.flatMap(
+						clazz -> findMethod(clazz, methodName, parameterTypeNames)).map(JavaSource::new);
+				case FILE_SOURCE:
+					return Optional.of(new FileSystemSource(new File(readString())));
+				case FILE_POSITION_SOURCE:
+					File file = new File(readString());
+					return Optional.of(new FileSystemSource(file, new FilePosition(readVarInt(), readVarInt())));
+				default:
+					throw new IOException("Unknown source type " + sourceType);
+			}
+		}
+
+		private Optional<Class<?>> loadClass(String className) {
+			return this.classesByName.computeIfAbsent(className, ReflectionUtils::loadClass);
+		}
+
+		private static Optional<Method> findMethod(Class<?> clazz, String methodName,
+				List<String> parameterTypeNames) {
+			// Compare parameter types by name, since they may be primitive types
+			return Arrays.stream(clazz.getDeclaredMethods()).filter(
+				method -> method.getName().equals(methodName)).filter(
+					method -> Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(
+						toList()).equals(parameterTypeNames)).findFirst();
+		}
+
+		String readString() throws IOException {
+			int reference = readLength("string reference");
+			if (reference > this.strings.size()) {
+				throw new IOException(
+					"String reference " + reference + " exceeds size " + this.strings.size() + " of string table");
+			}
+			if (reference > 0) {
+				return this.strings.get(reference - 1);
+			}
+			String value = readUtf8();
+			this.strings.add(value);
+			return value;
+		}
+
+		private String readUtf8() throws IOException {
+			int length = readLength("string length");
+			// Grow the buffer as bytes arrive so that a corrupt length cannot
+			// allocate much more memory than the stream actually contains
+			byte[] bytes = new byte[Math.min(length, INITIAL_STRING_BUFFER_SIZE)];
+			this.in.readFully(bytes);
+			while (bytes.length < length) {
+				int offset = bytes.length;
+				bytes = Arrays.copyOf(bytes, (int) Math.min(2L * offset, length));
+				this.in.readFully(bytes, offset, bytes.length - offset);
+			}
+			return new String(bytes, UTF_8);
+		}
+
+		/**
+		 * Read a variable-length integer that must not be negative, such as a
+		 * length, a count or an index.
+		 */
+		int readLength(String description) throws IOException {
+			int value = readVarInt();
+			if (value < 0) {
+				throw new IOException("Negative " + description + " " + value);
+			}
+			return value;
+		}
+
+		int readVarInt() throws IOException {
+			int value = 0;
+			for (int shift = 0; shift < 32; shift += 7) {
+				int b = this.in.readUnsignedByte();
+				value |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new IOException("Malformed variable-length integer");
+		}
+	}
+
+	/**
+	 * Descriptor read from a snapshot.
+	 */
+	private static class SnapshotTestDescriptor extends AbstractTestDescriptor {
+
+		private final String displayName;
+
+		private final boolean isTest;
+
+		private final Set<TestTag> tags;
+
+		SnapshotTestDescriptor(String uniqueId, String displayName, boolean isTest, Set<TestTag> tags,
+				Optional<TestSource> source) {
+			super(uniqueId);
+			this.displayName = displayName;
+			this.isTest = isTest;
+			this.tags = tags;
+			source.ifPresent(this::setSource);
+		}
+
+		@Override
+		public String getDisplayName() {
+			return this.displayName;
+		}
+
+		@Override
+		public boolean isTest() {
+			return this.isTest;
+		}
+
+		@Override
+		public Set<TestTag> getTags() {
+			return this.tags;
+		}
+	}
+
+}
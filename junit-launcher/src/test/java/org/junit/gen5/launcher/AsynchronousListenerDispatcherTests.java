@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link AsynchronousListenerDispatcher}.
+ *
+ * @since 5.0
+ */
+public class AsynchronousListenerDispatcherTests {
+
+	private final List<String> deliveredNotifications = new CopyOnWriteArrayList<>();
+
+	@Test
+	public void notificationsAreDeliveredInOrderOnBackgroundThread() {
+		AsynchronousListenerDispatcher dispatcher = new AsynchronousListenerDispatcher(1, BackPressurePolicy.BLOCK);
+		AtomicReference<Thread> dispatchThread = new AtomicReference<>();
+
+		dispatcher.dispatch(() -> dispatchThread.set(Thread.currentThread()), false);
+		dispatcher.dispatch(notification("first"), true);
+		dispatcher.dispatch(notification("second"), true);
+		dispatcher.close();
+
+		Assert.assertEquals(Arrays.asList("first", "second"), this.deliveredNotifications);
+		Assert.assertNotSame(Thread.currentThread(), dispatchThread.get());
+	}
+
+	@Test
+	public void closeDeliversPendingNotificationsAndStopsBackgroundThread() throws InterruptedException {
+		AsynchronousListenerDispatcher dispatcher = new AsynchronousListenerDispatcher(4, BackPressurePolicy.BLOCK);
+		AtomicReference<Thread> dispatchThread = new AtomicReference<>();
+		CountDownLatch release = new CountDownLatch(1);
+
+		dispatcher.dispatch(() -> {
+			dispatchThread.set(Thread.currentThread());
+			await(release);
+		}, false);
+		dispatcher.dispatch(notification("pending"), false);
+		release.countDown();
+		dispatcher.close();
+		dispatcher.close();
+
+		Assert.assertEquals(Arrays.asList("pending"), this.deliveredNotifications);
+		Assert.assertFalse(dispatchThread.get().isAlive());
+	}
+
+	@Test
+	public void closeRethrowsFirstListenerFailure() {
+		AsynchronousListenerDispatcher dispatcher = new AsynchronousListenerDispatcher(4, BackPressurePolicy.BLOCK);
+		RuntimeException first = new IllegalStateException("first");
+		RuntimeException second = new IllegalStateException("second");
+
+		dispatcher.dispatch(() -> {
+			throw first;
+		}, false);
+		dispatcher.dispatch(() -> {
+			throw second;
+		}, false);
+		dispatcher.dispatch(notification("after failures"), false);
+
+		try {
+			dispatcher.close();
+			Assert.fail("exception expected");
+		}
+		catch (IllegalStateException ex) {
+			Assert.assertSame(first, ex);
+			Assert.assertArrayEquals(new Throwable[] { second }, ex.getSuppressed());
+		}
+		Assert.assertEquals(Arrays.asList("after failures"), this.deliveredNotifications);
+	}
+
+	@Test
+	public void discardablePolicyDropsOnlyDiscardableNotificationsWhenQueueIsFull() {
+		AsynchronousListenerDispatcher dispatcher = new AsynchronousListenerDispatcher(1, BackPressurePolicy.DISCARD);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		dispatcher.dispatch(() -> {
+			started.countDown();
+			await(release);
+		}, false);
+		await(started);
+		dispatcher.dispatch(notification("queued"), true);
+		dispatcher.dispatch(notification("discarded"), true);
+		release.countDown();
+		dispatcher.dispatch(notification("blocking"), false);
+		dispatcher.close();
+
+		Assert.assertEquals(Arrays.asList("queued", "blocking"), this.deliveredNotifications);
+	}
+
+	@Test
+	public void discardablePolicyDiscardsFinishOnlyIfStartWasDiscarded() {
+		AsynchronousListenerDispatcher dispatcher = new AsynchronousListenerDispatcher(1, BackPressurePolicy.DISCARD);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		dispatcher.dispatch(() -> {
+			started.countDown();
+			await(release);
+		}, false);
+		await(started);
+		dispatcher.dispatchTestStarted("delivered", notification("started delivered"));
+		dispatcher.dispatchTestStarted("discarded", notification("started discarded"));
+		release.countDown();
+		dispatcher.dispatchTestFinished("discarded", notification("finished discarded"));
+		dispatcher.dispatchTestFinished("delivered", notification("finished delivered"));
+		dispatcher.close();
+
+		Assert.assertEquals(Arrays.asList("started delivered", "finished delivered"), this.deliveredNotifications);
+	}
+
+	@Test
+	public void dispatchAfterCloseIsIgnored() {
+		AsynchronousListenerDispatcher dispatcher = new AsynchronousListenerDispatcher(1, BackPressurePolicy.BLOCK);
+		dispatcher.close();
+
+		dispatcher.dispatch(notification("too late"), false);
+		dispatcher.dispatchTestStarted("test", notification("too late"));
+		dispatcher.dispatchTestFinished("test", notification("too late"));
+
+		Assert.assertTrue(this.deliveredNotifications.isEmpty());
+	}
+
+	private Runnable notification(String name) {
+		return () -> this.deliveredNotifications.add(name);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.gen5.launcher.ForkedEvent.RemoteThrowable;
+import org.junit.gen5.launcher.StubTestEngine.StubTestDescriptor;
+
+/**
+ * Unit tests for the encoding of {@link ForkedEvent ForkedEvents}.
+ *
+ * @since 5.0
+ */
+public class ForkedEventTests {
+
+	private final StubTestDescriptor testDescriptor = new StubTestDescriptor("stub:com.example.Test#test", "", true);
+
+	@Test
+	public void eventsWithoutThrowableAreReadAsWritten() throws IOException {
+		byte[] bytes = write(new ForkedEvent(ForkedEvent.Type.TEST_STARTED, this.testDescriptor));
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+		ForkedEvent event = ForkedEvent.readFrom(in).get();
+
+		Assert.assertEquals(ForkedEvent.Type.TEST_STARTED, event.getType());
+		Assert.assertEquals("stub:com.example.Test#test", event.getUniqueId());
+		Assert.assertNull(event.getThrowable());
+		Assert.assertEquals(Optional.empty(), ForkedEvent.readFrom(in));
+	}
+
+	@Test
+	public void throwablesAreReadWithTheirDescriptionStackTraceAndCauses() throws IOException {
+		IllegalStateException cause = new IllegalStateException();
+		AssertionError failure = new AssertionError("expected: <1> but was: <2>", cause);
+
+		byte[] bytes = write(new ForkedEvent(ForkedEvent.Type.TEST_FAILED, this.testDescriptor, failure));
+		Throwable throwable = ForkedEvent.readFrom(new DataInputStream(new ByteArrayInputStream(bytes))).get()
+				.getThrowable();
+
+		Assert.assertTrue(throwable instanceof RemoteThrowable);
+		Assert.assertEquals(failure.toString(), throwable.toString());
+		Assert.assertEquals(failure.getMessage(), throwable.getMessage());
+		Assert.assertEquals(describe(failure.getStackTrace()), describe(throwable.getStackTrace()));
+		Assert.assertEquals(cause.toString(), throwable.getCause().toString());
+		Assert.assertEquals(describe(cause.getStackTrace()), describe(throwable.getCause().getStackTrace()));
+		Assert.assertNull(throwable.getCause().getCause());
+	}
+
+	@Test(expected = EOFException.class)
+	public void truncatedEventsAreRejected() throws IOException {
+		byte[] bytes = write(new ForkedEvent(ForkedEvent.Type.TEST_SUCCEEDED, this.testDescriptor));
+
+		ForkedEvent.readFrom(new DataInputStream(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1))));
+	}
+
+	/**
+	 * Describe the supplied stack trace by the properties that are transferred,
+	 * ignoring e.g. the module of each element.
+	 */
+	private static List<String> describe(StackTraceElement[] stackTrace) {
+		// @formatter:off
+		return Arrays.stream(stackTrace)
+				.map(element -> element.getClassName() + "." + element.getMethodName() + "("
+						+ element.getFileName() + ":" + element.getLineNumber() + ")")
+				.collect(Collectors.toList());
+		// @formatter:on
+	}
+
+	private static byte[] write(ForkedEvent event) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		event.writeTo(new DataOutputStream(bytes));
+		return bytes.toByteArray();
+	}
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import static org.junit.gen5.engine.TestPlanSpecification.build;
+import static org.junit.gen5.engine.TestPlanSpecification.forClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestPlanSpecification;
+import org.junit.gen5.launcher.ForkedTestPlanExecutor.ShardUnit;
+import org.junit.gen5.launcher.StubTestEngine.StubTestClass;
+import org.junit.gen5.launcher.StubTestEngine.StubTestDescriptor;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ForkedTestPlanExecutor} and the integration of
+ * {@link Launcher#executeForked} with {@link ForkedTestRunner}.
+ *
+ * @since 5.0
+ */
+public class ForkedTestPlanExecutorTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void unitsAreAssignedToTheShardWithTheLeastEstimatedDuration() {
+		List<ShardUnit> units = Arrays.asList(new ShardUnit("a", true, 0), new ShardUnit("b", true, 1),
+			new ShardUnit("c", true, 2), new ShardUnit("d", true, 3), new ShardUnit("e", true, 4));
+		Properties durations = new Properties();
+		durations.setProperty("a", "10");
+		durations.setProperty("b", "40");
+		durations.setProperty("c", "20");
+		durations.setProperty("d", "30");
+
+		ForkedTestPlanExecutor.estimateDurations(units, durations);
+		List<List<ShardUnit>> shards = ForkedTestPlanExecutor.assignToShards(units, 2);
+
+		Assert.assertEquals("unit without recorded duration", 25, units.get(4).getEstimatedDuration());
+		Assert.assertEquals(Arrays.asList("b", "c"), keys(shards.get(0)));
+		Assert.assertEquals(Arrays.asList("a", "d", "e"), keys(shards.get(1)));
+	}
+
+	@Test
+	public void notificationsOfForkedJvmsAreDeliveredToListeners() {
+		Launcher launcher = new Launcher();
+		RecordingTestPlanExecutionListener listener = new RecordingTestPlanExecutionListener();
+		FailureRecordingListener failures = new FailureRecordingListener();
+		launcher.registerTestPlanExecutionListeners(listener, failures);
+
+		launcher.executeForked(
+			build(forClass(FirstForkedStubTestCase.class), forClass(SecondForkedStubTestCase.class)), 2);
+
+		String firstClassId = StubTestEngine.ENGINE_ID + ":" + FirstForkedStubTestCase.class.getName();
+		String secondClassId = StubTestEngine.ENGINE_ID + ":" + SecondForkedStubTestCase.class.getName();
+		List<String> events = listener.events;
+		Assert.assertEquals("testPlanExecutionStarted", events.get(0));
+		Assert.assertEquals("testPlanExecutionFinished", events.get(events.size() - 1));
+		Assert.assertTrue(events.containsAll(Arrays.asList("testStarted:" + firstClassId + "#succeed",
+			"testSucceeded:" + firstClassId + "#succeed", "testStarted:" + firstClassId + "#fail",
+			"testFailed:" + firstClassId + "#fail", "testStarted:" + secondClassId + "#succeed",
+			"testSucceeded:" + secondClassId + "#succeed")));
+
+		Throwable failure = failures.failures.get(firstClassId + "#fail");
+		Assert.assertEquals(IllegalArgumentException.class.getName() + ": expected failure", failure.toString());
+		Assert.assertEquals("fail", failure.getStackTrace()[0].getMethodName());
+	}
+
+	@Test
+	public void executionFailsIfForkedJvmExitsAbnormally() {
+		Launcher launcher = new Launcher();
+		RecordingTestPlanExecutionListener listener = new RecordingTestPlanExecutionListener();
+		launcher.registerTestPlanExecutionListeners(listener);
+
+		try {
+			launcher.executeForked(build(forClass(ExitingForkedStubTestCase.class)), 1);
+			Assert.fail("exception expected");
+		}
+		catch (IllegalStateException ex) {
+			Assert.assertEquals("Forked JVM exited with code 3", ex.getMessage());
+		}
+
+		List<String> events = listener.events;
+		Assert.assertTrue(
+			events.contains("testStarted:stub:" + ExitingForkedStubTestCase.class.getName() + "#exit"));
+		Assert.assertEquals("testPlanExecutionFinished", events.get(events.size() - 1));
+	}
+
+	@Test
+	public void durationsAreRecordedAndReadByLaterExecutions() throws IOException {
+		Path durationsFile = this.temporaryFolder.getRoot().toPath().resolve("durations.properties");
+
+		new Launcher().executeForked(
+			build(forClass(FirstForkedStubTestCase.class), forClass(SecondForkedStubTestCase.class)), 2, durationsFile);
+
+		Properties durations = new ForkedTestPlanExecutor(1, durationsFile, Collections.emptyMap(),
+			new RecordingTestPlanExecutionListener(), new RecordingTestPlanExecutionListener()).readDurations();
+		Assert.assertEquals(
+			new HashSet<>(Arrays.asList(FirstForkedStubTestCase.class.getName(),
+				SecondForkedStubTestCase.class.getName())),
+			durations.stringPropertyNames());
+		try (Stream<Path> files = Files.list(this.temporaryFolder.getRoot().toPath())) {
+			Assert.assertEquals("temporary files left behind", Collections.singletonList(durationsFile),
+				files.collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void durationsFileWithValuesOtherThanNumbersIsIgnored() throws IOException {
+		Path durationsFile = this.temporaryFolder.getRoot().toPath().resolve("durations.properties");
+		Files.write(durationsFile, Arrays.asList("First=100", "Second=corrupt"), StandardCharsets.UTF_8);
+
+		Properties durations = new ForkedTestPlanExecutor(1, durationsFile, Collections.emptyMap(),
+			new RecordingTestPlanExecutionListener(), new RecordingTestPlanExecutionListener()).readDurations();
+
+		Assert.assertTrue(durations.isEmpty());
+	}
+
+	@Test
+	public void shardRequestsRetainTheirElementsAndExecutionAttributes() throws IOException {
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		attributes.put("string", "value");
+		attributes.put("boolean", true);
+		attributes.put("integer", 42);
+		attributes.put("long", 42L);
+		ForkedShardRequest request = new ForkedShardRequest(Arrays.asList(FirstForkedStubTestCase.class.getName()),
+			Arrays.asList("other:container"), new HashSet<>(Arrays.asList("other:container#test")), attributes);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		request.writeTo(new DataOutputStream(bytes));
+		ForkedShardRequest copy = ForkedShardRequest.readFrom(
+			new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+		TestPlanSpecification specification = copy.toSpecification();
+		Assert.assertEquals(attributes, copy.getExecutionAttributes());
+		Assert.assertEquals(2, StreamSupport.stream(specification.spliterator(), false).count());
+		Assert.assertTrue(specification.acceptDescriptor(new StubTestDescriptor("other:container#test", "", true)));
+		Assert.assertFalse(specification.acceptDescriptor(new StubTestDescriptor("other:container#other", "", true)));
+	}
+
+	private static List<String> keys(List<ShardUnit> shard) {
+		return shard.stream().map(ShardUnit::getKey).collect(Collectors.toList());
+	}
+
+	private static class FailureRecordingListener implements TestPlanExecutionListener {
+
+		private final Map<String, Throwable> failures = new ConcurrentHashMap<>();
+
+		@Override
+		public void testFailed(TestDescriptor testDescriptor, Throwable t) {
+			this.failures.put(testDescriptor.getUniqueId(), t);
+		}
+	}
+
+	@StubTestClass
+	static class FirstForkedStubTestCase {
+
+		void fail() {
+			throw new IllegalArgumentException("expected failure");
+		}
+
+		void succeed() {
+		}
+	}
+
+	@StubTestClass
+	static class SecondForkedStubTestCase {
+
+		void succeed() {
+		}
+	}
+
+	@StubTestClass
+	static class ExitingForkedStubTestCase {
+
+		void exit() {
+			System.exit(3);
+		}
+	}
+
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import static org.junit.gen5.engine.TestPlanSpecification.build;
+import static org.junit.gen5.engine.TestPlanSpecification.forClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestPlanSpecificationElement;
+import org.junit.gen5.launcher.StubTestEngine.StubTestClass;
+
+/**
+ * Unit tests for {@link Launcher}.
+ *
+ * @since 5.0
+ */
+public class LauncherTests {
+
+	private static volatile CountDownLatch engineLatch;
+
+	@Test
+	public void executionAttributesArePassedToEngines() {
+		Launcher launcher = new Launcher();
+		launcher.setExecutionAttribute("parallel", Boolean.TRUE);
+
+		launcher.execute(build(forClass(SucceedingStubTestCase.class)));
+
+		Assert.assertEquals(Boolean.TRUE, StubTestEngine.lastExecutionRequest.getAttributes().get("parallel"));
+	}
+
+	@Test
+	public void concurrentlyExecutedEnginesNotifyTheirEventsInOrder() {
+		engineLatch = new CountDownLatch(2);
+		Launcher launcher = new Launcher();
+		RecordingTestPlanExecutionListener listener = new RecordingTestPlanExecutionListener();
+		launcher.registerTestPlanExecutionListeners(listener);
+		launcher.setConcurrentEngineExecutionEnabled(true);
+
+		launcher.execute(build(forClass(ConcurrentEnginesStubTestCase.class)));
+
+		List<String> events = listener.events;
+		Assert.assertEquals(10, events.size());
+		Assert.assertEquals("testPlanExecutionStarted", events.get(0));
+		Assert.assertEquals("testPlanExecutionFinished", events.get(events.size() - 1));
+		assertEngineEvents(events, StubTestEngine.ENGINE_ID);
+		assertEngineEvents(events, OtherStubTestEngine.ENGINE_ID);
+	}
+
+	@Test
+	public void finishedNotificationsAreDeliveredIfAnEngineFails() {
+		assertFinishedNotificationsAreDeliveredIfAnEngineFails(false);
+	}
+
+	@Test
+	public void finishedNotificationsAreDeliveredIfAConcurrentlyExecutedEngineFails() {
+		assertFinishedNotificationsAreDeliveredIfAnEngineFails(true);
+	}
+
+	@Test
+	public void pipelinedExecutionDeliversFinishedNotificationsIfAnEngineFails() {
+		RuntimeException failure = new IllegalStateException("engine failure");
+		StubTestEngine.executionFailure = failure;
+		Launcher launcher = new Launcher();
+		RecordingTestPlanExecutionListener listener = new RecordingTestPlanExecutionListener();
+		launcher.registerTestPlanExecutionListeners(listener);
+
+		try {
+			launcher.executePipelined(build(forClass(SucceedingStubTestCase.class)));
+			Assert.fail("exception expected");
+		}
+		catch (IllegalStateException ex) {
+			Assert.assertSame(failure, ex);
+		}
+
+		List<String> events = listener.events;
+		Assert.assertEquals("testPlanExecutionStarted", events.get(0));
+		Assert.assertEquals("testPlanExecutionStartedOnEngine:" + StubTestEngine.ENGINE_ID, events.get(1));
+		Assert.assertEquals("testPlanExecutionFinishedOnEngine:" + StubTestEngine.ENGINE_ID,
+			events.get(events.size() - 2));
+		Assert.assertEquals("testPlanExecutionFinished", events.get(events.size() - 1));
+	}
+
+	@Test
+	public void pipelinedExecutionStopsDiscoveryIfAnEngineFails() throws Exception {
+		RuntimeException failure = new IllegalStateException("engine failure");
+		StubTestEngine.executionFailure = failure;
+		List<TestPlanSpecificationElement> elements = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			elements.add(forClass(SucceedingStubTestCase.class));
+		}
+
+		try {
+			new Launcher().executePipelined(build(elements));
+			Assert.fail("exception expected");
+		}
+		catch (IllegalStateException ex) {
+			Assert.assertSame(failure, ex);
+		}
+
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().equals("junit-test-discovery")) {
+				thread.join(5000);
+				Assert.assertFalse("discovery thread is still running", thread.isAlive());
+			}
+		}
+	}
+
+	@Test
+	public void pipelinedExecutionMergesBatchesOfTheSameClassIntoTheTestPlan() {
+		Launcher launcher = new Launcher();
+
+		TestPlan testPlan = launcher.executePipelined(
+			build(forClass(SucceedingStubTestCase.class), forClass(SucceedingStubTestCase.NestedStubTestCase.class)));
+
+		String classId = StubTestEngine.ENGINE_ID + ":" + SucceedingStubTestCase.class.getName();
+		String nestedClassId = classId + "$" + SucceedingStubTestCase.NestedStubTestCase.class.getSimpleName();
+		TestDescriptor classDescriptor = testPlan.findByUniqueId(classId).get();
+		TestDescriptor nestedClassDescriptor = testPlan.findByUniqueId(nestedClassId).get();
+		TestDescriptor nestedMethodDescriptor = testPlan.findByUniqueId(nestedClassId + "#nested").get();
+		Assert.assertEquals(3, classDescriptor.getChildren().size());
+		Assert.assertSame(classDescriptor, nestedClassDescriptor.getParent().get());
+		Assert.assertSame(nestedClassDescriptor, nestedMethodDescriptor.getParent().get());
+	}
+
+	@Test
+	public void pipelinedExecutionNotifiesFoundTestsInTreeOrder() {
+		Launcher launcher = new Launcher();
+		RecordingTestPlanExecutionListener listener = new RecordingTestPlanExecutionListener();
+		launcher.registerTestPlanExecutionListeners(listener);
+
+		launcher.executePipelined(build(forClass(ManyMethodsStubTestCase.class)));
+
+		String classId = StubTestEngine.ENGINE_ID + ":" + ManyMethodsStubTestCase.class.getName();
+		List<String> foundEvents = listener.events.stream().filter(
+			event -> event.startsWith("dynamicTestFound:" + classId)).collect(Collectors.toList());
+		List<String> expectedEvents = new ArrayList<>();
+		for (String methodName : new String[] { "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf",
+				"hotel" }) {
+			expectedEvents.add("dynamicTestFound:" + classId + "#" + methodName);
+		}
+		Assert.assertEquals(expectedEvents, foundEvents);
+	}
+
+	@Test
+	public void asynchronousListenerDispatchDeliversAllNotificationsAndStopsIfAnEngineFails() {
+		RuntimeException failure = new IllegalStateException("engine failure");
+		StubTestEngine.executionFailure = failure;
+		Launcher launcher = new Launcher();
+		RecordingTestPlanExecutionListener listener = new RecordingTestPlanExecutionListener();
+		AtomicReference<Thread> dispatchThread = new AtomicReference<>();
+		launcher.registerTestPlanExecutionListeners(listener, new TestPlanExecutionListener() {
+
+			@Override
+			public void testPlanExecutionFinished(TestPlan testPlan) {
+				dispatchThread.set(Thread.currentThread());
+			}
+		});
+		launcher.enableAsynchronousListenerDispatch(1, BackPressurePolicy.BLOCK);
+
+		try {
+			launcher.execute(build(forClass(SucceedingStubTestCase.class)));
+			Assert.fail("exception expected");
+		}
+		catch (IllegalStateException ex) {
+			Assert.assertSame(failure, ex);
+		}
+
+		List<String> events = listener.events;
+		Assert.assertTrue(events.contains("testSucceeded:stub:" + SucceedingStubTestCase.class.getName() + "#first"));
+		Assert.assertEquals("testPlanExecutionFinished", events.get(events.size() - 1));
+		Assert.assertNotSame(Thread.currentThread(), dispatchThread.get());
+		Assert.assertFalse(dispatchThread.get().isAlive());
+	}
+
+	@After
+	public void resetStubTestEngines() {
+		StubTestEngine.executionFailure = null;
+	}
+
+	private void assertFinishedNotificationsAreDeliveredIfAnEngineFails(boolean concurrentEngineExecutionEnabled) {
+		RuntimeException failure = new IllegalStateException("engine failure");
+		StubTestEngine.executionFailure = failure;
+		Launcher launcher = new Launcher();
+		RecordingTestPlanExecutionListener listener = new RecordingTestPlanExecutionListener();
+		launcher.registerTestPlanExecutionListeners(listener);
+		launcher.setConcurrentEngineExecutionEnabled(concurrentEngineExecutionEnabled);
+
+		try {
+			launcher.execute(build(forClass(SucceedingStubTestCase.class)));
+			Assert.fail("exception expected");
+		}
+		catch (IllegalStateException ex) {
+			Assert.assertSame(failure, ex);
+		}
+
+		List<String> events = listener.events;
+		Assert.assertEquals("testPlanExecutionFinished", events.get(events.size() - 1));
+		for (String event : events) {
+			if (event.startsWith("testPlanExecutionStartedOnEngine:")) {
+				String engineId = event.substring(event.indexOf(':') + 1);
+				Assert.assertTrue(events.contains("testPlanExecutionFinishedOnEngine:" + engineId));
+			}
+		}
+	}
+
+	/**
+	 * Assert that the events of the supplied engine are delivered between its
+	 * started and finished notifications, each test's in order.
+	 */
+	private static void assertEngineEvents(List<String> events, String engineId) {
+		String classId = engineId + ":" + ConcurrentEnginesStubTestCase.class.getName();
+		List<String> engineEvents = events.stream().filter(
+			event -> event.endsWith(":" + engineId) || event.contains(":" + classId)).collect(Collectors.toList());
+
+		Assert.assertEquals(4, engineEvents.size());
+		Assert.assertEquals("testPlanExecutionStartedOnEngine:" + engineId, engineEvents.get(0));
+		Assert.assertEquals("testStarted:" + classId + "#awaitOtherEngine", engineEvents.get(1));
+		Assert.assertEquals("testSucceeded:" + classId + "#awaitOtherEngine", engineEvents.get(2));
+		Assert.assertEquals("testPlanExecutionFinishedOnEngine:" + engineId, engineEvents.get(3));
+	}
+
+	@StubTestClass
+	static class ConcurrentEnginesStubTestCase {
+
+		void awaitOtherEngine() throws InterruptedException {
+			engineLatch.countDown();
+			Assert.assertTrue("engines were not executed concurrently", engineLatch.await(5, TimeUnit.SECONDS));
+		}
+	}
+
+	@StubTestClass
+	static class ManyMethodsStubTestCase {
+
+		void alpha() {
+		}
+
+		void bravo() {
+		}
+
+		void charlie() {
+		}
+
+		void delta() {
+		}
+
+		void echo() {
+		}
+
+		void foxtrot() {
+		}
+
+		void golf() {
+		}
+
+		void hotel() {
+		}
+	}
+
+	@StubTestClass
+	static class SucceedingStubTestCase {
+
+		void first() {
+		}
+
+		void second() {
+		}
+
+		@StubTestClass
+		static class NestedStubTestCase {
+
+			void nested() {
+			}
+		}
+	}
+
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+/**
+ * Second instance of the {@link StubTestEngine} with a different ID, for
+ * testing the launcher with multiple engines.
+ *
+ * @since 5.0
+ */
+public class OtherStubTestEngine extends StubTestEngine {
+
+	static final String ENGINE_ID = "other-stub";
+
+	@Override
+	public String getId() {
+		return ENGINE_ID;
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestEngine;
+
+/**
+ * {@link TestPlanExecutionListener} that records all notifications as
+ * strings, e.g. {@code "testStarted:stub:com.example.Test#first"}.
+ *
+ * @since 5.0
+ */
+class RecordingTestPlanExecutionListener implements TestPlanExecutionListener {
+
+	final List<String> events = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void testPlanExecutionStarted(TestPlan testPlan) {
+		this.events.add("testPlanExecutionStarted");
+	}
+
+	@Override
+	public void testPlanExecutionFinished(TestPlan testPlan) {
+		this.events.add("testPlanExecutionFinished");
+	}
+
+	@Override
+	public void testPlanExecutionStartedOnEngine(TestPlan testPlan, TestEngine testEngine) {
+		this.events.add("testPlanExecutionStartedOnEngine:" + testEngine.getId());
+	}
+
+	@Override
+	public void testPlanExecutionFinishedOnEngine(TestPlan testPlan, TestEngine testEngine) {
+		this.events.add("testPlanExecutionFinishedOnEngine:" + testEngine.getId());
+	}
+
+	@Override
+	public void dynamicTestFound(TestDescriptor testDescriptor) {
+		this.events.add("dynamicTestFound:" + testDescriptor.getUniqueId());
+	}
+
+	@Override
+	public void testStarted(TestDescriptor testDescriptor) {
+		this.events.add("testStarted:" + testDescriptor.getUniqueId());
+	}
+
+	@Override
+	public void testSucceeded(TestDescriptor testDescriptor) {
+		this.events.add("testSucceeded:" + testDescriptor.getUniqueId());
+	}
+
+	@Override
+	public void testFailed(TestDescriptor testDescriptor, Throwable t) {
+		this.events.add("testFailed:" + testDescriptor.getUniqueId());
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+import org.junit.gen5.commons.util.ReflectionUtils;
+import org.junit.gen5.engine.AbstractTestDescriptor;
+import org.junit.gen5.engine.EngineDescriptor;
+import org.junit.gen5.engine.ExecutionRequest;
+import org.junit.gen5.engine.JavaSource;
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestEngine;
+import org.junit.gen5.engine.TestExecutionListener;
+import org.junit.gen5.engine.TestPlanSpecification;
+import org.junit.gen5.engine.TestPlanSpecificationElement;
+import org.junit.gen5.engine.TestPlanSpecificationElementVisitor;
+
+/**
+ * Minimal {@link TestEngine} for testing the launcher.
+ *
+ * <p>Discovers classes annotated with {@link StubTestClass @StubTestClass}
+ * that are specified by class, and treats each of their declared methods as
+ * a test that fails if invoking it on a new instance throws an exception.
+ * A nested class is discovered below its enclosing class if that is
+ * annotated as well. When discovering incrementally, each specification
+ * element yields a batch of its own.
+ *
+ * @since 5.0
+ */
+public class StubTestEngine implements TestEngine {
+
+	static final String ENGINE_ID = "stub";
+
+	/**
+	 * The most recent execution request, for verification.
+	 */
+	static volatile ExecutionRequest lastExecutionRequest;
+
+	/**
+	 * Failure to throw from {@link #execute}, if any, after the tests have
+	 * been executed.
+	 */
+	static volatile RuntimeException executionFailure;
+
+	@Target(ElementType.TYPE)
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface StubTestClass {
+	}
+
+	@Override
+	public String getId() {
+		return ENGINE_ID;
+	}
+
+	@Override
+	public void discoverTests(TestPlanSpecification specification, EngineDescriptor engineDescriptor) {
+		specification.accept(createResolver(engineDescriptor));
+	}
+
+	@Override
+	public void discoverTests(TestPlanSpecification specification, Consumer<EngineDescriptor> batchConsumer) {
+		for (TestPlanSpecificationElement element : specification) {
+			EngineDescriptor batch = new EngineDescriptor(this);
+			element.accept(createResolver(batch));
+			if (!batch.getChildren().isEmpty()) {
+				batchConsumer.accept(batch);
+			}
+		}
+	}
+
+	private TestPlanSpecificationElementVisitor createResolver(EngineDescriptor engineDescriptor) {
+		return new TestPlanSpecificationElementVisitor() {
+
+			@Override
+			public void visitClass(Class<?> testClass) {
+				if (testClass.isAnnotationPresent(StubTestClass.class)) {
+					engineDescriptor.addChild(createDescriptorWithEnclosingClasses(testClass));
+				}
+			}
+		};
+	}
+
+	private TestDescriptor createDescriptorWithEnclosingClasses(Class<?> testClass) {
+		TestDescriptor descriptor = createClassDescriptor(testClass);
+		Class<?> enclosingClass = testClass.getEnclosingClass();
+		while (enclosingClass != null && enclosingClass.isAnnotationPresent(StubTestClass.class)) {
+			StubTestDescriptor enclosingDescriptor = createContainerDescriptor(enclosingClass);
+			enclosingDescriptor.addChild(descriptor);
+			descriptor = enclosingDescriptor;
+			enclosingClass = enclosingClass.getEnclosingClass();
+		}
+		return descriptor;
+	}
+
+	private StubTestDescriptor createContainerDescriptor(Class<?> testClass) {
+		StubTestDescriptor classDescriptor = new StubTestDescriptor(getId() + ":" + testClass.getName(),
+			testClass.getSimpleName(), false);
+		classDescriptor.setJavaSource(new JavaSource(testClass));
+		return classDescriptor;
+	}
+
+	private TestDescriptor createClassDescriptor(Class<?> testClass) {
+		StubTestDescriptor classDescriptor = createContainerDescriptor(testClass);
+		Method[] methods = testClass.getDeclaredMethods();
+		Arrays.sort(methods, Comparator.comparing(Method::getName));
+		for (Method method : methods) {
+			if (!method.isSynthetic()) {
+				StubTestDescriptor methodDescriptor = new StubTestDescriptor(
+					classDescriptor.getUniqueId() + "#" + method.getName(), method.getName(), true);
+				methodDescriptor.setJavaSource(new JavaSource(method));
+				classDescriptor.addChild(methodDescriptor);
+			}
+		}
+		return classDescriptor;
+	}
+
+	@Override
+	public void execute(ExecutionRequest request) {
+		lastExecutionRequest = request;
+		request.getEngineDescriptor().accept((descriptor, remove) -> {
+			if (descriptor.isTest()) {
+				execute(descriptor, request.getTestExecutionListener());
+			}
+		});
+		if (executionFailure != null) {
+			throw executionFailure;
+		}
+	}
+
+	private static void execute(TestDescriptor descriptor, TestExecutionListener listener) {
+		listener.testStarted(descriptor);
+		Method method = ((JavaSource) descriptor.getSource().get()).getJavaMethod().get();
+		try {
+			ReflectionUtils.invokeMethod(method, ReflectionUtils.newInstance(method.getDeclaringClass()));
+			listener.testSucceeded(descriptor);
+		}
+		catch (Throwable t) {
+			listener.testFailed(descriptor, t);
+		}
+	}
+
+	static class StubTestDescriptor extends AbstractTestDescriptor {
+
+		private final String displayName;
+
+		private final boolean isTest;
+
+		StubTestDescriptor(String uniqueId, String displayName, boolean isTest) {
+			super(uniqueId);
+			this.displayName = displayName;
+			this.isTest = isTest;
+		}
+
+		void setJavaSource(JavaSource source) {
+			setSource(source);
+		}
+
+		@Override
+		public String getDisplayName() {
+			return this.displayName;
+		}
+
+		@Override
+		public boolean isTest() {
+			return this.isTest;
+		}
+	}
+
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.junit.gen5.engine.TestPlanSpecification.build;
+import static org.junit.gen5.engine.TestPlanSpecification.forClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.gen5.engine.AbstractTestDescriptor;
+import org.junit.gen5.engine.EngineDescriptor;
+import org.junit.gen5.engine.FileSystemSource;
+import org.junit.gen5.engine.FileSystemSource.FilePosition;
+import org.junit.gen5.engine.JavaSource;
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestPlanSpecification;
+import org.junit.gen5.engine.TestSource;
+import org.junit.gen5.engine.TestTag;
+import org.junit.gen5.launcher.StubTestEngine.StubTestClass;
+
+/**
+ * Unit tests for {@link TestPlanSnapshot}.
+ *
+ * @since 5.0
+ */
+public class TestPlanSnapshotTests {
+
+	private static final String CLASS_ID = "stub:" + SnapshotStubTestCase.class.getName();
+
+	@Test
+	public void snapshotsRetainDescriptorsWithTheirTagsAndSources() throws Exception {
+		TestPlan testPlan = createTestPlan();
+
+		TestPlan copy = TestPlanSnapshot.read(new ByteArrayInputStream(write(testPlan)));
+
+		Assert.assertEquals(describe(testPlan), describe(copy));
+		TestDescriptor method = copy.findByUniqueId(CLASS_ID + "#first").get();
+		Assert.assertEquals(SnapshotStubTestCase.class.getDeclaredMethod("first", String.class, int.class),
+			((JavaSource) method.getSource().get()).getJavaMethod().get());
+		Assert.assertSame(copy, method.getParent().get().getParent().get().getParent().get());
+	}
+
+	@Test
+	public void uniqueIdsAreStoredRelativeToTheirParentAndStringsOnlyOnce() throws Exception {
+		String snapshot = new String(write(createTestPlan()), ISO_8859_1);
+
+		Assert.assertEquals("unique IDs of children", 0, occurrences(snapshot, CLASS_ID + "#"));
+		Assert.assertEquals("unique ID suffix", 1, occurrences(snapshot, "#first"));
+		Assert.assertEquals("class name in unique ID and string table", 2,
+			occurrences(snapshot, SnapshotStubTestCase.class.getName()));
+		Assert.assertEquals("repeated display name", 1, occurrences(snapshot, "shared display name"));
+		Assert.assertEquals("repeated tag", 1, occurrences(snapshot, "fast"));
+	}
+
+	@Test
+	public void sourcesOfClassesThatCannotBeLoadedAreOmitted() throws Exception {
+		String className = SnapshotStubTestCase.class.getName();
+		// Same length, so that the length prefixes of the strings remain valid
+		String missingClassName = className.substring(0, className.length() - 1) + "_";
+		byte[] snapshot = new String(write(createTestPlan()), ISO_8859_1).replace(className,
+			missingClassName).getBytes(ISO_8859_1);
+
+		TestPlan copy = TestPlanSnapshot.read(new ByteArrayInputStream(snapshot));
+
+		String missingClassId = "stub:" + missingClassName;
+		TestDescriptor classDescriptor = copy.findByUniqueId(missingClassId).get();
+		Assert.assertEquals("SnapshotStubTestCase", classDescriptor.getDisplayName());
+		Assert.assertFalse(classDescriptor.getSource().isPresent());
+		Assert.assertFalse(copy.findByUniqueId(missingClassId + "#first").get().getSource().isPresent());
+	}
+
+	@Test
+	public void streamsWithoutSnapshotAreRejected() throws Exception {
+		assertReadFails(new byte[] { 'J', 'U', 'N', 'I', 'T' }, "Not a test plan snapshot");
+	}
+
+	@Test
+	public void snapshotsOfOtherVersionsAreRejected() throws Exception {
+		byte[] snapshot = write(createTestPlan());
+		snapshot[4] = 2;
+
+		assertReadFails(snapshot, "Unsupported test plan snapshot version 2");
+	}
+
+	@Test
+	public void truncatedSnapshotsAreRejected() throws Exception {
+		byte[] snapshot = write(createTestPlan());
+
+		for (int length = 0; length < snapshot.length; length++) {
+			assertReadFails(Arrays.copyOf(snapshot, length), "Truncated test plan snapshot");
+		}
+	}
+
+	@Test
+	public void stringsLongerThanTheSnapshotAreRejected() throws Exception {
+		// Engine ID with a length of Integer.MAX_VALUE but only four bytes
+		assertReadFails(snapshot(1, 0, 0xFF, 0xFF, 0xFF, 0xFF, 0x07, 's', 't', 'u', 'b'),
+			"Truncated test plan snapshot");
+	}
+
+	@Test
+	public void negativeLengthsAreRejected() throws Exception {
+		assertReadFails(snapshot(0xFF, 0xFF, 0xFF, 0xFF, 0x0F), "Negative engine count -1");
+	}
+
+	@Test
+	public void referencesBeyondTheStringTableAreRejected() throws Exception {
+		assertReadFails(snapshot(1, 2), "String reference 2 exceeds size 0 of string table");
+	}
+
+	@Test
+	public void uniqueIdPrefixesLongerThanTheParentUniqueIdAreRejected() throws Exception {
+		assertReadFails(snapshot(1, 0, 4, 's', 't', 'u', 'b', 1, 0, 5),
+			"Unique ID prefix length 5 exceeds length of parent unique ID 'stub'");
+	}
+
+	@Test
+	public void snapshotsWithTestsOfUnavailableEnginesAreRejected() throws Exception {
+		TestPlan testPlan = new TestPlan();
+		testPlan.addEngineDescriptor(new EngineDescriptor(new StubTestEngine() {
+
+			@Override
+			public String getId() {
+				return "unavailable";
+			}
+		}));
+		byte[] snapshot = write(testPlan);
+
+		try {
+			TestPlanSnapshot.read(new ByteArrayInputStream(snapshot));
+			Assert.fail("exception expected");
+		}
+		catch (IllegalStateException ex) {
+			Assert.assertEquals("No test engine with ID 'unavailable' is available", ex.getMessage());
+		}
+	}
+
+	@Test
+	public void specificationOfSnapshotDiscoversExactlyItsTests() throws Exception {
+		Launcher launcher = new Launcher();
+		TestPlanSpecification specification = build(forClass(SnapshotStubTestCase.class),
+			forClass(OtherSnapshotStubTestCase.class));
+		specification.filterWith(descriptor -> !descriptor.getUniqueId().endsWith("#second"));
+		TestPlan testPlan = launcher.discover(specification);
+
+		TestPlan copy = TestPlanSnapshot.read(new ByteArrayInputStream(write(testPlan)));
+		TestPlan rediscovered = launcher.discover(TestPlanSnapshot.toSpecification(copy));
+
+		Assert.assertEquals(describe(testPlan), describe(rediscovered));
+		Assert.assertTrue(rediscovered.findByUniqueId(CLASS_ID + "#first").isPresent());
+		Assert.assertFalse(rediscovered.findByUniqueId(CLASS_ID + "#second").isPresent());
+	}
+
+	/**
+	 * Create a test plan with descriptors of all kinds of sources, two tests
+	 * with the same display name and tags shared by several tests.
+	 */
+	private static TestPlan createTestPlan() throws NoSuchMethodException {
+		EngineDescriptor engineDescriptor = new EngineDescriptor(new StubTestEngine());
+		TestDescriptor classDescriptor = new SnapshotFixtureDescriptor(CLASS_ID, "SnapshotStubTestCase", false,
+			new JavaSource(SnapshotStubTestCase.class));
+		classDescriptor.addChild(new SnapshotFixtureDescriptor(CLASS_ID + "#first", "shared display name", true,
+			new JavaSource(SnapshotStubTestCase.class.getDeclaredMethod("first", String.class, int.class)), "fast",
+			"slow"));
+		classDescriptor.addChild(
+			new SnapshotFixtureDescriptor(CLASS_ID + "#second", "shared display name", true, null, "fast"));
+		engineDescriptor.addChild(classDescriptor);
+
+		TestDescriptor directoryDescriptor = new SnapshotFixtureDescriptor("stub:files", "files", false,
+			new FileSystemSource(new File("src/test/resources")));
+		directoryDescriptor.addChild(new SnapshotFixtureDescriptor("stub:files/test.txt", "test.txt", true,
+			new FileSystemSource(new File("src/test/resources/test.txt"), new FilePosition(3, 7)), "fast"));
+		engineDescriptor.addChild(directoryDescriptor);
+
+		TestPlan testPlan = new TestPlan();
+		testPlan.addEngineDescriptor(engineDescriptor);
+		return testPlan;
+	}
+
+	private static byte[] write(TestPlan testPlan) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TestPlanSnapshot.write(testPlan, out);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Create a snapshot of version 1 with the supplied bytes following the
+	 * version.
+	 */
+	private static byte[] snapshot(int... bytes) {
+		byte[] snapshot = new byte[5 + bytes.length];
+		snapshot[0] = 'J';
+		snapshot[1] = 'U';
+		snapshot[2] = 'T';
+		snapshot[3] = 'P';
+		snapshot[4] = 1;
+		for (int i = 0; i < bytes.length; i++) {
+			snapshot[5 + i] = (byte) bytes[i];
+		}
+		return snapshot;
+	}
+
+	private static void assertReadFails(byte[] snapshot, String expectedMessage) {
+		try {
+			TestPlanSnapshot.read(new ByteArrayInputStream(snapshot));
+			Assert.fail("exception expected");
+		}
+		catch (IOException ex) {
+			Assert.assertEquals(expectedMessage, ex.getMessage());
+		}
+	}
+
+	private static int occurrences(String string, String substring) {
+		int count = 0;
+		for (int index = string.indexOf(substring); index >= 0; index = string.indexOf(substring, index + 1)) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Describe all descriptors of the supplied test plan, sorted by unique ID.
+	 */
+	private static List<String> describe(TestPlan testPlan) {
+		List<String> descriptions = new ArrayList<>();
+		testPlan.getEngineDescriptors().forEach(engineDescriptor -> engineDescriptor.accept(
+			(descriptor, remove) -> descriptions.add(describe(descriptor))));
+		descriptions.sort(null);
+		return descriptions;
+	}
+
+	private static String describe(TestDescriptor descriptor) {
+		String parentId = descriptor.getParent().map(TestDescriptor::getUniqueId).orElse(null);
+		String tags = descriptor.getTags().stream().map(TestTag::getName).collect(Collectors.joining(","));
+		return descriptor.getUniqueId() + " parent=" + parentId + " name=" + descriptor.getDisplayName() + " test="
+				+ descriptor.isTest() + " tags=" + tags + " source=" + descriptor.getSource().map(
+					TestPlanSnapshotTests::describe).orElse(null);
+	}
+
+	private static String describe(TestSource source) {
+		if (source instanceof FileSystemSource) {
+			FileSystemSource fileSource = (FileSystemSource) source;
+			return fileSource.getFile().get() + " " + fileSource.getPosition();
+		}
+		return source.toString();
+	}
+
+	private static class SnapshotFixtureDescriptor extends AbstractTestDescriptor {
+
+		private final String displayName;
+
+		private final boolean isTest;
+
+		private final Set<TestTag> tags = new LinkedHashSet<>();
+
+		SnapshotFixtureDescriptor(String uniqueId, String displayName, boolean isTest, TestSource source,
+				String... tagNames) {
+			super(uniqueId);
+			this.displayName = displayName;
+			this.isTest = isTest;
+			if (source != null) {
+				setSource(source);
+			}
+			Arrays.stream(tagNames).map(TestTag::new).forEach(this.tags::add);
+		}
+
+		@Override
+		public String getDisplayName() {
+			return this.displayName;
+		}
+
+		@Override
+		public boolean isTest() {
+			return this.isTest;
+		}
+
+		@Override
+		public Set<TestTag> getTags() {
+			return this.tags;
+		}
+	}
+
+	@StubTestClass
+	static class SnapshotStubTestCase {
+
+		void first(String value, int count) {
+		}
+
+		void second() {
+		}
+	}
+
+	@StubTestClass
+	static class OtherSnapshotStubTestCase {
+
+		void first() {
+		}
+	}
+
+}
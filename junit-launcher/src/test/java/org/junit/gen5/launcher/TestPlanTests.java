@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.launcher;
+
+import static org.junit.gen5.engine.TestPlanSpecification.build;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.gen5.engine.EngineDescriptor;
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestPlanSpecification;
+import org.junit.gen5.launcher.StubTestEngine.StubTestDescriptor;
+
+/**
+ * Unit tests for {@link TestPlan}.
+ *
+ * @since 5.0
+ */
+public class TestPlanTests {
+
+	private final TestPlan testPlan = new TestPlan();
+
+	private final EngineDescriptor engineDescriptor = new EngineDescriptor(new StubTestEngine());
+
+	private final EngineDescriptor otherEngineDescriptor = new EngineDescriptor(new OtherStubTestEngine());
+
+	@Before
+	public void createTestPlan() {
+		TestDescriptor container = container(this.engineDescriptor, "stub:container");
+		test(container, "stub:container#accepted");
+		test(container, "stub:container#rejected");
+
+		TestDescriptor containerOfRejectedTests = container(this.engineDescriptor, "stub:rejectedTests");
+		test(containerOfRejectedTests, "stub:rejectedTests#rejected");
+		container(container(this.engineDescriptor, "stub:empty"), "stub:empty/nested");
+
+		TestDescriptor rejectedTest = test(this.engineDescriptor, "stub:parent#rejected");
+		test(rejectedTest, "stub:parent#rejected/accepted");
+		TestDescriptor acceptedTest = test(this.engineDescriptor, "stub:parent#accepted");
+		test(acceptedTest, "stub:parent#accepted/rejected");
+
+		test(container(this.otherEngineDescriptor, "other-stub:container"), "other-stub:container#rejected");
+
+		this.testPlan.addEngineDescriptor(this.engineDescriptor);
+		this.testPlan.addEngineDescriptor(this.otherEngineDescriptor);
+
+		TestPlanSpecification specification = build();
+		specification.filterWith(descriptor -> !descriptor.getUniqueId().endsWith("rejected"));
+		this.testPlan.applyFiltersAndPrune(specification);
+	}
+
+	@Test
+	public void rejectedTestsAreRemoved() {
+		assertRemoved("stub:container#rejected");
+		assertRetained("stub:container", "stub:container#accepted");
+	}
+
+	@Test
+	public void containersWithoutRemainingTestsAreRemovedWithTheirSubtree() {
+		assertRemoved("stub:rejectedTests", "stub:rejectedTests#rejected", "stub:empty", "stub:empty/nested");
+	}
+
+	@Test
+	public void rejectedTestsAreRemovedWithTheirChildren() {
+		assertRemoved("stub:parent#rejected", "stub:parent#rejected/accepted");
+	}
+
+	@Test
+	public void acceptedTestsAreRetainedWithoutTheirRejectedChildren() {
+		assertRetained("stub:parent#accepted");
+		assertRemoved("stub:parent#accepted/rejected");
+	}
+
+	@Test
+	public void enginesWithoutRemainingTestsAreRemoved() {
+		Assert.assertEquals(Arrays.asList(this.engineDescriptor), Arrays.asList(
+			this.testPlan.getEngineDescriptors().toArray()));
+		Assert.assertEquals(2, this.testPlan.countStaticTests());
+	}
+
+	private void assertRemoved(String... uniqueIds) {
+		Set<String> descriptorIds = collectUniqueIds();
+		for (String uniqueId : uniqueIds) {
+			Assert.assertFalse(uniqueId + " was not removed", descriptorIds.contains(uniqueId));
+			Assert.assertFalse(uniqueId + " can still be found", this.testPlan.findByUniqueId(uniqueId).isPresent());
+		}
+	}
+
+	private void assertRetained(String... uniqueIds) {
+		Set<String> descriptorIds = collectUniqueIds();
+		for (String uniqueId : uniqueIds) {
+			Assert.assertTrue(uniqueId + " was removed", descriptorIds.contains(uniqueId));
+			Assert.assertTrue(uniqueId + " cannot be found", this.testPlan.findByUniqueId(uniqueId).isPresent());
+		}
+	}
+
+	private Set<String> collectUniqueIds() {
+		Set<String> uniqueIds = new LinkedHashSet<>();
+		this.testPlan.accept((descriptor, remove) -> uniqueIds.add(descriptor.getUniqueId()));
+		return uniqueIds;
+	}
+
+	private static TestDescriptor container(TestDescriptor parent, String uniqueId) {
+		return addChild(parent, new StubTestDescriptor(uniqueId, uniqueId, false));
+	}
+
+	private static TestDescriptor test(TestDescriptor parent, String uniqueId) {
+		return addChild(parent, new StubTestDescriptor(uniqueId, uniqueId, true));
+	}
+
+	private static TestDescriptor addChild(TestDescriptor parent, TestDescriptor child) {
+		parent.addChild(child);
+		return child;
+	}
+
+}
@@ -10,8 +10,6 @@
 
 package org.junit.gen5.engine.junit4;
 
-import static org.junit.gen5.commons.util.ReflectionUtils.MethodSortOrder.HierarchyDown;
-
 import java.util.function.Predicate;
 
 import org.junit.gen5.commons.util.ReflectionUtils;
@@ -35,7 +33,7 @@ public class IsJUnit4TestClassWithTests implements Predicate<Class<?>> {
 	}
 
 	private boolean hasTestMethods(Class<?> testClassCandidate) {
-		return !ReflectionUtils.findMethods(testClassCandidate, isTestMethod, HierarchyDown).isEmpty();
+		return ReflectionUtils.anyMethodMatches(testClassCandidate, isTestMethod);
 	}
 
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit4;
+
+import java.util.function.Predicate;
+
+import org.junit.Test;
+import org.junit.gen5.commons.util.ClassFileInfo;
+import org.junit.runner.RunWith;
+
+/**
+ * Cheaply rejects class files that cannot be JUnit 4 test classes, before
+ * their classes are loaded.
+ *
+ * <p>Since JUnit 4 does not support meta-annotations, a class can only be
+ * a test class if it references {@link Test @Test} or {@link RunWith @RunWith}
+ * itself or inherits them from a superclass.
+ *
+ * @since 5.0
+ * @see IsJUnit4TestClassWithTests
+ */
+public class IsPotentialJUnit4TestClassFile implements Predicate<ClassFileInfo> {
+
+	@Override
+	public boolean test(ClassFileInfo candidate) {
+		return candidate.referencesType(Test.class.getName()) || candidate.referencesType(RunWith.class.getName())
+				|| candidate.hasSuperclassOtherThanObject();
+	}
+
+}
@@ -26,10 +26,14 @@ import org.junit.runner.Runner;
 @Data
 class JUnit4SpecificationResolver implements TestPlanSpecificationElementVisitor {
 
+	private static final IsPotentialJUnit4TestClassFile isPotentialTestClassFile = new IsPotentialJUnit4TestClassFile();
+
 	private static final IsJUnit4TestClassWithTests isJUnit4TestClassWithTests = new IsJUnit4TestClassWithTests();
 
 	private final EngineDescriptor engineDescriptor;
 
+	private final boolean parallelScanning;
+
 	// TODO support more TestPlanSpecificationElements/visit methods
 
 	@Override
@@ -54,14 +58,14 @@ class JUnit4SpecificationResolver implements TestPlanSpecificationElementVisitor
 
 	@Override
 	public void visitPackage(String packageName) {
-		ReflectionUtils.findAllClassesInPackage(packageName, isJUnit4TestClassWithTests).stream().forEach(
-			this::visitClass);
+		ReflectionUtils.findAllClassesInPackage(packageName, isPotentialTestClassFile,
+			isJUnit4TestClassWithTests, parallelScanning).stream().forEach(this::visitClass);
 	}
 
 	@Override
 	public void visitAllTests(File rootDirectory) {
-		ReflectionUtils.findAllClassesInClasspathRoot(rootDirectory, isJUnit4TestClassWithTests).stream().forEach(
-			this::visitClass);
+		ReflectionUtils.findAllClassesInClasspathRoot(rootDirectory, isPotentialTestClassFile,
+			isJUnit4TestClassWithTests, parallelScanning).stream().forEach(this::visitClass);
 	}
 
 	private void addRecursively(JUnit4TestDescriptor parent) {
@@ -40,7 +40,8 @@ public class JUnit4TestEngine implements TestEngine {
 
 	@Override
 	public void discoverTests(TestPlanSpecification specification, EngineDescriptor engineDescriptor) {
-		JUnit4SpecificationResolver resolver = new JUnit4SpecificationResolver(engineDescriptor);
+		JUnit4SpecificationResolver resolver = new JUnit4SpecificationResolver(engineDescriptor,
+			specification.isParallelDiscoveryEnabled());
 		specification.accept(resolver);
 		applyEngineFilters(specification.getEngineFilters(), engineDescriptor);
 	}
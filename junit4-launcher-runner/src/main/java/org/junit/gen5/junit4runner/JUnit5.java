@@ -20,6 +20,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -256,7 +257,7 @@ public class JUnit5 extends Runner {
 
 	private List<TestPlanSpecificationElement> getUniqueIdSpecificationElements() {
 		String[] uniqueIds = getAnnotatedUniqueIds(testClass);
-		return stream(uniqueIds).map(TestPlanSpecification::forUniqueId).collect(toList());
+		return TestPlanSpecification.forUniqueIds(Arrays.asList(uniqueIds));
 	}
 
 	@Override
@@ -22,7 +22,9 @@ import org.junit.gen5.api.extension.TestExecutionContext;
  * if a given test (e.g., class or method) should be executed based on the
  * supplied {@link TestExecutionContext}.
  *
- * <p>Implementations must provide a no-args constructor.
+ * <p>Implementations must provide a no-args constructor. A single instance
+ * of each implementation is shared across all tests, potentially across
+ * threads; implementations should therefore be stateless.
  *
  * @author Sam Brannen
  * @since 5.0
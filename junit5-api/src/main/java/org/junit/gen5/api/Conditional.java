@@ -20,6 +20,11 @@ import java.lang.annotation.Target;
  * {@code @Conditional} is used to register one or more {@link Condition
  * Conditions} to be evaluated for <em>conditional test execution</em>.
  *
+ * <p>If the registered conditions are {@linkplain #deterministic deterministic},
+ * the result of evaluating them is computed only once for the element on
+ * which {@code @Conditional} is declared and reused for all tests to which
+ * the declaration applies.
+ *
  * @author Sam Brannen
  * @since 5.0
  * @see Condition
@@ -36,4 +41,15 @@ public @interface Conditional {
 	 */
 	Class<? extends Condition>[]value();
 
+	/**
+	 * Whether the {@link Condition Conditions} are <em>deterministic</em>,
+	 * i.e. whether their results depend solely on the annotated test class
+	 * or test method and on the environment, but not on the individual test
+	 * being evaluated.
+	 *
+	 * <p>Results of deterministic conditions are cached. Defaults to
+	 * {@code false}.
+	 */
+	boolean deterministic() default false;
+
 }
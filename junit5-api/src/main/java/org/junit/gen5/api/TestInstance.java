@@ -40,6 +40,10 @@ public @interface TestInstance {
 		/**
 		 * When using this mode, a new test instance will be created once per test class.
 		 *
+		 * <p>Since all test methods share this instance, they are executed
+		 * sequentially even if the engine is configured to execute test
+		 * methods concurrently.
+		 *
 		 * @see #PER_METHOD
 		 */
 		PER_CLASS,
@@ -60,4 +64,18 @@ public @interface TestInstance {
 	 */
 	Lifecycle value();
 
+	/**
+	 * The number of test instances to create ahead of time when using the
+	 * {@link Lifecycle#PER_METHOD PER_METHOD} mode.
+	 *
+	 * <p>If greater than zero, test instances are constructed on a background
+	 * thread while the preceding test is being executed. Test instances are
+	 * still post-processed on the thread that executes the test. Test classes
+	 * whose constructors depend on thread-bound state should therefore not
+	 * enable prefetching. Nested test classes are never prefetched.
+	 *
+	 * <p>Defaults to {@code 0}, i.e. no prefetching.
+	 */
+	int prefetch() default 0;
+
 }
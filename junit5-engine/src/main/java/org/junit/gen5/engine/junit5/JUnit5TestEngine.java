@@ -10,9 +10,23 @@
 
 package org.junit.gen5.engine.junit5;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
 
 import org.junit.gen5.commons.util.Preconditions;
+import org.junit.gen5.engine.AbstractTestDescriptor;
 import org.junit.gen5.engine.ClassFilter;
 import org.junit.gen5.engine.EngineDescriptor;
 import org.junit.gen5.engine.EngineFilter;
@@ -21,12 +35,67 @@ import org.junit.gen5.engine.TestDescriptor;
 import org.junit.gen5.engine.TestEngine;
 import org.junit.gen5.engine.TestPlanSpecification;
 import org.junit.gen5.engine.TestPlanSpecificationElement;
+import org.junit.gen5.engine.TestPlanSpecificationElementVisitor;
 import org.junit.gen5.engine.junit5.descriptor.ClassTestDescriptor;
 import org.junit.gen5.engine.junit5.descriptor.SpecificationResolver;
 import org.junit.gen5.engine.junit5.execution.TestExecutionNodeBuilder;
 
 public class JUnit5TestEngine implements TestEngine {
 
+	/**
+	 * Name of the {@linkplain ExecutionRequest#getAttributes() execution request
+	 * attribute} used to enable parallel execution of top-level test classes.
+	 *
+	 * <p>Supported values are {@code Boolean.TRUE} or the string {@code "true"}.
+	 * Parallel execution is disabled by default.
+	 */
+	public static final String PARALLEL_EXECUTION_ATTRIBUTE = "junit5.execution.parallel";
+
+	/**
+	 * Name of the {@linkplain ExecutionRequest#getAttributes() execution request
+	 * attribute} used to configure the number of worker threads for parallel
+	 * execution.
+	 *
+	 * <p>Supported values are any {@link Number} or its string representation.
+	 * Defaults to the number of available processors.
+	 */
+	public static final String PARALLELISM_ATTRIBUTE = "junit5.execution.parallelism";
+
+	/**
+	 * Name of the {@linkplain ExecutionRequest#getAttributes() execution request
+	 * attribute} used to select the strategy for executing test methods.
+	 *
+	 * <p>By default, test methods are executed sequentially on the thread that
+	 * executes their test class. If set to {@link #VIRTUAL_THREAD_METHOD_EXECUTION},
+	 * each test method is executed on its own virtual thread, allowing many
+	 * blocking (e.g., I/O-bound) tests to overlap. The methods of test classes
+	 * annotated with {@code @TestInstance(PER_CLASS)} share a single test
+	 * instance and are therefore still executed sequentially.
+	 *
+	 * @see #METHOD_CONCURRENCY_ATTRIBUTE
+	 */
+	public static final String METHOD_EXECUTION_STRATEGY_ATTRIBUTE = "junit5.execution.methods.strategy";
+
+	/**
+	 * Value for the {@link #METHOD_EXECUTION_STRATEGY_ATTRIBUTE} that executes
+	 * each test method on a virtual thread.
+	 *
+	 * <p>On JDKs without support for virtual threads, a pool of platform
+	 * threads sized to the {@linkplain #METHOD_CONCURRENCY_ATTRIBUTE maximum
+	 * concurrency} is used instead.
+	 */
+	public static final String VIRTUAL_THREAD_METHOD_EXECUTION = "virtual-threads";
+
+	/**
+	 * Name of the {@linkplain ExecutionRequest#getAttributes() execution request
+	 * attribute} used to configure the maximum number of test methods that may
+	 * be executed concurrently when using {@link #VIRTUAL_THREAD_METHOD_EXECUTION}.
+	 *
+	 * <p>Supported values are any {@link Number} or its string representation.
+	 * Defaults to {@code 256}.
+	 */
+	public static final String METHOD_CONCURRENCY_ATTRIBUTE = "junit5.execution.methods.concurrency";
+
 	@Override
 	public String getId() {
 		// TODO Consider using class names for engine IDs.
@@ -41,14 +110,223 @@ public class JUnit5TestEngine implements TestEngine {
 		resolveSpecification(specification, engineDescriptor);
 	}
 
-	private void resolveSpecification(TestPlanSpecification specification, EngineDescriptor engineDescriptor) {
-		SpecificationResolver resolver = new SpecificationResolver(engineDescriptor);
+	/**
+	 * Discover tests incrementally, emitting a batch whenever a class, e.g.
+	 * one found while scanning a package, has been resolved.
+	 *
+	 * <p>Specification elements are resolved one after another. If a later
+	 * element specifies tests of a class that has already been emitted, they
+	 * are emitted in a batch of their own; tests that have already been
+	 * emitted are not emitted again.
+	 */
+	@Override
+	public void discoverTests(TestPlanSpecification specification, Consumer<EngineDescriptor> batchConsumer) {
+		Preconditions.notNull(specification, "specification must not be null");
+		Preconditions.notNull(batchConsumer, "batchConsumer must not be null");
+
+		EngineDescriptor pendingDescriptor = new EngineDescriptor(this);
+		SpecificationResolver resolver = new SpecificationResolver(pendingDescriptor,
+			specification.isParallelDiscoveryEnabled());
+		Set<String> emittedTestIds = new HashSet<>();
 		for (TestPlanSpecificationElement element : specification) {
-			resolver.resolveElement(element);
+			resolver.resolveElement(element,
+				() -> emitBatch(pendingDescriptor, specification, emittedTestIds, batchConsumer));
+		}
+	}
+
+	private void emitBatch(EngineDescriptor pendingDescriptor, TestPlanSpecification specification,
+			Set<String> emittedTestIds, Consumer<EngineDescriptor> batchConsumer) {
+
+		if (pendingDescriptor.getChildren().isEmpty()) {
+			return;
+		}
+		EngineDescriptor batch = new EngineDescriptor(this);
+		for (TestDescriptor child : new ArrayList<>(pendingDescriptor.getChildren())) {
+			pendingDescriptor.removeChild(child);
+			batch.addChild(child);
+		}
+		applyEngineFilters(specification.getEngineFilters(), batch);
+
+		batch.accept((descriptor, remove) -> {
+			if (descriptor.isTest() && !emittedTestIds.add(descriptor.getUniqueId()))
+				remove.run();
+		});
+		batch.accept((descriptor, remove) -> {
+			if (descriptor != batch && !descriptor.hasTests())
+				remove.run();
+		});
+		if (!batch.getChildren().isEmpty()) {
+			batchConsumer.accept(batch);
+		}
+	}
+
+	private void resolveSpecification(TestPlanSpecification specification, EngineDescriptor engineDescriptor) {
+		boolean parallel = specification.isParallelDiscoveryEnabled();
+		List<TestPlanSpecificationElement> elements = new ArrayList<>();
+		specification.forEach(elements::add);
+
+		List<List<TestPlanSpecificationElement>> partitions = (parallel ? partitionByTestClass(elements) : null);
+		if (parallel && partitions.size() > 1) {
+			resolveElementsInParallel(partitions, engineDescriptor);
+		}
+		else {
+			SpecificationResolver resolver = new SpecificationResolver(engineDescriptor, parallel);
+			for (TestPlanSpecificationElement element : elements) {
+				resolver.resolveElement(element);
+			}
 		}
 		applyEngineFilters(specification.getEngineFilters(), engineDescriptor);
 	}
 
+	/**
+	 * Partition the supplied elements so that elements specifying tests of the
+	 * same top-level class, be it by class, method or unique ID, are resolved
+	 * together and thus share the resolver's caches.
+	 *
+	 * <p>Each package or classpath root element forms a partition of its own.
+	 * Since it may contain any class, later elements are not added to
+	 * partitions that precede it. Partitions are ordered by their first
+	 * element.
+	 */
+	private static List<List<TestPlanSpecificationElement>> partitionByTestClass(
+			List<TestPlanSpecificationElement> elements) {
+
+		List<List<TestPlanSpecificationElement>> partitions = new ArrayList<>();
+		Map<String, List<TestPlanSpecificationElement>> openPartitionsByClassName = new HashMap<>();
+		for (TestPlanSpecificationElement element : elements) {
+			String className = topLevelClassName(element);
+			List<TestPlanSpecificationElement> partition = (className != null
+					? openPartitionsByClassName.get(className) : null);
+			if (partition == null) {
+				partition = new ArrayList<>();
+				partitions.add(partition);
+				if (className != null) {
+					openPartitionsByClassName.put(className, partition);
+				}
+				else {
+					openPartitionsByClassName.clear();
+				}
+			}
+			partition.add(element);
+		}
+		return partitions;
+	}
+
+	/**
+	 * @return the name of the top-level class whose tests the supplied element
+	 * specifies, or {@code null} for a package or classpath root element
+	 */
+	private static String topLevelClassName(TestPlanSpecificationElement element) {
+		String[] className = new String[1];
+		element.accept(new TestPlanSpecificationElementVisitor() {
+
+			@Override
+			public void visitClass(Class<?> testClass) {
+				className[0] = topLevelClass(testClass).getName();
+			}
+
+			@Override
+			public void visitMethod(Class<?> testClass, Method testMethod) {
+				className[0] = topLevelClass(testClass).getName();
+			}
+
+			@Override
+			public void visitUniqueId(String uniqueId) {
+				int start = uniqueId.indexOf(':') + 1;
+				int end = start;
+				while (end < uniqueId.length() && uniqueId.charAt(end) != '@' && uniqueId.charAt(end) != '#') {
+					end++;
+				}
+				className[0] = uniqueId.substring(start, end);
+			}
+		});
+		return className[0];
+	}
+
+	private static Class<?> topLevelClass(Class<?> testClass) {
+		Class<?> topLevelClass = testClass;
+		while (topLevelClass.getEnclosingClass() != null) {
+			topLevelClass = topLevelClass.getEnclosingClass();
+		}
+		return topLevelClass;
+	}
+
+	/**
+	 * Resolve each partition of elements into a separate descriptor tree
+	 * concurrently and merge the trees into the supplied engine descriptor in
+	 * the order of the partitions, yielding the same tree as resolving the
+	 * elements one after another.
+	 */
+	private void resolveElementsInParallel(List<List<TestPlanSpecificationElement>> partitions,
+			EngineDescriptor engineDescriptor) {
+
+		int threadCount = Math.min(partitions.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount, createThreadFactory());
+		try {
+			List<Future<EngineDescriptor>> futures = new ArrayList<>();
+			for (List<TestPlanSpecificationElement> partition : partitions) {
+				futures.add(executorService.submit(() -> {
+					EngineDescriptor partitionDescriptor = new EngineDescriptor(this);
+					SpecificationResolver resolver = new SpecificationResolver(partitionDescriptor, true);
+					for (TestPlanSpecificationElement element : partition) {
+						resolver.resolveElement(element);
+					}
+					return partitionDescriptor;
+				}));
+			}
+			for (Future<EngineDescriptor> future : futures) {
+				mergeChildren(future.get(), engineDescriptor, engineDescriptor);
+			}
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException("Test discovery failed", cause);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted during test discovery", ex);
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Move the children of {@code source} to {@code target}. Children already
+	 * present in the engine descriptor's tree are kept in place, and only
+	 * their own children are merged into them.
+	 */
+	private void mergeChildren(TestDescriptor source, AbstractTestDescriptor target,
+			EngineDescriptor engineDescriptor) {
+
+		for (TestDescriptor child : new ArrayList<>(source.getChildren())) {
+			Optional<TestDescriptor> existing = engineDescriptor.findByUniqueId(child.getUniqueId());
+			if (existing.isPresent()) {
+				mergeChildren(child, (AbstractTestDescriptor) existing.get(), engineDescriptor);
+			}
+			else {
+				source.removeChild(child);
+				target.addChild(child);
+			}
+		}
+	}
+
+	private static ThreadFactory createThreadFactory() {
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		return runnable -> {
+			Thread thread = new Thread(runnable, "junit5-test-discovery");
+			thread.setDaemon(true);
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		};
+	}
+
 	private void applyEngineFilters(List<EngineFilter> engineFilters, EngineDescriptor engineDescriptor) {
 		// TODO Currently only works with a single ClassFilter
 		if (engineFilters.isEmpty()) {
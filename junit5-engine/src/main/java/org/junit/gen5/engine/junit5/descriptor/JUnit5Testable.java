@@ -14,18 +14,16 @@ import java.lang.reflect.Method;
 
 abstract class JUnit5Testable {
 
-	private static final JUnit5TestableFactory testableFactory = new JUnit5TestableFactory();
-
 	static JUnit5Testable fromUniqueId(String uniqueId, String engineId) {
-		return testableFactory.fromUniqueId(uniqueId, engineId);
+		return new JUnit5TestableFactory(engineId).fromUniqueId(uniqueId);
 	}
 
 	static JUnit5Testable fromClass(Class<?> clazz, String engineId) {
-		return testableFactory.fromClass(clazz, engineId);
+		return new JUnit5TestableFactory(engineId).fromClass(clazz);
 	}
 
 	static JUnit5Testable fromMethod(Method testMethod, Class<?> clazz, String engineId) {
-		return testableFactory.fromMethod(testMethod, clazz, engineId);
+		return new JUnit5TestableFactory(engineId).fromMethod(testMethod, clazz);
 	}
 
 	private final String uniqueId;
@@ -13,10 +13,8 @@ package org.junit.gen5.engine.junit5.descriptor;
 import static org.junit.gen5.commons.util.ReflectionUtils.loadClass;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.junit.gen5.commons.util.ObjectUtils;
 import org.junit.gen5.commons.util.Preconditions;
@@ -26,89 +24,128 @@ import org.junit.gen5.engine.junit5.testers.IsPotentialTestClass;
 import org.junit.gen5.engine.junit5.testers.IsTestMethod;
 
 /**
+ * Creates {@link JUnit5Testable JUnit5Testables} for the test engine with
+ * a given ID.
+ *
+ * <p>A factory caches the testables it has resolved for classes and for
+ * unique ID prefixes as well as the parameter types it has loaded, so that
+ * unique IDs sharing a prefix, e.g. those of methods in the same class, do
+ * not load and check the same classes again. Factories are therefore not
+ * thread-safe and should not outlive a single discovery.
+ *
  * @since 5.0
  */
 class JUnit5TestableFactory {
 
-	private static final String SEPARATORS = ":@#";
-
 	private static final IsPotentialTestClass isPotentialTestClass = new IsPotentialTestClass();
 	private static final IsNestedTestClass isNestedTestClass = new IsNestedTestClass();
 	private static final IsTestMethod isTestMethod = new IsTestMethod();
 
-	JUnit5Testable fromUniqueId(String uniqueId, String engineId) {
-		Preconditions.notBlank(uniqueId, "Unique ID must not be null or empty");
-		List<String> parts = split(uniqueId);
-		Preconditions.condition(parts.remove(0).equals(engineId), "uniqueId must start with engineId");
+	private final String engineId;
+
+	private final Map<String, JUnit5Testable> testablesByUniqueIdPrefix = new HashMap<>();
+
+	private final Map<Class<?>, JUnit5Testable> testablesByClass = new HashMap<>();
 
-		return createTestable(uniqueId, engineId, parts, null);
+	private final Map<String, Class<?>> parameterTypesByName = new HashMap<>();
+
+	JUnit5TestableFactory(String engineId) {
+		Preconditions.notBlank(engineId, "Engine ID must not be null or empty");
+		this.engineId = engineId;
+	}
+
+	JUnit5Testable fromUniqueId(String uniqueId) {
+		Preconditions.notBlank(uniqueId, "Unique ID must not be null or empty");
+		int end = indexOfSeparator(uniqueId, 0);
+		Preconditions.condition(end == this.engineId.length() && uniqueId.startsWith(this.engineId),
+			"uniqueId must start with engineId");
+
+		JUnit5Testable last = null;
+		while (end < uniqueId.length()) {
+			int start = end;
+			end = indexOfSeparator(uniqueId, start + 1);
+			last = resolvePart(uniqueId, start, end, last);
+		}
+		return last;
 	}
 
-	JUnit5Testable fromClass(Class<?> clazz, String engineId) {
+	JUnit5Testable fromClass(Class<?> clazz) {
 		Preconditions.notNull(clazz, "clazz must not be null");
-		Preconditions.notBlank(engineId, "Engine ID must not be null or empty");
+		JUnit5Testable testable = this.testablesByClass.get(clazz);
+		if (testable == null) {
+			testable = createClassTestable(clazz);
+			this.testablesByClass.put(clazz, testable);
+		}
+		return testable;
+	}
+
+	private JUnit5Testable createClassTestable(Class<?> clazz) {
 		if (isPotentialTestClass.test(clazz)) {
-			String uniqueId = engineId + ":" + clazz.getName();
+			String uniqueId = this.engineId + ":" + clazz.getName();
 			return new JUnit5Class(uniqueId, clazz);
 		}
 		if (isNestedTestClass.test(clazz)) {
-			return createNestedClassTestable(clazz, clazz.getEnclosingClass(), engineId);
+			return createNestedClassTestable(clazz, clazz.getEnclosingClass());
 		}
 		throwCannotResolveClassException(clazz);
 		return null; //cannot happen
 	}
 
-	private JUnit5Testable createNestedClassTestable(Class<?> testClass, Class<?> container, String engineId) {
-		String uniqueId = fromClass(container, engineId).getUniqueId() + "@" + testClass.getSimpleName();
+	private JUnit5Testable createNestedClassTestable(Class<?> testClass, Class<?> container) {
+		String uniqueId = fromClass(container).getUniqueId() + "@" + testClass.getSimpleName();
 		return new JUnit5NestedClass(uniqueId, testClass, container);
 	}
 
-	JUnit5Testable fromMethod(Method testMethod, Class<?> clazz, String engineId) {
+	JUnit5Testable fromMethod(Method testMethod, Class<?> clazz) {
 		if (!isTestMethod.test(testMethod)) {
 			throwCannotResolveMethodException(testMethod);
 		}
-		String uniqueId = String.format("%s#%s(%s)", fromClass(clazz, engineId).getUniqueId(), testMethod.getName(),
+		String uniqueId = String.format("%s#%s(%s)", fromClass(clazz).getUniqueId(), testMethod.getName(),
 			ObjectUtils.nullSafeToString(testMethod.getParameterTypes()));
 		return new JUnit5Method(uniqueId, testMethod, clazz);
 	}
 
-	private List<String> split(String uniqueId) {
-		List<String> parts = new ArrayList<>();
-		String currentPart = "";
-		for (char c : uniqueId.toCharArray()) {
-			if (SEPARATORS.contains(Character.toString(c))) {
-				parts.add(currentPart);
-				currentPart = "";
+	/**
+	 * Find the next separator ({@code ':'}, {@code '@'} or {@code '#'}) at or
+	 * after {@code fromIndex}, or the length of the unique ID if there is none.
+	 */
+	private static int indexOfSeparator(String uniqueId, int fromIndex) {
+		for (int i = fromIndex; i < uniqueId.length(); i++) {
+			switch (uniqueId.charAt(i)) {
+				case ':':
+				case '@':
+				case '#':
+					return i;
 			}
-			currentPart += c;
 		}
-		parts.add(currentPart);
-		return parts;
+		return uniqueId.length();
 	}
 
-	private JUnit5Testable createTestable(String uniqueId, String engineId, List<String> parts, JUnit5Testable last) {
-		if (parts.isEmpty())
-			return last;
-		JUnit5Testable next = null;
-		String head = parts.remove(0);
-		switch (head.charAt(0)) {
+	private JUnit5Testable resolvePart(String uniqueId, int start, int end, JUnit5Testable last) {
+		String prefix = uniqueId.substring(0, end);
+		JUnit5Testable testable = this.testablesByUniqueIdPrefix.get(prefix);
+		if (testable == null) {
+			testable = createTestable(uniqueId, uniqueId.substring(start, end), last);
+			this.testablesByUniqueIdPrefix.put(prefix, testable);
+		}
+		return testable;
+	}
+
+	private JUnit5Testable createTestable(String uniqueId, String part, JUnit5Testable last) {
+		switch (part.charAt(0)) {
 			case ':':
-				next = fromClass(findTopLevelClass(head), engineId);
-				break;
+				return fromClass(findTopLevelClass(part));
 			case '@': {
 				Class<?> container = ((JUnit5Class) last).getJavaClass();
-				next = fromClass(findNestedClass(head, container), engineId);
-				break;
+				return fromClass(findNestedClass(part, container));
 			}
 			case '#': {
 				Class<?> container = ((JUnit5Class) last).getJavaClass();
-				next = fromMethod(findMethod(head, container, uniqueId), container, engineId);
-				break;
+				return fromMethod(findMethod(part, container, uniqueId), container);
 			}
 			default:
-				throw createCannotResolveUniqueIdException(uniqueId, head);
+				throw createCannotResolveUniqueIdException(uniqueId, part);
 		}
-		return createTestable(uniqueId, engineId, parts, next);
 	}
 
 	private Method findMethod(String methodSpecPart, Class<?> clazz, String uniqueId) {
@@ -126,13 +163,21 @@ class JUnit5TestableFactory {
 			return new Class<?>[0];
 		}
 
-		// @formatter:off
-		List<Class<?>> types = Arrays.stream(paramsPart.split(","))
-				.map(className -> loadRequiredClass(className, uniqueId, paramsPart))
-				.collect(Collectors.toList());
-		// @formatter:on
+		String[] classNames = paramsPart.split(",");
+		Class<?>[] types = new Class<?>[classNames.length];
+		for (int i = 0; i < classNames.length; i++) {
+			types[i] = loadParameterType(classNames[i].trim(), uniqueId, paramsPart);
+		}
+		return types;
+	}
 
-		return types.toArray(new Class<?>[types.size()]);
+	private Class<?> loadParameterType(String className, String fullUniqueId, String uniqueIdPart) {
+		Class<?> type = this.parameterTypesByName.get(className);
+		if (type == null) {
+			type = loadRequiredClass(className, fullUniqueId, uniqueIdPart);
+			this.parameterTypesByName.put(className, type);
+		}
+		return type;
 	}
 
 	private Method findMethod(Class<?> clazz, String methodName, Class<?>[] parameterTypes) {
@@ -17,15 +17,14 @@ import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Optional;
 
-import org.junit.gen5.commons.util.ReflectionUtils;
 import org.junit.gen5.engine.AbstractTestDescriptor;
 import org.junit.gen5.engine.EngineDescriptor;
 import org.junit.gen5.engine.TestDescriptor;
 import org.junit.gen5.engine.TestPlanSpecificationElement;
 import org.junit.gen5.engine.TestPlanSpecificationElementVisitor;
 import org.junit.gen5.engine.junit5.testers.IsNestedTestClass;
+import org.junit.gen5.engine.junit5.testers.IsPotentialTestClassFile;
 import org.junit.gen5.engine.junit5.testers.IsTestClassWithTests;
-import org.junit.gen5.engine.junit5.testers.IsTestMethod;
 
 /**
  * @since 5.0
@@ -34,15 +33,40 @@ public class SpecificationResolver {
 
 	private final EngineDescriptor engineDescriptor;
 
+	private final boolean parallelScanning;
+
+	private final JUnit5TestableFactory testableFactory;
+
 	private final IsNestedTestClass isNestedTestClass = new IsNestedTestClass();
-	private final IsTestMethod isTestMethod = new IsTestMethod();
-	private final IsTestClassWithTests isTestClassWithTests = new IsTestClassWithTests();
+	private final IsTestClassWithTests isTestClassWithTests = new IsTestClassWithTests(true);
+	private final IsPotentialTestClassFile isPotentialTestClassFile = new IsPotentialTestClassFile();
 
 	public SpecificationResolver(EngineDescriptor engineDescriptor) {
+		this(engineDescriptor, false);
+	}
+
+	/**
+	 * @param parallelScanning whether to scan packages and classpath roots
+	 * for test classes in parallel
+	 */
+	public SpecificationResolver(EngineDescriptor engineDescriptor, boolean parallelScanning) {
 		this.engineDescriptor = engineDescriptor;
+		this.parallelScanning = parallelScanning;
+		this.testableFactory = new JUnit5TestableFactory(engineDescriptor.getUniqueId());
 	}
 
 	public void resolveElement(TestPlanSpecificationElement element) {
+		resolveElement(element, () -> {
+		});
+	}
+
+	/**
+	 * Resolve the supplied element, invoking the supplied callback whenever
+	 * all descriptors resolved so far belong to complete class subtrees:
+	 * after each class found in a package or classpath root and after the
+	 * element has been resolved.
+	 */
+	public void resolveElement(TestPlanSpecificationElement element, Runnable subtreesResolvedCallback) {
 		element.accept(new TestPlanSpecificationElementVisitor() {
 
 			@Override
@@ -62,29 +86,36 @@ public class SpecificationResolver {
 
 			@Override
 			public void visitPackage(String packageName) {
-				findAllClassesInPackage(packageName, isTestClassWithTests).stream().forEach(this::visitClass);
+				forEachClassInPackage(packageName, isPotentialTestClassFile, isTestClassWithTests, parallelScanning,
+					this::visitClassAndNotify);
 			}
 
 			@Override
 			public void visitAllTests(File rootDirectory) {
-				ReflectionUtils.findAllClassesInClasspathRoot(rootDirectory, isTestClassWithTests).stream().forEach(
-					this::visitClass);
+				forEachClassInClasspathRoot(rootDirectory, isPotentialTestClassFile, isTestClassWithTests,
+					parallelScanning, this::visitClassAndNotify);
+			}
+
+			private void visitClassAndNotify(Class<?> testClass) {
+				visitClass(testClass);
+				subtreesResolvedCallback.run();
 			}
 		});
+		subtreesResolvedCallback.run();
 	}
 
 	private void resolveClassSpecification(Class<?> testClass) {
-		JUnit5Testable testable = JUnit5Testable.fromClass(testClass, engineDescriptor.getUniqueId());
+		JUnit5Testable testable = testableFactory.fromClass(testClass);
 		resolveTestable(testable);
 	}
 
 	private void resolveMethodSpecification(Class<?> testClass, Method testMethod) {
-		JUnit5Testable testable = JUnit5Testable.fromMethod(testMethod, testClass, engineDescriptor.getUniqueId());
+		JUnit5Testable testable = testableFactory.fromMethod(testMethod, testClass);
 		resolveTestable(testable);
 	}
 
 	private void resolveUniqueIdSpecification(String uniqueId) {
-		JUnit5Testable testable = JUnit5Testable.fromUniqueId(uniqueId, engineDescriptor.getUniqueId());
+		JUnit5Testable testable = testableFactory.fromUniqueId(uniqueId);
 		resolveTestable(testable);
 	}
 
@@ -113,7 +144,7 @@ public class SpecificationResolver {
 	}
 
 	private void resolveMethodTestable(Method method, Class<?> testClass, String uniqueId) {
-		JUnit5Testable parentTestable = JUnit5Testable.fromClass(testClass, engineDescriptor.getUniqueId());
+		JUnit5Testable parentTestable = testableFactory.fromClass(testClass);
 		TestDescriptor newParentDescriptor = resolveAndReturnParentTestable(parentTestable);
 		MethodTestDescriptor descriptor = getOrCreateMethodDescriptor(method, uniqueId);
 		newParentDescriptor.addChild(descriptor);
@@ -132,7 +163,7 @@ public class SpecificationResolver {
 
 	private void resolveNestedClassTestable(String uniqueId, Class<?> testClass, Class<?> containerClass,
 			boolean withChildren) {
-		JUnit5Testable containerTestable = JUnit5Testable.fromClass(containerClass, engineDescriptor.getUniqueId());
+		JUnit5Testable containerTestable = testableFactory.fromClass(containerClass);
 		TestDescriptor parentDescriptor = resolveAndReturnParentTestable(containerTestable);
 		NestedClassTestDescriptor descriptor = getOrCreateNestedClassDescriptor(testClass, uniqueId);
 		parentDescriptor.addChild(descriptor);
@@ -153,11 +184,9 @@ public class SpecificationResolver {
 	}
 
 	private void resolveContainedTestMethods(Class<?> testClass, AbstractTestDescriptor parentDescriptor) {
-		List<Method> testMethodCandidates = findMethods(testClass, isTestMethod,
-			ReflectionUtils.MethodSortOrder.HierarchyDown);
+		List<Method> testMethodCandidates = isTestClassWithTests.takeTestMethods(testClass);
 		for (Method method : testMethodCandidates) {
-			JUnit5Testable methodTestable = JUnit5Testable.fromMethod(method, testClass,
-				engineDescriptor.getUniqueId());
+			JUnit5Testable methodTestable = testableFactory.fromMethod(method, testClass);
 			MethodTestDescriptor methodDescriptor = getOrCreateMethodDescriptor(method, methodTestable.getUniqueId());
 			parentDescriptor.addChild(methodDescriptor);
 		}
@@ -166,7 +195,7 @@ public class SpecificationResolver {
 	private void resolveContainedNestedClasses(Class<?> clazz) {
 		List<Class<?>> nestedClasses = findInnerClasses(clazz, isNestedTestClass);
 		for (Class<?> nestedClass : nestedClasses) {
-			JUnit5Testable nestedClassTestable = JUnit5Testable.fromClass(nestedClass, engineDescriptor.getUniqueId());
+			JUnit5Testable nestedClassTestable = testableFactory.fromClass(nestedClass);
 			resolveTestable(nestedClassTestable);
 		}
 	}
@@ -11,27 +11,26 @@
 package org.junit.gen5.engine.junit5.execution;
 
 import static java.util.stream.Collectors.toList;
-import static org.junit.gen5.commons.util.AnnotationUtils.findAnnotatedMethods;
 import static org.junit.gen5.commons.util.ReflectionUtils.invokeMethod;
 import static org.junit.gen5.commons.util.ReflectionUtils.newInstance;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.junit.gen5.api.AfterAll;
-import org.junit.gen5.api.AfterEach;
 import org.junit.gen5.api.BeforeAll;
-import org.junit.gen5.api.BeforeEach;
 import org.junit.gen5.api.Condition.Result;
-import org.junit.gen5.api.TestInstance;
 import org.junit.gen5.api.TestInstance.Lifecycle;
 import org.junit.gen5.api.extension.BeforeEachCallbacks;
 import org.junit.gen5.api.extension.InstancePostProcessor;
 import org.junit.gen5.api.extension.TestExecutionContext;
-import org.junit.gen5.commons.util.AnnotationUtils;
-import org.junit.gen5.commons.util.ReflectionUtils.MethodSortOrder;
 import org.junit.gen5.engine.ExecutionRequest;
 import org.junit.gen5.engine.junit5.descriptor.ClassTestDescriptor;
 
@@ -44,8 +43,11 @@ class ClassExecutionNode extends TestExecutionNode {
 
 	private final ClassTestDescriptor testDescriptor;
 
-	ClassExecutionNode(ClassTestDescriptor testDescriptor) {
+	private final ClassLifecycleMetadata lifecycleMetadata;
+
+	ClassExecutionNode(ClassTestDescriptor testDescriptor, ClassLifecycleMetadata lifecycleMetadata) {
 		this.testDescriptor = testDescriptor;
+		this.lifecycleMetadata = lifecycleMetadata;
 	}
 
 	@Override
@@ -53,72 +55,131 @@ class ClassExecutionNode extends TestExecutionNode {
 		return this.testDescriptor;
 	}
 
+	ClassLifecycleMetadata getLifecycleMetadata() {
+		return this.lifecycleMetadata;
+	}
+
+	@Override
+	TestExecutionContext createExecutionContext(TestExecutionContext parentContext, Object testInstance) {
+		return new DescriptorBasedTestExecutionContext(getTestDescriptor(), parentContext, testInstance,
+			this.lifecycleMetadata.getExtensionClasses());
+	}
+
 	@Override
 	void execute(ExecutionRequest request, TestExecutionContext context) {
-		if (isTestDisabled(request, context)) {
+		if (isTestDisabled(request, context, this.lifecycleMetadata.getConditional())) {
 			// Abort execution of the test completely at this point.
 			return;
 		}
 
-		boolean instancePerClass = isInstancePerClassMode(context.getTestClass().get());
+		boolean instancePerClass = (this.lifecycleMetadata.getLifecycle() == Lifecycle.PER_CLASS);
 		if (instancePerClass) {
 			createTestInstanceAndUpdateContext(context);
 		}
 
+		ConcurrentMethodExecutor methodExecutor = getMethodExecutor();
+		List<Future<?>> concurrentExecutions = new ArrayList<>();
+		TestInstancePool instancePool = null;
+
 		try {
 			executeBeforeAllMethods(context);
-			for (TestExecutionNode child : getChildren()) {
+			if (!instancePerClass && this.lifecycleMetadata.getPrefetchCount() > 0) {
+				instancePool = createTestInstancePool(this.lifecycleMetadata.getPrefetchCount(), getChildCount());
+			}
+			for (int i = 0; i < getChildCount(); i++) {
+				TestExecutionNode child = getChild(i);
+				TestExecutionContext instanceContext = context;
 				if (!instancePerClass) {
-					createTestInstanceAndUpdateContext(context);
+					// Each test gets its own context; the class context is never modified.
+					instanceContext = ((DescriptorBasedTestExecutionContext) context).createInstanceContext();
+					if (instancePool != null) {
+						createTestInstanceAndUpdateContext(instanceContext, instancePool::take);
+					}
+					else {
+						createTestInstanceAndUpdateContext(instanceContext);
+					}
+				}
+				Object testInstance = instanceContext.getTestInstance().orElse(null);
+				// Methods sharing a single test instance are never executed concurrently.
+				if (methodExecutor != null && !instancePerClass && child instanceof MethodExecutionNode) {
+					TestExecutionContext childParentContext = instanceContext;
+					concurrentExecutions.add(methodExecutor.submit(
+						() -> executeChildReportingFailures(child, request, childParentContext, testInstance)));
+				}
+				else {
+					executeChild(child, request, instanceContext, testInstance);
 				}
-				executeChild(child, request, context, context.getTestInstance().orElse(null));
 			}
 		}
 		catch (Exception e) {
 			request.getTestExecutionListener().testFailed(getTestDescriptor(), e);
 		}
 		finally {
-			if (!instancePerClass) {
-				((DescriptorBasedTestExecutionContext) context).setTestInstance(null);
+			if (instancePool != null) {
+				instancePool.close();
 			}
+			awaitCompletion(concurrentExecutions);
 			executeAfterAllMethods(request, context);
 		}
 	}
 
+	/**
+	 * Execute the supplied child on the current thread, reporting any exception
+	 * as a failure of this test class &mdash; analogous to sequential execution.
+	 */
+	private void executeChildReportingFailures(TestExecutionNode child, ExecutionRequest request,
+			TestExecutionContext context, Object testInstance) {
+		try {
+			executeChild(child, request, context, testInstance);
+		}
+		catch (Exception e) {
+			request.getTestExecutionListener().testFailed(getTestDescriptor(), e);
+		}
+	}
+
+	/**
+	 * Wait for all concurrently executing test methods of this class to
+	 * complete, so that {@code @AfterAll} methods are executed last.
+	 */
+	private void awaitCompletion(List<Future<?>> concurrentExecutions) {
+		for (Future<?> execution : concurrentExecutions) {
+			try {
+				execution.get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				concurrentExecutions.forEach(pending -> pending.cancel(true));
+				return;
+			}
+			catch (ExecutionException e) {
+				// Failures have already been reported to the listener.
+			}
+		}
+	}
+
 	@Override
 	protected String buildTestSkippedMessage(Result result, TestExecutionContext context) {
 		return String.format("Skipped test class [%s]; reason: %s", context.getTestClass().get().getName(),
 			result.getReason().orElse("unknown"));
 	}
 
-	private boolean isInstancePerClassMode(Class<?> testClass) {
-		// @formatter:off
-		return AnnotationUtils.findAnnotation(testClass, TestInstance.class)
-				.map(TestInstance::value)
-				.map(lifecycle -> (lifecycle == Lifecycle.PER_CLASS))
-				.orElse(false);
-		// @formatter:on
-	}
-
 	private void executeBeforeAllMethods(TestExecutionContext context) throws Exception {
-		Class<?> testClass = context.getTestClass().get();
 		Object testInstance = context.getTestInstance().orElse(null);
 
 		Class<BeforeAll> annotationType = BeforeAll.class;
-		for (Method method : findAnnotatedMethods(testClass, annotationType, MethodSortOrder.HierarchyDown)) {
+		for (Method method : this.lifecycleMetadata.getBeforeAllMethods()) {
 			validateBeforeAllOrAfterAllMethod(annotationType, method, testInstance);
 			invokeMethod(method, testInstance);
 		}
 	}
 
 	private void executeAfterAllMethods(ExecutionRequest request, TestExecutionContext context) {
-		Class<?> testClass = context.getTestClass().get();
 		Object testInstance = context.getTestInstance().orElse(null);
 
 		Class<AfterAll> annotationType = AfterAll.class;
 		Exception exceptionDuringAfterAll = null;
 
-		for (Method method : findAnnotatedMethods(testClass, annotationType, MethodSortOrder.HierarchyUp)) {
+		for (Method method : this.lifecycleMetadata.getAfterAllMethods()) {
 			try {
 				validateBeforeAllOrAfterAllMethod(annotationType, method, testInstance);
 				invokeMethod(method, testInstance);
@@ -152,9 +213,13 @@ class ClassExecutionNode extends TestExecutionNode {
 	 * it, and update the test instance in the supplied context.
 	 */
 	protected void createTestInstanceAndUpdateContext(TestExecutionContext context) {
+		createTestInstanceAndUpdateContext(context, () -> newInstance(getTestDescriptor().getTestClass()));
+	}
+
+	private void createTestInstanceAndUpdateContext(TestExecutionContext context, Callable<Object> instanceFactory) {
 		final Class<?> testClass = getTestDescriptor().getTestClass();
 		try {
-			Object testInstance = newInstance(testClass);
+			Object testInstance = instanceFactory.call();
 			((DescriptorBasedTestExecutionContext) context).setTestInstance(testInstance);
 		}
 		catch (Exception ex) {
@@ -166,6 +231,22 @@ class ClassExecutionNode extends TestExecutionNode {
 		postProcessTestInstance(context);
 	}
 
+	/**
+	 * Create a pool that prefetches the supplied number of test instances
+	 * using the {@linkplain #getInstancePrefetchExecutor shared executor}.
+	 *
+	 * @return the pool, or {@code null} if this node does not support
+	 * prefetching test instances
+	 */
+	protected TestInstancePool createTestInstancePool(int prefetchCount, int instanceCount) {
+		ExecutorService executorService = getInstancePrefetchExecutor();
+		if (executorService == null) {
+			return null;
+		}
+		return new TestInstancePool(getTestDescriptor().getTestClass(), prefetchCount, instanceCount,
+			executorService);
+	}
+
 	protected void postProcessTestInstance(TestExecutionContext context) {
 		try {
 			// @formatter:off
@@ -198,8 +279,7 @@ class ClassExecutionNode extends TestExecutionNode {
 	}
 
 	protected List<Method> getBeforeEachMethods() {
-		return findAnnotatedMethods(getTestDescriptor().getTestClass(), BeforeEach.class,
-			MethodSortOrder.HierarchyDown);
+		return this.lifecycleMetadata.getBeforeEachMethods();
 	}
 
 	@Override
@@ -213,7 +293,7 @@ class ClassExecutionNode extends TestExecutionNode {
 	}
 
 	protected List<Method> getAfterEachMethods() {
-		return findAnnotatedMethods(getTestDescriptor().getTestClass(), AfterEach.class, MethodSortOrder.HierarchyUp);
+		return this.lifecycleMetadata.getAfterEachMethods();
 	}
 
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+import static java.util.Collections.unmodifiableList;
+import static org.junit.gen5.commons.util.AnnotationUtils.findAnnotatedMethods;
+import static org.junit.gen5.commons.util.AnnotationUtils.findAnnotation;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.gen5.api.AfterAll;
+import org.junit.gen5.api.AfterEach;
+import org.junit.gen5.api.BeforeAll;
+import org.junit.gen5.api.BeforeEach;
+import org.junit.gen5.api.Conditional;
+import org.junit.gen5.api.TestInstance;
+import org.junit.gen5.api.TestInstance.Lifecycle;
+import org.junit.gen5.api.extension.ExtendWith;
+import org.junit.gen5.api.extension.TestExtension;
+import org.junit.gen5.commons.util.Preconditions;
+import org.junit.gen5.commons.util.ReflectionUtils.MethodSortOrder;
+
+/**
+ * {@code ClassLifecycleMetadata} captures the lifecycle-related metadata of
+ * a test class that is needed repeatedly during its execution, such as its
+ * {@code @BeforeEach} methods, so that the class hierarchy is only searched
+ * once per test class instead of once per test method.
+ *
+ * @since 5.0
+ * @see TestExecutionNodeBuilder
+ */
+class ClassLifecycleMetadata {
+
+	static ClassLifecycleMetadata forClass(Class<?> testClass) {
+		Preconditions.notNull(testClass, "testClass must not be null");
+		return new ClassLifecycleMetadata(testClass);
+	}
+
+	private final Lifecycle lifecycle;
+
+	private final int prefetchCount;
+
+	private final List<Method> beforeAllMethods;
+
+	private final List<Method> afterAllMethods;
+
+	private final List<Method> beforeEachMethods;
+
+	private final List<Method> afterEachMethods;
+
+	private final Optional<Conditional> conditional;
+
+	private final List<Class<? extends TestExtension>> extensionClasses;
+
+	private ClassLifecycleMetadata(Class<?> testClass) {
+		Optional<TestInstance> testInstance = findAnnotation(testClass, TestInstance.class);
+		this.lifecycle = testInstance.map(TestInstance::value).orElse(Lifecycle.PER_METHOD);
+		this.prefetchCount = testInstance.map(TestInstance::prefetch).orElse(0);
+		this.beforeAllMethods = unmodifiableList(
+			findAnnotatedMethods(testClass, BeforeAll.class, MethodSortOrder.HierarchyDown));
+		this.afterAllMethods = unmodifiableList(
+			findAnnotatedMethods(testClass, AfterAll.class, MethodSortOrder.HierarchyUp));
+		this.beforeEachMethods = unmodifiableList(
+			findAnnotatedMethods(testClass, BeforeEach.class, MethodSortOrder.HierarchyDown));
+		this.afterEachMethods = unmodifiableList(
+			findAnnotatedMethods(testClass, AfterEach.class, MethodSortOrder.HierarchyUp));
+		this.conditional = findAnnotation(testClass, Conditional.class);
+		this.extensionClasses = unmodifiableList(DescriptorBasedTestExecutionContext.findExtensionClasses(testClass));
+	}
+
+	/**
+	 * Get the {@link Lifecycle} configured via {@link TestInstance @TestInstance},
+	 * defaulting to {@link Lifecycle#PER_METHOD PER_METHOD}.
+	 */
+	Lifecycle getLifecycle() {
+		return this.lifecycle;
+	}
+
+	/**
+	 * Get the number of test instances to create ahead of time, configured
+	 * via {@link TestInstance#prefetch()}.
+	 */
+	int getPrefetchCount() {
+		return this.prefetchCount;
+	}
+
+	List<Method> getBeforeAllMethods() {
+		return this.beforeAllMethods;
+	}
+
+	List<Method> getAfterAllMethods() {
+		return this.afterAllMethods;
+	}
+
+	List<Method> getBeforeEachMethods() {
+		return this.beforeEachMethods;
+	}
+
+	List<Method> getAfterEachMethods() {
+		return this.afterEachMethods;
+	}
+
+	/**
+	 * Get the class-level {@link Conditional @Conditional} declaration, if any.
+	 */
+	Optional<Conditional> getConditional() {
+		return this.conditional;
+	}
+
+	/**
+	 * Get the extension classes registered via {@link ExtendWith @ExtendWith}
+	 * on the test class, in declaration order.
+	 */
+	List<Class<? extends TestExtension>> getExtensionClasses() {
+		return this.extensionClasses;
+	}
+
+}
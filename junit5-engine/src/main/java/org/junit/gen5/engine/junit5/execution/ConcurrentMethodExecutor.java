@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.junit.gen5.commons.util.Preconditions;
+import org.junit.gen5.commons.util.ReflectionUtils;
+
+/**
+ * {@code ConcurrentMethodExecutor} executes test methods on separate threads
+ * while limiting the number of methods that may run at the same time.
+ *
+ * <p>Virtual threads are used if the current JDK supports them; otherwise,
+ * methods are executed in a pool of platform threads sized to the maximum
+ * concurrency.
+ *
+ * @since 5.0
+ */
+class ConcurrentMethodExecutor {
+
+	private static final Logger LOG = Logger.getLogger(ConcurrentMethodExecutor.class.getName());
+
+	private final ExecutorService executorService;
+
+	private final Semaphore permits;
+
+	ConcurrentMethodExecutor(int maxConcurrency) {
+		Preconditions.condition(maxConcurrency > 0, "maxConcurrency must be greater than zero");
+
+		this.permits = new Semaphore(maxConcurrency);
+		this.executorService = createVirtualThreadExecutor().orElseGet(
+			() -> createPlatformThreadExecutor(maxConcurrency));
+	}
+
+	/**
+	 * Submit the supplied task for execution, blocking until a concurrency
+	 * permit is available.
+	 *
+	 * <p>The permit is acquired before the task is handed to the executor,
+	 * so that no more threads are created than tasks may run at a time.
+	 */
+	Future<?> submit(Runnable task) {
+		this.permits.acquireUninterruptibly();
+		try {
+			return this.executorService.submit(() -> {
+				try {
+					task.run();
+				}
+				finally {
+					this.permits.release();
+				}
+			});
+		}
+		catch (RuntimeException ex) {
+			this.permits.release();
+			throw ex;
+		}
+	}
+
+	void shutdown() {
+		this.executorService.shutdown();
+	}
+
+	private static Optional<ExecutorService> createVirtualThreadExecutor() {
+		Optional<Method> factoryMethod = ReflectionUtils.findMethod(Executors.class, "newVirtualThreadPerTaskExecutor");
+		if (!factoryMethod.isPresent()) {
+			LOG.fine("Virtual threads are not supported by this JDK; falling back to platform threads.");
+			return Optional.empty();
+		}
+		return Optional.of((ExecutorService) ReflectionUtils.invokeMethod(factoryMethod.get(), null));
+	}
+
+	private static ExecutorService createPlatformThreadExecutor(int maxConcurrency) {
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "junit5-method-executor-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		};
+		return Executors.newFixedThreadPool(maxConcurrency, threadFactory);
+	}
+
+}
@@ -12,8 +12,11 @@ package org.junit.gen5.engine.junit5.execution;
 
 import static org.junit.gen5.commons.util.AnnotationUtils.findAnnotation;
 
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.gen5.api.Condition;
 import org.junit.gen5.api.Condition.Result;
@@ -25,6 +28,11 @@ import org.junit.gen5.commons.util.ReflectionUtils;
  * {@code ConditionEvaluator} evaluates {@link Condition Conditions}
  * configured via {@link Conditional @Conditional}.
  *
+ * <p>Each {@link Condition} class is instantiated only once. Results of
+ * {@linkplain Conditional#deterministic deterministic} conditions are
+ * additionally cached per annotated element for the lifetime of the
+ * evaluator, which is one engine execution.
+ *
  * @author Sam Brannen
  * @since 5.0
  * @see Conditional
@@ -32,30 +40,40 @@ import org.junit.gen5.commons.util.ReflectionUtils;
  */
 class ConditionEvaluator {
 
+	private static final ClassValue<Condition> conditions = new ClassValue<Condition>() {
+
+		@Override
+		protected Condition computeValue(Class<?> conditionClass) {
+			return (Condition) ReflectionUtils.newInstance(conditionClass);
+		}
+	};
+
+	private final Map<Class<?>, Map<AnnotatedElement, Result>> deterministicResults = new ConcurrentHashMap<>();
+
 	/**
 	 * Determine if the test represented by the supplied {@link TestExecutionContext}
 	 * is <em>disabled</em> by evaluating all {@link Condition Conditions}
 	 * configured via {@link Conditional @Conditional}.
+	 *
+	 * @param classLevelAnno the {@code @Conditional} declaration of the test
+	 * class, which has already been looked up by the caller
 	 */
-	Result evaluate(TestExecutionContext context) {
+	Result evaluate(TestExecutionContext context, Optional<Conditional> classLevelAnno) {
 
-		final Class<?> testClass = context.getTestClass().orElse(null);
 		final Method testMethod = context.getTestMethod().orElse(null);
 
 		// TODO Introduce support for finding *all* @Conditional annotations.
-		Optional<Conditional> classLevelAnno = findAnnotation(testClass, Conditional.class);
-		Optional<Conditional> methodLevelAnno = findAnnotation(testMethod, Conditional.class);
-
 		Conditional conditional = classLevelAnno.isPresent() ? classLevelAnno.get()
-				: methodLevelAnno.isPresent() ? methodLevelAnno.get() : null;
+				: findAnnotation(testMethod, Conditional.class).orElse(null);
 
 		if (conditional != null) {
+			AnnotatedElement annotatedElement = classLevelAnno.isPresent() ? context.getTestClass().get() : testMethod;
 			Class<? extends Condition>[] classes = conditional.value();
 			for (Class<? extends Condition> conditionClass : classes) {
 				try {
-					Condition condition = ReflectionUtils.newInstance(conditionClass);
-
-					Result result = condition.evaluate(context);
+					Result result = conditional.deterministic()
+							? evaluateDeterministic(conditionClass, context, annotatedElement)
+							: conditions.get(conditionClass).evaluate(context);
 					if (!result.isSuccess()) {
 						// We found a failing condition, so there is no need to continue.
 						return result;
@@ -71,4 +89,14 @@ class ConditionEvaluator {
 		return Result.success("No failed conditions encountered");
 	}
 
+	private Result evaluateDeterministic(Class<? extends Condition> conditionClass, TestExecutionContext context,
+			AnnotatedElement annotatedElement) {
+
+		// @formatter:off
+		return this.deterministicResults
+				.computeIfAbsent(conditionClass, key -> new ConcurrentHashMap<>())
+				.computeIfAbsent(annotatedElement, element -> conditions.get(conditionClass).evaluate(context));
+		// @formatter:on
+	}
+
 }
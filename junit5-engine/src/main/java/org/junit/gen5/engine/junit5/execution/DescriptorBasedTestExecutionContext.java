@@ -10,16 +10,19 @@
 
 package org.junit.gen5.engine.junit5.execution;
 
+import static java.util.stream.Collectors.toList;
 import static org.junit.gen5.commons.util.AnnotationUtils.findRepeatableAnnotations;
 
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import org.junit.gen5.api.extension.ExtendWith;
 import org.junit.gen5.api.extension.TestExecutionContext;
@@ -36,11 +39,20 @@ class DescriptorBasedTestExecutionContext implements TestExecutionContext {
 
 	private final Class<?> testClass;
 
-	private Object testInstance;
+	private volatile Object testInstance;
 
 	private final Method testMethod;
 
-	private final Map<String, Object> attributes = new HashMap<>();
+	/**
+	 * Lazily created, since most contexts never store any attributes.
+	 * Thread-safe, since the tests of a class may be executed concurrently.
+	 */
+	private volatile Map<String, Object> attributes;
+
+	/**
+	 * Context whose attributes this context shares, if any.
+	 */
+	private final DescriptorBasedTestExecutionContext attributesOwner;
 
 	private final String displayName;
 
@@ -48,11 +60,37 @@ class DescriptorBasedTestExecutionContext implements TestExecutionContext {
 
 	protected final TestExtensionRegistry registry;
 
+	/**
+	 * Find the extension classes registered via {@link ExtendWith @ExtendWith}
+	 * on the supplied element, in declaration order.
+	 */
+	static List<Class<? extends TestExtension>> findExtensionClasses(AnnotatedElement annotatedElement) {
+		// @formatter:off
+		return findRepeatableAnnotations(annotatedElement, ExtendWith.class).stream()
+				.map(ExtendWith::value)
+				.flatMap(Arrays::stream)
+				.collect(toList());
+		// @formatter:on
+	}
+
 	DescriptorBasedTestExecutionContext(TestDescriptor descriptor, TestExecutionContext parent, Object testInstance) {
+		this(descriptor, parent, testInstance, null);
+	}
+
+	/**
+	 * Create a new context for the supplied descriptor.
+	 *
+	 * @param classExtensionClasses the extension classes registered on the
+	 * test class, if the descriptor is a {@link ClassTestDescriptor} and they
+	 * have already been determined; otherwise {@code null}
+	 */
+	DescriptorBasedTestExecutionContext(TestDescriptor descriptor, TestExecutionContext parent, Object testInstance,
+			List<Class<? extends TestExtension>> classExtensionClasses) {
 
 		this.testInstance = testInstance;
 		this.displayName = descriptor.getDisplayName();
 		this.parent = parent;
+		this.attributesOwner = null;
 
 		this.registry = createRegistry();
 
@@ -60,13 +98,14 @@ class DescriptorBasedTestExecutionContext implements TestExecutionContext {
 			// Also handles ContextTestDescriptor which extends ClassTestDescriptor.
 			this.testClass = ((ClassTestDescriptor) descriptor).getTestClass();
 			this.testMethod = null;
-			populateTestExtensionRegistry(this.testClass);
+			populateTestExtensionRegistry(
+				classExtensionClasses != null ? classExtensionClasses : findExtensionClasses(this.testClass));
 		}
 		else if (descriptor instanceof MethodTestDescriptor) {
 			MethodTestDescriptor methodTestDescriptor = (MethodTestDescriptor) descriptor;
 			this.testClass = ((ClassTestDescriptor) methodTestDescriptor.getParent().get()).getTestClass();
 			this.testMethod = methodTestDescriptor.getTestMethod();
-			populateTestExtensionRegistry(this.testMethod);
+			populateTestExtensionRegistry(findExtensionClasses(this.testMethod));
 		}
 		else {
 			this.testClass = null;
@@ -74,13 +113,33 @@ class DescriptorBasedTestExecutionContext implements TestExecutionContext {
 		}
 	}
 
-	private void populateTestExtensionRegistry(AnnotatedElement annotatedElement) {
-		// @formatter:off
-		findRepeatableAnnotations(annotatedElement, ExtendWith.class).stream()
-				.map(ExtendWith::value)
-				.flatMap(Arrays::stream)
-				.forEach(this.registry::addExtension);
-		// @formatter:off
+	/**
+	 * Create a copy of the supplied class context that shares its extensions
+	 * and attributes but holds its own test instance.
+	 *
+	 * <p>The attributes are shared by delegation, so that copying does not
+	 * create the attributes of the class context.
+	 */
+	private DescriptorBasedTestExecutionContext(DescriptorBasedTestExecutionContext classContext) {
+		this.testClass = classContext.testClass;
+		this.testMethod = classContext.testMethod;
+		this.displayName = classContext.displayName;
+		this.parent = classContext.parent;
+		this.registry = classContext.registry;
+		this.attributesOwner = classContext;
+	}
+
+	/**
+	 * Create a context for executing a single test method on its own test
+	 * instance, so that the test instances of concurrently executing methods
+	 * never replace each other in this context.
+	 */
+	DescriptorBasedTestExecutionContext createInstanceContext() {
+		return new DescriptorBasedTestExecutionContext(this);
+	}
+
+	private void populateTestExtensionRegistry(List<Class<? extends TestExtension>> extensionClasses) {
+		extensionClasses.forEach(this.registry::addExtension);
 	}
 
 	private TestExtensionRegistry createRegistry() {
@@ -114,7 +173,20 @@ class DescriptorBasedTestExecutionContext implements TestExecutionContext {
 
 	@Override
 	public Map<String, Object> getAttributes() {
-		return this.attributes;
+		if (this.attributesOwner != null) {
+			return this.attributesOwner.getAttributes();
+		}
+		Map<String, Object> attributes = this.attributes;
+		if (attributes == null) {
+			synchronized (this) {
+				attributes = this.attributes;
+				if (attributes == null) {
+					attributes = new ConcurrentHashMap<>();
+					this.attributes = attributes;
+				}
+			}
+		}
+		return attributes;
 	}
 
 	@Override
@@ -132,6 +204,11 @@ class DescriptorBasedTestExecutionContext implements TestExecutionContext {
 		return this.registry.getExtensions();
 	}
 
+	@Override
+	public <T extends TestExtension> Stream<T> getExtensions(Class<T> extensionClass) {
+		return this.registry.getExtensions(extensionClass).stream();
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(this.testClass, this.testMethod, this.testInstance);
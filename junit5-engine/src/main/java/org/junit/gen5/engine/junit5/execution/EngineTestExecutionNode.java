@@ -10,7 +10,25 @@
 
 package org.junit.gen5.engine.junit5.execution;
 
+import static java.util.stream.Collectors.toList;
+import static org.junit.gen5.engine.junit5.JUnit5TestEngine.METHOD_CONCURRENCY_ATTRIBUTE;
+import static org.junit.gen5.engine.junit5.JUnit5TestEngine.METHOD_EXECUTION_STRATEGY_ATTRIBUTE;
+import static org.junit.gen5.engine.junit5.JUnit5TestEngine.PARALLELISM_ATTRIBUTE;
+import static org.junit.gen5.engine.junit5.JUnit5TestEngine.PARALLEL_EXECUTION_ATTRIBUTE;
+import static org.junit.gen5.engine.junit5.JUnit5TestEngine.VIRTUAL_THREAD_METHOD_EXECUTION;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.IntStream;
+
 import org.junit.gen5.api.extension.TestExecutionContext;
+import org.junit.gen5.commons.util.Preconditions;
 import org.junit.gen5.engine.EngineDescriptor;
 import org.junit.gen5.engine.ExecutionRequest;
 
@@ -21,8 +39,16 @@ import org.junit.gen5.engine.ExecutionRequest;
  */
 public class EngineTestExecutionNode extends TestExecutionNode {
 
+	private static final int DEFAULT_METHOD_CONCURRENCY = 256;
+
 	private final EngineDescriptor testDescriptor;
 
+	private ConcurrentMethodExecutor methodExecutor;
+
+	private ConditionEvaluator conditionEvaluator;
+
+	private ExecutorService instancePrefetchExecutor;
+
 	EngineTestExecutionNode(EngineDescriptor testDescriptor) {
 		this.testDescriptor = testDescriptor;
 	}
@@ -33,14 +59,147 @@ public class EngineTestExecutionNode extends TestExecutionNode {
 	}
 
 	public void executeRequest(ExecutionRequest request) {
-		execute(request, createTopLevelContext());
+		boolean parallel = isParallelExecutionEnabled(request);
+		this.conditionEvaluator = new ConditionEvaluator();
+		if (isVirtualThreadMethodExecutionEnabled(request)) {
+			this.methodExecutor = new ConcurrentMethodExecutor(
+				getPositiveIntAttribute(request, METHOD_CONCURRENCY_ATTRIBUTE, DEFAULT_METHOD_CONCURRENCY));
+		}
+
+		try {
+			if (parallel || this.methodExecutor != null) {
+				request = synchronizeListener(request);
+			}
+			execute(request, createTopLevelContext());
+		}
+		finally {
+			if (this.methodExecutor != null) {
+				this.methodExecutor.shutdown();
+				this.methodExecutor = null;
+			}
+			this.conditionEvaluator = null;
+			shutdownInstancePrefetchExecutor();
+		}
+	}
+
+	@Override
+	ConcurrentMethodExecutor getMethodExecutor() {
+		return this.methodExecutor;
+	}
+
+	/**
+	 * Get the executor shared by all test classes of this execution for
+	 * prefetching test instances, creating it on first use.
+	 */
+	@Override
+	synchronized ExecutorService getInstancePrefetchExecutor() {
+		if (this.instancePrefetchExecutor == null) {
+			this.instancePrefetchExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+				createPrefetchThreadFactory(Thread.currentThread().getContextClassLoader()));
+		}
+		return this.instancePrefetchExecutor;
+	}
+
+	private synchronized void shutdownInstancePrefetchExecutor() {
+		if (this.instancePrefetchExecutor != null) {
+			this.instancePrefetchExecutor.shutdownNow();
+			this.instancePrefetchExecutor = null;
+		}
+	}
+
+	@Override
+	ConditionEvaluator getConditionEvaluator() {
+		return (this.conditionEvaluator != null ? this.conditionEvaluator : super.getConditionEvaluator());
 	}
 
 	@Override
 	void execute(ExecutionRequest request, TestExecutionContext context) {
-		for (TestExecutionNode child : getChildren()) {
-			executeChild(child, request, context, null);
+		if (isParallelExecutionEnabled(request)) {
+			executeChildrenInParallel(request, context);
+		}
+		else {
+			for (int i = 0; i < getChildCount(); i++) {
+				executeChild(getChild(i), request, context, null);
+			}
+		}
+	}
+
+	/**
+	 * Execute all children (i.e., top-level test classes) concurrently in a
+	 * work-stealing {@link ForkJoinPool}.
+	 *
+	 * <p>Each test class is still executed sequentially on a single worker
+	 * thread, which preserves the ordering of {@code @BeforeAll}, test
+	 * methods, and {@code @AfterAll} within that class.
+	 */
+	private void executeChildrenInParallel(ExecutionRequest request, TestExecutionContext context) {
+		ForkJoinPool pool = new ForkJoinPool(
+			getPositiveIntAttribute(request, PARALLELISM_ATTRIBUTE, Runtime.getRuntime().availableProcessors()),
+			createWorkerThreadFactory(Thread.currentThread().getContextClassLoader()), null, false);
+		try {
+			// @formatter:off
+			List<ForkJoinTask<?>> tasks = IntStream.range(0, getChildCount())
+					.mapToObj(this::getChild)
+					.map(child -> ForkJoinTask.adapt(() -> executeChild(child, request, context, null)))
+					.collect(toList());
+			// @formatter:on
+			pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static ForkJoinWorkerThreadFactory createWorkerThreadFactory(ClassLoader contextClassLoader) {
+		return pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			// Worker threads must see the same classes as the thread that launched the tests.
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		};
+	}
+
+	private static ThreadFactory createPrefetchThreadFactory(ClassLoader contextClassLoader) {
+		return runnable -> {
+			Thread thread = new Thread(runnable, "junit5-test-instance-prefetcher");
+			thread.setDaemon(true);
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		};
+	}
+
+	/**
+	 * Create a copy of the supplied request whose
+	 * {@link org.junit.gen5.engine.TestExecutionListener TestExecutionListener}
+	 * serializes all callbacks, so that listeners need not be thread-safe
+	 * when tests are executed concurrently.
+	 */
+	private static ExecutionRequest synchronizeListener(ExecutionRequest request) {
+		ExecutionRequest synchronizedRequest = new ExecutionRequest(request.getEngineDescriptor(),
+			new SynchronizedTestExecutionListener(request.getTestExecutionListener()));
+		synchronizedRequest.getAttributes().putAll(request.getAttributes());
+		return synchronizedRequest;
+	}
+
+	private static boolean isParallelExecutionEnabled(ExecutionRequest request) {
+		Object value = request.getAttributes().get(PARALLEL_EXECUTION_ATTRIBUTE);
+		return (value != null && Boolean.parseBoolean(value.toString()));
+	}
+
+	private static boolean isVirtualThreadMethodExecutionEnabled(ExecutionRequest request) {
+		Object value = request.getAttributes().get(METHOD_EXECUTION_STRATEGY_ATTRIBUTE);
+		return (value != null && VIRTUAL_THREAD_METHOD_EXECUTION.equals(value.toString().trim()));
+	}
+
+	private static int getPositiveIntAttribute(ExecutionRequest request, String name, int defaultValue) {
+		Object value = request.getAttributes().get(name);
+		if (value == null) {
+			return defaultValue;
 		}
+		int intValue = (value instanceof Number ? ((Number) value).intValue()
+				: Integer.parseInt(value.toString().trim()));
+		Preconditions.condition(intValue > 0, () -> name + " must be greater than zero");
+		return intValue;
 	}
 
 	private TestExecutionContext createTopLevelContext() {
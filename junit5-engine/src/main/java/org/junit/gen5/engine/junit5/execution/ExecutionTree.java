@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+/**
+ * {@code ExecutionTree} holds the structure of a tree of
+ * {@link TestExecutionNode TestExecutionNodes} in a few contiguous arrays
+ * instead of per-node child lists.
+ *
+ * <p>The nodes are stored in level order, so that the children of each node
+ * occupy a contiguous range of indices. For each node, the tree records the
+ * index of its parent and the range of its children; the node objects
+ * themselves determine the kind of each node. The root has index {@code 0}
+ * and no parent.
+ *
+ * @since 5.0
+ * @see TestExecutionNodeBuilder
+ */
+final class ExecutionTree {
+
+	static final int NO_PARENT = -1;
+
+	private final TestExecutionNode[] nodes;
+
+	private final int[] parentIndices;
+
+	private final int[] firstChildIndices;
+
+	private final int[] childCounts;
+
+	ExecutionTree(TestExecutionNode[] nodes, int[] parentIndices, int[] firstChildIndices, int[] childCounts) {
+		this.nodes = nodes;
+		this.parentIndices = parentIndices;
+		this.firstChildIndices = firstChildIndices;
+		this.childCounts = childCounts;
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i].attachTo(this, i);
+		}
+	}
+
+	int size() {
+		return this.nodes.length;
+	}
+
+	TestExecutionNode getNode(int index) {
+		return this.nodes[index];
+	}
+
+	/**
+	 * @return the parent of the node with the supplied index, or {@code null}
+	 * for the root
+	 */
+	TestExecutionNode getParent(int index) {
+		int parentIndex = this.parentIndices[index];
+		return (parentIndex != NO_PARENT ? this.nodes[parentIndex] : null);
+	}
+
+	int getChildCount(int index) {
+		return this.childCounts[index];
+	}
+
+	TestExecutionNode getChild(int index, int childIndex) {
+		if (childIndex < 0 || childIndex >= this.childCounts[index]) {
+			throw new IndexOutOfBoundsException(
+				"Child index " + childIndex + " out of range for " + this.childCounts[index] + " children");
+		}
+		return this.nodes[this.firstChildIndices[index] + childIndex];
+	}
+
+}
@@ -41,7 +41,8 @@ class MethodExecutionNode extends TestExecutionNode {
 
 	@Override
 	void execute(ExecutionRequest request, TestExecutionContext context) {
-		if (isTestDisabled(request, context)) {
+		ClassLifecycleMetadata lifecycleMetadata = ((ClassExecutionNode) getParent()).getLifecycleMetadata();
+		if (isTestDisabled(request, context, lifecycleMetadata.getConditional())) {
 			// Abort execution of the test completely at this point.
 			return;
 		}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.gen5.api.extension.MethodParameterResolver;
+import org.junit.gen5.commons.util.ReflectionUtils;
+
+/**
+ * {@code MethodInvocationPlan} holds everything that is needed to repeatedly
+ * invoke a given method and that does not change between invocations: the
+ * method's parameters, a {@link MethodHandle} bound once, and the
+ * {@link MethodParameterResolver} selected for each parameter.
+ *
+ * <p>Plans are cached per method. The cache is attached to the declaring
+ * class via a {@link ClassValue} and therefore does not prevent test classes
+ * and their class loaders from being garbage collected.
+ *
+ * @since 5.0
+ * @see MethodInvoker
+ */
+class MethodInvocationPlan {
+
+	private static final PlansByClass plansByClass = new PlansByClass();
+
+	static MethodInvocationPlan forMethod(Method method) {
+		return plansByClass.get(method.getDeclaringClass()).computeIfAbsent(method, MethodInvocationPlan::new);
+	}
+
+	private final Method method;
+
+	private final Parameter[] parameters;
+
+	private final MethodHandle methodHandle;
+
+	private volatile ResolverSelection resolverSelection;
+
+	private MethodInvocationPlan(Method method) {
+		this.method = method;
+		this.parameters = method.getParameters();
+		this.methodHandle = ReflectionUtils.getMethodHandle(method);
+	}
+
+	Method getMethod() {
+		return this.method;
+	}
+
+	int getParameterCount() {
+		return this.parameters.length;
+	}
+
+	Parameter getParameter(int index) {
+		return this.parameters[index];
+	}
+
+	Object invoke(Object target, Object[] arguments) {
+		return ReflectionUtils.invokeMethodHandle(this.methodHandle, target, arguments);
+	}
+
+	/**
+	 * Get the resolvers to use for the parameters of this method, as
+	 * previously {@linkplain #rememberSelectedResolvers selected} from
+	 * resolvers of the same classes, in the same order, as the supplied ones.
+	 *
+	 * <p>Resolvers are registered per extension registry, so the selection is
+	 * keyed by the classes of the resolvers rather than by their instances;
+	 * resolvers of the same class are expected to support the same parameters.
+	 *
+	 * @return the supplied resolvers that correspond to the selected ones,
+	 * indexed by parameter; or {@code null} if no matching selection is
+	 * available
+	 */
+	MethodParameterResolver[] getSelectedResolvers(List<MethodParameterResolver> availableResolvers) {
+		ResolverSelection selection = this.resolverSelection;
+		if (selection == null || !selection.isSelectedFrom(availableResolvers)) {
+			return null;
+		}
+		MethodParameterResolver[] selectedResolvers = new MethodParameterResolver[selection.selectedIndices.length];
+		for (int i = 0; i < selectedResolvers.length; i++) {
+			selectedResolvers[i] = availableResolvers.get(selection.selectedIndices[i]);
+		}
+		return selectedResolvers;
+	}
+
+	void rememberSelectedResolvers(List<MethodParameterResolver> availableResolvers,
+			MethodParameterResolver[] selectedResolvers) {
+		Class<?>[] availableResolverClasses = new Class<?>[availableResolvers.size()];
+		for (int i = 0; i < availableResolverClasses.length; i++) {
+			availableResolverClasses[i] = availableResolvers.get(i).getClass();
+		}
+		int[] selectedIndices = new int[selectedResolvers.length];
+		for (int i = 0; i < selectedIndices.length; i++) {
+			selectedIndices[i] = indexOf(availableResolvers, selectedResolvers[i]);
+		}
+		this.resolverSelection = new ResolverSelection(availableResolverClasses, selectedIndices);
+	}
+
+	private static int indexOf(List<MethodParameterResolver> resolvers, MethodParameterResolver resolver) {
+		for (int i = 0; i < resolvers.size(); i++) {
+			if (resolvers.get(i) == resolver) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Selected resolver is not one of the available resolvers: " + resolver);
+	}
+
+	private static class ResolverSelection {
+
+		private final Class<?>[] availableResolverClasses;
+
+		private final int[] selectedIndices;
+
+		ResolverSelection(Class<?>[] availableResolverClasses, int[] selectedIndices) {
+			this.availableResolverClasses = availableResolverClasses;
+			this.selectedIndices = selectedIndices;
+		}
+
+		boolean isSelectedFrom(List<MethodParameterResolver> resolvers) {
+			if (resolvers.size() != this.availableResolverClasses.length) {
+				return false;
+			}
+			for (int i = 0; i < this.availableResolverClasses.length; i++) {
+				if (resolvers.get(i).getClass() != this.availableResolverClasses[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static class PlansByClass extends ClassValue<Map<Method, MethodInvocationPlan>> {
+
+		@Override
+		protected Map<Method, MethodInvocationPlan> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	}
+
+}
@@ -14,14 +14,12 @@ import static java.util.stream.Collectors.*;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.util.Arrays;
 import java.util.List;
 
 import org.junit.gen5.api.extension.MethodParameterResolver;
 import org.junit.gen5.api.extension.ParameterResolutionException;
 import org.junit.gen5.api.extension.TestExecutionContext;
 import org.junit.gen5.commons.util.Preconditions;
-import org.junit.gen5.commons.util.ReflectionUtils;
 
 /**
  * {@code MethodInvoker} encapsulates the invocation of a method, including
@@ -34,7 +32,9 @@ import org.junit.gen5.commons.util.ReflectionUtils;
  */
 class MethodInvoker {
 
-	private final Method method;
+	private static final Object[] NO_ARGUMENTS = new Object[0];
+
+	private final MethodInvocationPlan plan;
 
 	private final Object target;
 
@@ -45,13 +45,13 @@ class MethodInvoker {
 		Preconditions.notNull(target, "target object must not be null");
 		Preconditions.notNull(resolutionContext, "resolutionContext must not be null");
 
-		this.method = method;
+		this.plan = MethodInvocationPlan.forMethod(method);
 		this.target = target;
 		this.resolutionContext = resolutionContext;
 	}
 
 	Object invoke(TestExecutionContext testExecutionContext) {
-		return ReflectionUtils.invokeMethod(this.method, this.target, resolveParameters(testExecutionContext));
+		return this.plan.invoke(this.target, resolveParameters(testExecutionContext));
 	}
 
 	/**
@@ -63,17 +63,44 @@ class MethodInvoker {
 	 * @throws ParameterResolutionException
 	 */
 	private Object[] resolveParameters(TestExecutionContext testExecutionContext) throws ParameterResolutionException {
-		// @formatter:off
-		return Arrays.stream(this.method.getParameters())
-				.map(param -> resolveParameter(param, testExecutionContext))
-				.toArray(Object[]::new);
-		// @formatter:on
+		int parameterCount = this.plan.getParameterCount();
+		if (parameterCount == 0) {
+			return NO_ARGUMENTS;
+		}
+
+		MethodParameterResolver[] resolvers = selectResolvers();
+		Object[] arguments = new Object[parameterCount];
+		for (int i = 0; i < parameterCount; i++) {
+			arguments[i] = resolveParameter(this.plan.getParameter(i), resolvers[i], testExecutionContext);
+		}
+		return arguments;
+	}
+
+	/**
+	 * Select the {@link MethodParameterResolver} to use for each parameter,
+	 * reusing the previous selection of the {@linkplain MethodInvocationPlan
+	 * invocation plan} if resolvers of the same classes are registered.
+	 */
+	private MethodParameterResolver[] selectResolvers() {
+		List<MethodParameterResolver> availableResolvers = this.resolutionContext.getExtensions(
+			MethodParameterResolver.class).collect(toList());
+
+		MethodParameterResolver[] selectedResolvers = this.plan.getSelectedResolvers(availableResolvers);
+		if (selectedResolvers == null) {
+			selectedResolvers = new MethodParameterResolver[this.plan.getParameterCount()];
+			for (int i = 0; i < selectedResolvers.length; i++) {
+				selectedResolvers[i] = selectResolver(this.plan.getParameter(i), availableResolvers);
+			}
+			this.plan.rememberSelectedResolvers(availableResolvers, selectedResolvers);
+		}
+		return selectedResolvers;
 	}
 
-	private Object resolveParameter(Parameter parameter, TestExecutionContext testExecutionContext) {
+	private MethodParameterResolver selectResolver(Parameter parameter,
+			List<MethodParameterResolver> availableResolvers) {
 		try {
 			// @formatter:off
-			List<MethodParameterResolver> matchingResolvers = this.resolutionContext.getExtensions(MethodParameterResolver.class)
+			List<MethodParameterResolver> matchingResolvers = availableResolvers.stream()
 					.filter(resolver -> resolver.supports(parameter))
 					.collect(toList());
 			// @formatter:on
@@ -81,7 +108,7 @@ class MethodInvoker {
 			if (matchingResolvers.size() == 0) {
 				throw new ParameterResolutionException(
 					String.format("No MethodParameterResolver registered for parameter [%s] in method [%s].", parameter,
-						this.method.toGenericString()));
+						this.plan.getMethod().toGenericString()));
 			}
 			if (matchingResolvers.size() > 1) {
 				// @formatter:off
@@ -91,17 +118,31 @@ class MethodInvoker {
 				// @formatter:on
 				throw new ParameterResolutionException(String.format(
 					"Discovered multiple competing MethodParameterResolvers for parameter [%s] in method [%s]: %s",
-					parameter, this.method.toGenericString(), resolverNames));
+					parameter, this.plan.getMethod().toGenericString(), resolverNames));
 			}
-			return matchingResolvers.get(0).resolve(parameter, testExecutionContext);
+			return matchingResolvers.get(0);
 		}
 		catch (Exception ex) {
-			if (ex instanceof ParameterResolutionException) {
-				throw (ParameterResolutionException) ex;
-			}
-			throw new ParameterResolutionException(String.format("Failed to resolve parameter [%s] in method [%s]",
-				parameter, this.method.toGenericString()), ex);
+			throw wrapInParameterResolutionException(parameter, ex);
+		}
+	}
+
+	private Object resolveParameter(Parameter parameter, MethodParameterResolver resolver,
+			TestExecutionContext testExecutionContext) {
+		try {
+			return resolver.resolve(parameter, testExecutionContext);
+		}
+		catch (Exception ex) {
+			throw wrapInParameterResolutionException(parameter, ex);
+		}
+	}
+
+	private ParameterResolutionException wrapInParameterResolutionException(Parameter parameter, Exception ex) {
+		if (ex instanceof ParameterResolutionException) {
+			return (ParameterResolutionException) ex;
 		}
+		return new ParameterResolutionException(String.format("Failed to resolve parameter [%s] in method [%s]",
+			parameter, this.plan.getMethod().toGenericString()), ex);
 	}
 
 }
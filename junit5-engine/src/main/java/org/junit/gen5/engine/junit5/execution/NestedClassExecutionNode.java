@@ -22,8 +22,8 @@ import org.junit.gen5.engine.junit5.descriptor.ClassTestDescriptor;
  */
 class NestedClassExecutionNode extends ClassExecutionNode {
 
-	NestedClassExecutionNode(ClassTestDescriptor testDescriptor) {
-		super(testDescriptor);
+	NestedClassExecutionNode(ClassTestDescriptor testDescriptor, ClassLifecycleMetadata lifecycleMetadata) {
+		super(testDescriptor, lifecycleMetadata);
 	}
 
 	@Override
@@ -37,6 +37,15 @@ class NestedClassExecutionNode extends ClassExecutionNode {
 		postProcessTestInstance(context);
 	}
 
+	/**
+	 * Nested test instances require the enclosing instance created for each
+	 * test and can therefore not be prefetched.
+	 */
+	@Override
+	protected TestInstancePool createTestInstancePool(int prefetchCount, int instanceCount) {
+		return null;
+	}
+
 	@Override
 	void executeBeforeEachTest(TestExecutionContext methodContext, TestExecutionContext resolutionContext,
 			Object testInstance) {
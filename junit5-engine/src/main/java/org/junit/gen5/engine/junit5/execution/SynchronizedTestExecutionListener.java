@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+import org.junit.gen5.commons.util.Preconditions;
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestExecutionListener;
+
+/**
+ * {@code SynchronizedTestExecutionListener} serializes all callbacks to a
+ * delegate {@link TestExecutionListener}, allowing listeners that are not
+ * thread-safe to be notified from multiple worker threads.
+ *
+ * @since 5.0
+ */
+class SynchronizedTestExecutionListener implements TestExecutionListener {
+
+	private final TestExecutionListener delegate;
+
+	SynchronizedTestExecutionListener(TestExecutionListener delegate) {
+		Preconditions.notNull(delegate, "delegate listener must not be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public synchronized void dynamicTestFound(TestDescriptor testDescriptor) {
+		this.delegate.dynamicTestFound(testDescriptor);
+	}
+
+	@Override
+	public synchronized void testStarted(TestDescriptor testDescriptor) {
+		this.delegate.testStarted(testDescriptor);
+	}
+
+	@Override
+	public synchronized void testSkipped(TestDescriptor testDescriptor, Throwable t) {
+		this.delegate.testSkipped(testDescriptor, t);
+	}
+
+	@Override
+	public synchronized void testAborted(TestDescriptor testDescriptor, Throwable t) {
+		this.delegate.testAborted(testDescriptor, t);
+	}
+
+	@Override
+	public synchronized void testFailed(TestDescriptor testDescriptor, Throwable t) {
+		this.delegate.testFailed(testDescriptor, t);
+	}
+
+	@Override
+	public synchronized void testSucceeded(TestDescriptor testDescriptor) {
+		this.delegate.testSucceeded(testDescriptor);
+	}
+
+}
@@ -11,11 +11,12 @@
 package org.junit.gen5.engine.junit5.execution;
 
 import java.lang.reflect.Method;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 import org.junit.gen5.api.Condition.Result;
+import org.junit.gen5.api.Conditional;
 import org.junit.gen5.api.extension.TestExecutionContext;
 import org.junit.gen5.engine.ExecutionRequest;
 import org.junit.gen5.engine.TestDescriptor;
@@ -28,31 +29,80 @@ import org.opentestalliance.TestSkippedException;
  */
 abstract class TestExecutionNode {
 
-	private TestExecutionNode parent;
+	/**
+	 * The tree holding the parent and children of this node.
+	 */
+	private ExecutionTree tree;
 
-	private List<TestExecutionNode> children = new LinkedList<>();
+	private int index;
 
-	private final ConditionEvaluator conditionEvaluator = new ConditionEvaluator();
-
-	void addChild(TestExecutionNode child) {
-		this.children.add(child);
-		child.parent = this;
+	final void attachTo(ExecutionTree tree, int index) {
+		this.tree = tree;
+		this.index = index;
 	}
 
+	/**
+	 * @return the parent of this node, or {@code null} if this node is the
+	 * root of its tree
+	 */
 	final TestExecutionNode getParent() {
-		return this.parent;
+		return this.tree.getParent(this.index);
+	}
+
+	final int getChildCount() {
+		return this.tree.getChildCount(this.index);
 	}
 
-	final List<TestExecutionNode> getChildren() {
-		return Collections.unmodifiableList(this.children);
+	final TestExecutionNode getChild(int childIndex) {
+		return this.tree.getChild(this.index, childIndex);
 	}
 
 	abstract TestDescriptor getTestDescriptor();
 
+	/**
+	 * Get the executor to use for executing test methods concurrently.
+	 *
+	 * @return the executor, or {@code null} if test methods are to be
+	 * executed sequentially
+	 */
+	ConcurrentMethodExecutor getMethodExecutor() {
+		TestExecutionNode parent = getParent();
+		return (parent != null ? parent.getMethodExecutor() : null);
+	}
+
+	/**
+	 * Get the executor to use for creating test instances ahead of time.
+	 *
+	 * @return the executor shared by all test classes of the current engine
+	 * execution, or {@code null} if test instances cannot be prefetched
+	 */
+	ExecutorService getInstancePrefetchExecutor() {
+		TestExecutionNode parent = getParent();
+		return (parent != null ? parent.getInstancePrefetchExecutor() : null);
+	}
+
+	/**
+	 * Get the evaluator for {@code @Conditional} declarations, whose cached
+	 * results are scoped to the current engine execution.
+	 */
+	ConditionEvaluator getConditionEvaluator() {
+		TestExecutionNode parent = getParent();
+		return (parent != null ? parent.getConditionEvaluator() : new ConditionEvaluator());
+	}
+
 	abstract void execute(ExecutionRequest request, TestExecutionContext context);
 
-	protected final boolean isTestDisabled(ExecutionRequest request, TestExecutionContext context) {
-		Result result = this.conditionEvaluator.evaluate(context);
+	/**
+	 * Determine if the test represented by this node is disabled and, if so,
+	 * notify the listener that the test has been skipped.
+	 *
+	 * @param classLevelConditional the {@link Conditional @Conditional}
+	 * declared on the enclosing test class, if any
+	 */
+	protected final boolean isTestDisabled(ExecutionRequest request, TestExecutionContext context,
+			Optional<Conditional> classLevelConditional) {
+
+		Result result = getConditionEvaluator().evaluate(context, classLevelConditional);
 		if (!result.isSuccess()) {
 			// TODO Determine if we really need an explicit TestSkippedException.
 			request.getTestExecutionListener().testSkipped(getTestDescriptor(),
@@ -76,7 +126,11 @@ abstract class TestExecutionNode {
 
 	private TestExecutionContext createChildContext(TestExecutionNode child, TestExecutionContext parentContext,
 			Object testInstance) {
-		return new DescriptorBasedTestExecutionContext(child.getTestDescriptor(), parentContext, testInstance);
+		return child.createExecutionContext(parentContext, testInstance);
+	}
+
+	TestExecutionContext createExecutionContext(TestExecutionContext parentContext, Object testInstance) {
+		return new DescriptorBasedTestExecutionContext(getTestDescriptor(), parentContext, testInstance);
 	}
 
 	void executeBeforeEachTest(TestExecutionContext methodContext, TestExecutionContext resolutionContext,
@@ -10,6 +10,8 @@
 
 package org.junit.gen5.engine.junit5.execution;
 
+import java.util.Set;
+
 import org.junit.gen5.commons.util.Preconditions;
 import org.junit.gen5.engine.EngineDescriptor;
 import org.junit.gen5.engine.TestDescriptor;
@@ -24,20 +26,43 @@ import org.junit.gen5.engine.junit5.descriptor.NestedClassTestDescriptor;
  */
 public class TestExecutionNodeBuilder {
 
+	/**
+	 * Build the {@linkplain ExecutionTree execution tree} for the supplied
+	 * engine descriptor in a single level-order pass.
+	 *
+	 * @return the root node of the tree
+	 */
 	public EngineTestExecutionNode buildExecutionTree(EngineDescriptor engineDescriptor) {
+		int size = countDescriptors(engineDescriptor);
+		TestExecutionNode[] nodes = new TestExecutionNode[size];
+		int[] parentIndices = new int[size];
+		int[] firstChildIndices = new int[size];
+		int[] childCounts = new int[size];
+
 		EngineTestExecutionNode root = new EngineTestExecutionNode(engineDescriptor);
-		buildChildrenNodes(engineDescriptor, root);
+		nodes[0] = root;
+		parentIndices[0] = ExecutionTree.NO_PARENT;
+		int nodeCount = 1;
+		for (int index = 0; index < nodeCount; index++) {
+			Set<TestDescriptor> children = nodes[index].getTestDescriptor().getChildren();
+			firstChildIndices[index] = nodeCount;
+			childCounts[index] = children.size();
+			for (TestDescriptor child : children) {
+				nodes[nodeCount] = createNode(child);
+				parentIndices[nodeCount] = index;
+				nodeCount++;
+			}
+		}
+		new ExecutionTree(nodes, parentIndices, firstChildIndices, childCounts);
 		return root;
 	}
 
-	private void buildExecutionNode(TestDescriptor descriptor, TestExecutionNode parent) {
-		TestExecutionNode newNode = createNode(descriptor);
-		parent.addChild(newNode);
-		buildChildrenNodes(newNode.getTestDescriptor(), newNode);
-	}
-
-	private void buildChildrenNodes(TestDescriptor parentDescriptor, TestExecutionNode parent) {
-		parentDescriptor.getChildren().stream().forEach(testDescriptor -> buildExecutionNode(testDescriptor, parent));
+	private static int countDescriptors(TestDescriptor descriptor) {
+		int count = 1;
+		for (TestDescriptor child : descriptor.getChildren()) {
+			count += countDescriptors(child);
+		}
+		return count;
 	}
 
 	private TestExecutionNode createNode(TestDescriptor testDescriptor) {
@@ -47,10 +72,13 @@ public class TestExecutionNodeBuilder {
 			return new MethodExecutionNode((MethodTestDescriptor) testDescriptor);
 		}
 		else if (testDescriptor.getClass() == ClassTestDescriptor.class) {
-			return new ClassExecutionNode((ClassTestDescriptor) testDescriptor);
+			ClassTestDescriptor classTestDescriptor = (ClassTestDescriptor) testDescriptor;
+			return new ClassExecutionNode(classTestDescriptor, createLifecycleMetadata(classTestDescriptor));
 		}
 		else if (testDescriptor.getClass() == NestedClassTestDescriptor.class) {
-			return new NestedClassExecutionNode((NestedClassTestDescriptor) testDescriptor);
+			NestedClassTestDescriptor nestedClassTestDescriptor = (NestedClassTestDescriptor) testDescriptor;
+			return new NestedClassExecutionNode(nestedClassTestDescriptor,
+				createLifecycleMetadata(nestedClassTestDescriptor));
 		}
 		else if (testDescriptor.getClass() == EngineDescriptor.class) {
 			return new EngineTestExecutionNode((EngineDescriptor) testDescriptor);
@@ -60,4 +88,12 @@ public class TestExecutionNodeBuilder {
 		throw new IllegalArgumentException("Unsupported TestDescriptor type: " + testDescriptor.getClass().getName());
 	}
 
+	/**
+	 * Look up the lifecycle metadata of the test class once while building the
+	 * tree, so that it can be reused for every child of the class node.
+	 */
+	private ClassLifecycleMetadata createLifecycleMetadata(ClassTestDescriptor testDescriptor) {
+		return ClassLifecycleMetadata.forClass(testDescriptor.getTestClass());
+	}
+
 }
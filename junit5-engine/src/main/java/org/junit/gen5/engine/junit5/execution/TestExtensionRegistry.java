@@ -10,12 +10,16 @@
 
 package org.junit.gen5.engine.junit5.execution;
 
+import static java.util.stream.Collectors.toList;
+
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.gen5.api.extension.TestExtension;
 import org.junit.gen5.commons.util.ReflectionUtils;
@@ -38,6 +42,12 @@ public class TestExtensionRegistry {
 
 	private final Optional<TestExtensionRegistry> parent;
 
+	/**
+	 * Cached view of all extensions, including those of the parent registry;
+	 * reset whenever an extension is added to this registry.
+	 */
+	private volatile ExtensionsView extensionsView;
+
 	TestExtensionRegistry() {
 		this(null);
 	}
@@ -57,11 +67,40 @@ public class TestExtensionRegistry {
 		// @formatter:on
 	}
 
+	/**
+	 * Get all extensions registered in this registry and its parents.
+	 *
+	 * <p>The returned view is computed once and reused until an extension is
+	 * added to this registry or to one of its parents.
+	 */
 	public Set<TestExtension> getExtensions() {
-		Set<TestExtension> allExtensions = new LinkedHashSet<>();
-		this.parent.ifPresent(parentRegistry -> allExtensions.addAll(parentRegistry.getExtensions()));
-		allExtensions.addAll(this.extensions);
-		return Collections.unmodifiableSet(allExtensions);
+		return getExtensionsView().allExtensions;
+	}
+
+	/**
+	 * Get all extensions of the supplied type registered in this registry
+	 * and its parents, in registration order.
+	 *
+	 * <p>The result is computed once per type and cached alongside the view
+	 * returned by {@link #getExtensions()}.
+	 */
+	public <T extends TestExtension> List<T> getExtensions(Class<T> extensionType) {
+		return getExtensionsView().getExtensions(extensionType);
+	}
+
+	private ExtensionsView getExtensionsView() {
+		ExtensionsView parentView = this.parent.isPresent() ? this.parent.get().getExtensionsView() : null;
+		if (parentView != null && this.extensions.isEmpty()) {
+			// Share the parent's view, since this level adds nothing to it.
+			return parentView;
+		}
+
+		ExtensionsView view = this.extensionsView;
+		if (view == null || view.parentView != parentView) {
+			view = new ExtensionsView(parentView, this.extensions);
+			this.extensionsView = view;
+		}
+		return view;
 	}
 
 	public void addExtension(Class<? extends TestExtension> extensionClass) {
@@ -69,6 +108,38 @@ public class TestExtensionRegistry {
 			extension -> extension.getClass().equals(extensionClass));
 		if (!extensionExists) {
 			this.extensions.add(ReflectionUtils.newInstance(extensionClass));
+			this.extensionsView = null;
+		}
+	}
+
+	private static class ExtensionsView {
+
+		private final ExtensionsView parentView;
+
+		private final Set<TestExtension> allExtensions;
+
+		private final Map<Class<?>, List<?>> extensionsByType = new ConcurrentHashMap<>();
+
+		ExtensionsView(ExtensionsView parentView, Set<TestExtension> localExtensions) {
+			this.parentView = parentView;
+			Set<TestExtension> extensions = new LinkedHashSet<>();
+			if (parentView != null) {
+				extensions.addAll(parentView.allExtensions);
+			}
+			extensions.addAll(localExtensions);
+			this.allExtensions = Collections.unmodifiableSet(extensions);
+		}
+
+		@SuppressWarnings("unchecked")
+		<T extends TestExtension> List<T> getExtensions(Class<T> extensionType) {
+			return (List<T>) this.extensionsByType.computeIfAbsent(extensionType, type -> {
+				// @formatter:off
+				return Collections.unmodifiableList(this.allExtensions.stream()
+						.filter(extensionType::isInstance)
+						.map(extensionType::cast)
+						.collect(toList()));
+				// @formatter:on
+			});
 		}
 	}
 
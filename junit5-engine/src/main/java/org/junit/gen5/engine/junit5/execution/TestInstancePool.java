@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.gen5.commons.util.Preconditions;
+import org.junit.gen5.commons.util.ReflectionUtils;
+
+/**
+ * {@code TestInstancePool} creates instances of a test class ahead of time
+ * on a background executor, so that constructing the instance for the next
+ * test overlaps with the execution of the current one.
+ *
+ * <p>The executor is shared by all pools of an engine execution and is
+ * owned by the caller.
+ *
+ * <p>At most {@code prefetchCount} instances are created in advance, and
+ * no more than the total number of requested instances are created.
+ *
+ * @since 5.0
+ * @see org.junit.gen5.api.TestInstance#prefetch()
+ */
+class TestInstancePool {
+
+	private final Class<?> testClass;
+
+	private final Deque<Future<Object>> pendingInstances = new ArrayDeque<>();
+
+	private final ExecutorService executorService;
+
+	private int remainingInstances;
+
+	TestInstancePool(Class<?> testClass, int prefetchCount, int instanceCount, ExecutorService executorService) {
+		Preconditions.notNull(testClass, "testClass must not be null");
+		Preconditions.condition(prefetchCount > 0, "prefetchCount must be greater than zero");
+		Preconditions.notNull(executorService, "executorService must not be null");
+
+		this.testClass = testClass;
+		this.remainingInstances = instanceCount;
+		this.executorService = executorService;
+
+		for (int i = 0; i < prefetchCount; i++) {
+			prefetchNextInstance();
+		}
+	}
+
+	/**
+	 * Take the next prefetched instance, waiting for it to be created if
+	 * necessary, and start creating a replacement.
+	 *
+	 * @throws Exception if the test class could not be instantiated
+	 */
+	Object take() throws Exception {
+		Future<Object> nextInstance = this.pendingInstances.poll();
+		if (nextInstance == null) {
+			return ReflectionUtils.newInstance(this.testClass);
+		}
+		prefetchNextInstance();
+
+		try {
+			return nextInstance.get();
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			throw (cause instanceof Exception) ? (Exception) cause : ex;
+		}
+	}
+
+	/**
+	 * Discard all instances that have not been taken. The shared executor is
+	 * not shut down.
+	 */
+	void close() {
+		this.pendingInstances.forEach(pending -> pending.cancel(true));
+		this.pendingInstances.clear();
+	}
+
+	private void prefetchNextInstance() {
+		if (this.remainingInstances > 0) {
+			this.remainingInstances--;
+			this.pendingInstances.add(this.executorService.submit(() -> ReflectionUtils.newInstance(this.testClass)));
+		}
+	}
+
+}
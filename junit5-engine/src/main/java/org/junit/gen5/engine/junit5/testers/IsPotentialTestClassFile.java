@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.testers;
+
+import java.util.function.Predicate;
+
+import org.junit.gen5.api.Test;
+import org.junit.gen5.commons.util.ClassFileInfo;
+
+/**
+ * Cheaply rejects class files that cannot declare or inherit test methods,
+ * before their classes are loaded.
+ *
+ * <p>Since {@link Test @Test} may be used as a meta-annotation, and test
+ * methods may be inherited from superclasses as well as from default methods
+ * of interfaces, a class is only rejected if it neither extends another
+ * class, nor implements any interface, nor declares any runtime-visible
+ * annotations.
+ *
+ * @since 5.0
+ * @see IsTestClassWithTests
+ */
+public class IsPotentialTestClassFile implements Predicate<ClassFileInfo> {
+
+	@Override
+	public boolean test(ClassFileInfo candidate) {
+		return candidate.referencesType(Test.class.getName()) || candidate.hasRuntimeVisibleAnnotations()
+				|| candidate.hasSuperclassOtherThanObject() || candidate.hasInterfaces();
+	}
+
+}
@@ -12,11 +12,24 @@ package org.junit.gen5.engine.junit5.testers;
 
 import static org.junit.gen5.commons.util.ReflectionUtils.MethodSortOrder.HierarchyDown;
 
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.junit.gen5.commons.util.ReflectionUtils;
 
 /**
+ * Tests whether a class is a test class that contains at least one test
+ * method.
+ *
+ * <p>By default, the hierarchy of a class is only searched until the first
+ * test method is found. A tester that {@linkplain #IsTestClassWithTests(boolean)
+ * retains test methods} instead finds all test methods of each accepted class
+ * and keeps them until they are {@linkplain #takeTestMethods(Class) taken},
+ * so that resolving the class does not have to search its hierarchy again.
+ *
  * @since 5.0
  */
 public class IsTestClassWithTests implements Predicate<Class<?>> {
@@ -25,13 +38,51 @@ public class IsTestClassWithTests implements Predicate<Class<?>> {
 
 	private static final IsPotentialTestClass isPotentialTestClass = new IsPotentialTestClass();
 
+	private final Map<Class<?>, List<Method>> retainedTestMethods;
+
+	public IsTestClassWithTests() {
+		this(false);
+	}
+
+	public IsTestClassWithTests(boolean retainTestMethods) {
+		this.retainedTestMethods = retainTestMethods ? new ConcurrentHashMap<>() : null;
+	}
+
 	@Override
 	public boolean test(Class<?> candidate) {
 		return isPotentialTestClass.test(candidate) && hasTestMethods(candidate);
 	}
 
+	/**
+	 * Get the test methods of the supplied class in
+	 * {@linkplain ReflectionUtils.MethodSortOrder#HierarchyDown hierarchy-down}
+	 * order, using and discarding the ones retained when the class was
+	 * accepted, if any.
+	 */
+	public List<Method> takeTestMethods(Class<?> testClass) {
+		if (this.retainedTestMethods != null) {
+			List<Method> testMethods = this.retainedTestMethods.remove(testClass);
+			if (testMethods != null) {
+				return testMethods;
+			}
+		}
+		return findTestMethods(testClass);
+	}
+
 	private boolean hasTestMethods(Class<?> candidate) {
-		return !ReflectionUtils.findMethods(candidate, isTestMethod, HierarchyDown).isEmpty();
+		if (this.retainedTestMethods == null) {
+			return ReflectionUtils.anyMethodMatches(candidate, isTestMethod);
+		}
+		List<Method> testMethods = findTestMethods(candidate);
+		if (testMethods.isEmpty()) {
+			return false;
+		}
+		this.retainedTestMethods.put(candidate, testMethods);
+		return true;
+	}
+
+	private static List<Method> findTestMethods(Class<?> testClass) {
+		return ReflectionUtils.findMethods(testClass, isTestMethod, HierarchyDown);
 	}
 
 }
@@ -13,6 +13,9 @@ package org.junit.gen5.engine.junit5;
 import static org.junit.gen5.engine.TestPlanSpecification.build;
 import static org.junit.gen5.engine.TestPlanSpecification.forClass;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.junit.Assert;
 import org.junit.gen5.engine.EngineDescriptor;
 import org.junit.gen5.engine.ExecutionRequest;
@@ -34,11 +37,18 @@ abstract class AbstractJUnit5TestEngineTestCase {
 	}
 
 	protected TrackingTestExecutionListener executeTests(TestPlanSpecification spec, int expectedDescriptorCount) {
+		return executeTests(spec, expectedDescriptorCount, Collections.emptyMap());
+	}
+
+	protected TrackingTestExecutionListener executeTests(TestPlanSpecification spec, int expectedDescriptorCount,
+			Map<String, Object> attributes) {
 		EngineDescriptor engineDescriptor = discoverTests(spec);
 		Assert.assertEquals("# descriptors", expectedDescriptorCount, engineDescriptor.allChildren().size());
 
 		TrackingTestExecutionListener listener = new TrackingTestExecutionListener();
-		engine.execute(new ExecutionRequest(engineDescriptor, listener));
+		ExecutionRequest request = new ExecutionRequest(engineDescriptor, listener);
+		request.getAttributes().putAll(attributes);
+		engine.execute(request);
 		return listener;
 	}
 
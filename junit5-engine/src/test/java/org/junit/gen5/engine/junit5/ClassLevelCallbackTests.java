@@ -11,9 +11,14 @@
 package org.junit.gen5.engine.junit5;
 
 import static org.junit.gen5.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.junit.gen5.api.TestInstance.Lifecycle.PER_METHOD;
 import static org.junit.gen5.engine.TestPlanSpecification.build;
 import static org.junit.gen5.engine.TestPlanSpecification.forClass;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.junit.Assert;
 import org.junit.gen5.api.AfterAll;
 import org.junit.gen5.api.BeforeAll;
@@ -62,6 +67,21 @@ public class ClassLevelCallbackTests extends AbstractJUnit5TestEngineTestCase {
 		Assert.assertTrue("@AfterAll was not invoked", InstancePerClassTestCase.afterAllInvoked);
 	}
 
+	@org.junit.Test
+	public void testInstancesArePrefetchedAfterBeforeAllCallbacks() {
+		TestPlanSpecification spec = build(forClass(PrefetchedInstancePerMethodTestCase.class));
+
+		TrackingTestExecutionListener listener = executeTests(spec, 4);
+
+		Assert.assertEquals("# tests succeeded", 3, listener.testSucceededCount.get());
+		Assert.assertEquals("# tests failed", 0, listener.testFailedCount.get());
+
+		Assert.assertEquals("# instances created", 3, PrefetchedInstancePerMethodTestCase.instancesCreated.size());
+		Assert.assertEquals("# instances used", 3, PrefetchedInstancePerMethodTestCase.instancesUsed.size());
+		Assert.assertTrue("instances were not created before @BeforeAll",
+			PrefetchedInstancePerMethodTestCase.createdAfterBeforeAll);
+	}
+
 	// -------------------------------------------------------------------
 
 	private static class InstancePerMethodTestCase {
@@ -88,6 +108,43 @@ public class ClassLevelCallbackTests extends AbstractJUnit5TestEngineTestCase {
 		}
 	}
 
+	@TestInstance(value = PER_METHOD, prefetch = 2)
+	private static class PrefetchedInstancePerMethodTestCase {
+
+		static final Set<Object> instancesCreated = Collections.synchronizedSet(new HashSet<>());
+
+		static final Set<Object> instancesUsed = Collections.synchronizedSet(new HashSet<>());
+
+		static volatile boolean beforeAllInvoked = false;
+
+		static volatile boolean createdAfterBeforeAll = true;
+
+		PrefetchedInstancePerMethodTestCase() {
+			createdAfterBeforeAll &= beforeAllInvoked;
+			instancesCreated.add(this);
+		}
+
+		@BeforeAll
+		static void beforeAll() {
+			beforeAllInvoked = true;
+		}
+
+		@Test
+		void first() {
+			instancesUsed.add(this);
+		}
+
+		@Test
+		void second() {
+			instancesUsed.add(this);
+		}
+
+		@Test
+		void third() {
+			instancesUsed.add(this);
+		}
+	}
+
 	@TestInstance(PER_CLASS)
 	private static class InstancePerClassTestCase {
 
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5;
+
+import static org.junit.gen5.engine.TestPlanSpecification.build;
+import static org.junit.gen5.engine.TestPlanSpecification.forClass;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.gen5.api.Condition;
+import org.junit.gen5.api.Conditional;
+import org.junit.gen5.api.Test;
+import org.junit.gen5.api.extension.TestExecutionContext;
+import org.junit.gen5.engine.TestPlanSpecification;
+
+/**
+ * Integration tests that verify support for {@link Conditional} in the {@link JUnit5TestEngine}.
+ *
+ * @since 5.0
+ */
+public class ConditionalTests extends AbstractJUnit5TestEngineTestCase {
+
+	@org.junit.Test
+	public void conditionIsInstantiatedOnceAndEvaluatedForEachTest() {
+		TestPlanSpecification spec = build(forClass(ConditionalTestCase.class));
+		TrackingTestExecutionListener listener = executeTests(spec, 3);
+
+		Assert.assertEquals("# tests succeeded", 2, listener.testSucceededCount.get());
+		Assert.assertEquals("# instances", 1, CountingCondition.instanceCount.get());
+		Assert.assertEquals("# evaluations", 3, CountingCondition.evaluationCount.get());
+	}
+
+	@org.junit.Test
+	public void deterministicConditionIsEvaluatedOncePerAnnotatedElement() {
+		TestPlanSpecification spec = build(forClass(DeterministicConditionalTestCase.class));
+		TrackingTestExecutionListener listener = executeTests(spec, 3);
+
+		Assert.assertEquals("# tests succeeded", 2, listener.testSucceededCount.get());
+		Assert.assertEquals("# instances", 1, DeterministicCountingCondition.instanceCount.get());
+		Assert.assertEquals("# evaluations", 1, DeterministicCountingCondition.evaluationCount.get());
+	}
+
+	@org.junit.Test
+	public void deterministicConditionResultsAreNotReusedAcrossEngineExecutions() {
+		TestPlanSpecification spec = build(forClass(RepeatedlyExecutedTestCase.class));
+		executeTests(spec, 2);
+		TrackingTestExecutionListener listener = executeTests(spec, 2);
+
+		Assert.assertEquals("# tests succeeded", 1, listener.testSucceededCount.get());
+		Assert.assertEquals("# instances", 1, PerExecutionCountingCondition.instanceCount.get());
+		Assert.assertEquals("# evaluations", 2, PerExecutionCountingCondition.evaluationCount.get());
+	}
+
+	// -------------------------------------------------------------------
+
+	@Conditional(CountingCondition.class)
+	private static class ConditionalTestCase {
+
+		@Test
+		void firstTest() {
+		}
+
+		@Test
+		void secondTest() {
+		}
+	}
+
+	@Conditional(value = DeterministicCountingCondition.class, deterministic = true)
+	private static class DeterministicConditionalTestCase {
+
+		@Test
+		void firstTest() {
+		}
+
+		@Test
+		void secondTest() {
+		}
+	}
+
+	@Conditional(value = PerExecutionCountingCondition.class, deterministic = true)
+	private static class RepeatedlyExecutedTestCase {
+
+		@Test
+		void test() {
+		}
+	}
+
+	private static class CountingCondition implements Condition {
+
+		static final AtomicInteger instanceCount = new AtomicInteger();
+
+		static final AtomicInteger evaluationCount = new AtomicInteger();
+
+		CountingCondition() {
+			instanceCount.incrementAndGet();
+		}
+
+		@Override
+		public Result evaluate(TestExecutionContext context) {
+			evaluationCount.incrementAndGet();
+			return Result.success("counted");
+		}
+	}
+
+	private static class DeterministicCountingCondition implements Condition {
+
+		static final AtomicInteger instanceCount = new AtomicInteger();
+
+		static final AtomicInteger evaluationCount = new AtomicInteger();
+
+		DeterministicCountingCondition() {
+			instanceCount.incrementAndGet();
+		}
+
+		@Override
+		public Result evaluate(TestExecutionContext context) {
+			evaluationCount.incrementAndGet();
+			return Result.success("counted");
+		}
+	}
+
+	private static class PerExecutionCountingCondition implements Condition {
+
+		static final AtomicInteger instanceCount = new AtomicInteger();
+
+		static final AtomicInteger evaluationCount = new AtomicInteger();
+
+		PerExecutionCountingCondition() {
+			instanceCount.incrementAndGet();
+		}
+
+		@Override
+		public Result evaluate(TestExecutionContext context) {
+			evaluationCount.incrementAndGet();
+			return Result.success("counted");
+		}
+	}
+
+}
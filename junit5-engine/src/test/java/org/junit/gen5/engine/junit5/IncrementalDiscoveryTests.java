@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5;
+
+import static org.junit.gen5.engine.TestPlanSpecification.build;
+import static org.junit.gen5.engine.TestPlanSpecification.forClass;
+import static org.junit.gen5.engine.TestPlanSpecification.forMethod;
+import static org.junit.gen5.engine.TestPlanSpecification.forPackage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.gen5.api.Test;
+import org.junit.gen5.engine.EngineDescriptor;
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestPlanSpecification;
+import org.junit.gen5.engine.junit5.descriptor.subpackage.Class1WithTestCases;
+import org.junit.gen5.engine.junit5.descriptor.subpackage.Class2WithTestCases;
+
+/**
+ * Tests that verify incremental discovery in the {@link JUnit5TestEngine}.
+ *
+ * @since 5.0
+ */
+public class IncrementalDiscoveryTests {
+
+	private final JUnit5TestEngine engine = new JUnit5TestEngine();
+
+	@org.junit.Test
+	public void eachClassFoundInPackageIsEmittedAsSeparateBatch() {
+		List<EngineDescriptor> batches = discover(build(forPackage(Class1WithTestCases.class.getPackage().getName())));
+
+		Assert.assertEquals(2, batches.size());
+		Assert.assertEquals("junit5:" + Class1WithTestCases.class.getName(), topLevelUniqueId(batches.get(0)));
+		Assert.assertEquals("junit5:" + Class2WithTestCases.class.getName(), topLevelUniqueId(batches.get(1)));
+	}
+
+	@org.junit.Test
+	public void testsAreEmittedOnlyOnce() throws Exception {
+		// @formatter:off
+		TestPlanSpecification spec = build(
+			forMethod(TestCase.class, TestCase.class.getDeclaredMethod("firstTest")),
+			forClass(TestCase.class),
+			forMethod(TestCase.class, TestCase.class.getDeclaredMethod("secondTest"))
+		);
+		// @formatter:on
+		List<EngineDescriptor> batches = discover(spec);
+
+		Assert.assertEquals(2, batches.size());
+		Assert.assertEquals(2, batches.get(0).allChildren().size());
+		Assert.assertEquals(2, batches.get(1).allChildren().size());
+		TestDescriptor secondBatchClass = batches.get(1).getChildren().iterator().next();
+		Assert.assertEquals(1, secondBatchClass.getChildren().size());
+		Assert.assertTrue(secondBatchClass.getChildren().iterator().next().getUniqueId().endsWith("#secondTest()"));
+	}
+
+	private List<EngineDescriptor> discover(TestPlanSpecification spec) {
+		List<EngineDescriptor> batches = new ArrayList<>();
+		engine.discoverTests(spec, batches::add);
+		return batches;
+	}
+
+	private static String topLevelUniqueId(EngineDescriptor batch) {
+		Assert.assertEquals(1, batch.getChildren().size());
+		return batch.getChildren().iterator().next().getUniqueId();
+	}
+
+	// -------------------------------------------------------------------
+
+	private static class TestCase {
+
+		@Test
+		void firstTest() {
+		}
+
+		@Test
+		void secondTest() {
+		}
+	}
+
+}
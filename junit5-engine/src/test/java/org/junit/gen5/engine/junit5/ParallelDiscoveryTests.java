@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5;
+
+import static org.junit.gen5.engine.TestPlanSpecification.build;
+import static org.junit.gen5.engine.TestPlanSpecification.forClass;
+import static org.junit.gen5.engine.TestPlanSpecification.forMethod;
+import static org.junit.gen5.engine.TestPlanSpecification.forPackage;
+import static org.junit.gen5.engine.TestPlanSpecification.forUniqueId;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.gen5.api.Nested;
+import org.junit.gen5.api.Test;
+import org.junit.gen5.engine.EngineDescriptor;
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.TestPlanSpecification;
+import org.junit.gen5.engine.junit5.descriptor.subpackage.Class1WithTestCases;
+
+/**
+ * Tests that verify that parallel discovery in the {@link JUnit5TestEngine}
+ * yields the same descriptor tree as sequential discovery.
+ *
+ * @since 5.0
+ */
+public class ParallelDiscoveryTests {
+
+	private final JUnit5TestEngine engine = new JUnit5TestEngine();
+
+	@org.junit.Test
+	public void parallelDiscoveryYieldsSameDescriptorsInSameOrder() throws Exception {
+		List<String> sequentialIds = discover(false);
+		List<String> parallelIds = discover(true);
+
+		Assert.assertEquals(sequentialIds, parallelIds);
+		Assert.assertTrue(parallelIds.contains("junit5:" + TestCase.class.getName() + "@NestedTestCase#nestedTest()"));
+	}
+
+	@org.junit.Test
+	public void elementsOfTheSameClassYieldSameDescriptorsInSameOrder() throws Exception {
+		String classId = "junit5:" + TestCase.class.getName();
+		// @formatter:off
+		TestPlanSpecification spec = build(
+			forUniqueId(classId + "#secondTest()"),
+			forClass(Class1WithTestCases.class),
+			forUniqueId(classId + "@NestedTestCase#nestedTest()"),
+			forPackage("org.junit.gen5.engine.junit5.descriptor.subpackage"),
+			forMethod(TestCase.class, TestCase.class.getDeclaredMethod("firstTest")),
+			forUniqueId(classId + "#secondTest()")
+		);
+		// @formatter:on
+
+		List<String> sequentialIds = discoverInTreeOrder(spec, false);
+		List<String> parallelIds = discoverInTreeOrder(spec, true);
+
+		Assert.assertEquals(sequentialIds, parallelIds);
+		Assert.assertEquals(10, parallelIds.size());
+	}
+
+	private List<String> discoverInTreeOrder(TestPlanSpecification spec, boolean parallel) {
+		spec.setParallelDiscoveryEnabled(parallel);
+		EngineDescriptor engineDescriptor = new EngineDescriptor(engine);
+		engine.discoverTests(spec, engineDescriptor);
+
+		List<String> uniqueIds = new ArrayList<>();
+		collectInTreeOrder(engineDescriptor, uniqueIds);
+		return uniqueIds;
+	}
+
+	private static void collectInTreeOrder(TestDescriptor descriptor, List<String> uniqueIds) {
+		uniqueIds.add(descriptor.getUniqueId());
+		descriptor.getChildren().forEach(child -> collectInTreeOrder(child, uniqueIds));
+	}
+
+	private List<String> discover(boolean parallel) throws Exception {
+		// @formatter:off
+		TestPlanSpecification spec = build(
+			forMethod(TestCase.class, TestCase.class.getDeclaredMethod("secondTest")),
+			forPackage("org.junit.gen5.engine.junit5.descriptor.subpackage"),
+			forClass(TestCase.NestedTestCase.class),
+			forClass(TestCase.class)
+		);
+		// @formatter:on
+		spec.setParallelDiscoveryEnabled(parallel);
+
+		EngineDescriptor engineDescriptor = new EngineDescriptor(engine);
+		engine.discoverTests(spec, engineDescriptor);
+
+		List<String> uniqueIds = new ArrayList<>();
+		engineDescriptor.accept((descriptor, remove) -> uniqueIds.add(descriptor.getUniqueId()));
+		Assert.assertEquals(uniqueIds.size() - 1, engineDescriptor.allChildren().size());
+		return uniqueIds;
+	}
+
+	// -------------------------------------------------------------------
+
+	private static class TestCase {
+
+		@Test
+		void firstTest() {
+		}
+
+		@Test
+		void secondTest() {
+		}
+
+		@Nested
+		class NestedTestCase {
+
+			@Test
+			void nestedTest() {
+			}
+		}
+	}
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5;
+
+import static org.junit.gen5.engine.TestPlanSpecification.build;
+import static org.junit.gen5.engine.TestPlanSpecification.forClass;
+
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.gen5.api.AfterAll;
+import org.junit.gen5.api.BeforeAll;
+import org.junit.gen5.api.Test;
+import org.junit.gen5.api.TestInstance;
+import org.junit.gen5.api.TestInstance.Lifecycle;
+import org.junit.gen5.api.extension.ExtendWith;
+import org.junit.gen5.api.extension.MethodParameterResolver;
+import org.junit.gen5.api.extension.TestExecutionContext;
+import org.junit.gen5.engine.TestPlanSpecification;
+
+/**
+ * Integration tests that verify support for parallel execution of test
+ * classes and concurrent execution of test methods in the
+ * {@link JUnit5TestEngine}.
+ *
+ * @since 5.0
+ */
+public class ParallelExecutionTests extends AbstractJUnit5TestEngineTestCase {
+
+	private static CountDownLatch latch;
+
+	private static final List<String> callSequence = new CopyOnWriteArrayList<>();
+
+	private static final AtomicInteger activeTests = new AtomicInteger();
+
+	private static final AtomicInteger maxActiveTests = new AtomicInteger();
+
+	@Before
+	public void resetState() {
+		latch = new CountDownLatch(2);
+		callSequence.clear();
+		activeTests.set(0);
+		maxActiveTests.set(0);
+	}
+
+	@org.junit.Test
+	public void testClassesAreExecutedConcurrently() {
+		TestPlanSpecification spec = build(forClass(FirstTestCase.class), forClass(SecondTestCase.class));
+
+		TrackingTestExecutionListener listener = executeTests(spec, 4, parallelExecution(2));
+
+		Assert.assertEquals("# tests started", 2, listener.testStartedCount.get());
+		Assert.assertEquals("# tests succeeded", 2, listener.testSucceededCount.get());
+		Assert.assertEquals("# tests failed", 0, listener.testFailedCount.get());
+	}
+
+	@org.junit.Test
+	public void classLevelCallbacksAreOrderedPerClass() {
+		TestPlanSpecification spec = build(forClass(FirstTestCase.class), forClass(SecondTestCase.class));
+
+		executeTests(spec, 4, parallelExecution(2));
+
+		assertOrdered("first");
+		assertOrdered("second");
+	}
+
+	@org.junit.Test
+	public void testMethodsAreExecutedConcurrentlyOnSeparateThreads() {
+		TestPlanSpecification spec = build(forClass(BlockingTestCase.class));
+
+		TrackingTestExecutionListener listener = executeTests(spec, 3, concurrentMethodExecution(2));
+
+		Assert.assertEquals("# tests started", 2, listener.testStartedCount.get());
+		Assert.assertEquals("# tests succeeded", 2, listener.testSucceededCount.get());
+		Assert.assertEquals("# tests failed", 0, listener.testFailedCount.get());
+		Assert.assertEquals("@AfterAll executed last", "blocking:afterAll",
+			callSequence.get(callSequence.size() - 1));
+	}
+
+	@org.junit.Test
+	public void concurrentlyExecutedTestMethodsDoNotShareTheirTestInstanceContext() {
+		TestPlanSpecification spec = build(forClass(InstanceContextTestCase.class));
+
+		TrackingTestExecutionListener listener = executeTests(spec, 3, concurrentMethodExecution(2));
+
+		Assert.assertEquals("# tests started", 2, listener.testStartedCount.get());
+		Assert.assertEquals("# tests succeeded", 2, listener.testSucceededCount.get());
+		Assert.assertEquals("# tests failed", 0, listener.testFailedCount.get());
+	}
+
+	@org.junit.Test
+	public void testMethodsSharingTheirTestInstanceAreExecutedSequentially() {
+		TestPlanSpecification spec = build(forClass(SharedInstanceTestCase.class));
+
+		TrackingTestExecutionListener listener = executeTests(spec, 4, concurrentMethodExecution(2));
+
+		Assert.assertEquals("# tests succeeded", 3, listener.testSucceededCount.get());
+		Assert.assertEquals("# tests failed", 0, listener.testFailedCount.get());
+		Assert.assertEquals("max # of concurrently executing tests", 1, maxActiveTests.get());
+	}
+
+	private void assertOrdered(String prefix) {
+		int beforeAll = callSequence.indexOf(prefix + ":beforeAll");
+		int test = callSequence.indexOf(prefix + ":test");
+		int afterAll = callSequence.indexOf(prefix + ":afterAll");
+
+		Assert.assertTrue(prefix + ": @BeforeAll before test", beforeAll >= 0 && beforeAll < test);
+		Assert.assertTrue(prefix + ": test before @AfterAll", test < afterAll);
+	}
+
+	private static Map<String, Object> parallelExecution(int parallelism) {
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put(JUnit5TestEngine.PARALLEL_EXECUTION_ATTRIBUTE, true);
+		attributes.put(JUnit5TestEngine.PARALLELISM_ATTRIBUTE, parallelism);
+		return attributes;
+	}
+
+	private static Map<String, Object> concurrentMethodExecution(int maxConcurrency) {
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put(JUnit5TestEngine.METHOD_EXECUTION_STRATEGY_ATTRIBUTE,
+			JUnit5TestEngine.VIRTUAL_THREAD_METHOD_EXECUTION);
+		attributes.put(JUnit5TestEngine.METHOD_CONCURRENCY_ATTRIBUTE, maxConcurrency);
+		return attributes;
+	}
+
+	private static void awaitOtherTest() throws InterruptedException {
+		latch.countDown();
+		Assert.assertTrue("tests were not executed concurrently", latch.await(5, TimeUnit.SECONDS));
+	}
+
+	// -------------------------------------------------------------------
+
+	private static class FirstTestCase {
+
+		@BeforeAll
+		static void beforeAll() {
+			callSequence.add("first:beforeAll");
+		}
+
+		@AfterAll
+		static void afterAll() {
+			callSequence.add("first:afterAll");
+		}
+
+		@Test
+		void test() throws InterruptedException {
+			callSequence.add("first:test");
+			awaitOtherTest();
+		}
+	}
+
+	private static class SecondTestCase {
+
+		@BeforeAll
+		static void beforeAll() {
+			callSequence.add("second:beforeAll");
+		}
+
+		@AfterAll
+		static void afterAll() {
+			callSequence.add("second:afterAll");
+		}
+
+		@Test
+		void test() throws InterruptedException {
+			callSequence.add("second:test");
+			awaitOtherTest();
+		}
+	}
+
+	private static class BlockingTestCase {
+
+		@AfterAll
+		static void afterAll() {
+			callSequence.add("blocking:afterAll");
+		}
+
+		@Test
+		void first() throws InterruptedException {
+			awaitOtherTest();
+			callSequence.add("blocking:first");
+		}
+
+		@Test
+		void second() throws InterruptedException {
+			awaitOtherTest();
+			callSequence.add("blocking:second");
+		}
+	}
+
+	@TestInstance(Lifecycle.PER_CLASS)
+	private static class SharedInstanceTestCase {
+
+		@Test
+		void first() throws InterruptedException {
+			trackActiveTests();
+		}
+
+		@Test
+		void second() throws InterruptedException {
+			trackActiveTests();
+		}
+
+		@Test
+		void third() throws InterruptedException {
+			trackActiveTests();
+		}
+
+		private void trackActiveTests() throws InterruptedException {
+			maxActiveTests.accumulateAndGet(activeTests.incrementAndGet(), Math::max);
+			// Give other tests the chance to overlap.
+			Thread.sleep(50);
+			activeTests.decrementAndGet();
+		}
+	}
+
+	@ExtendWith(TestExecutionContextParameterResolver.class)
+	private static class InstanceContextTestCase {
+
+		@Test
+		void first(TestExecutionContext context) throws InterruptedException {
+			awaitOtherTest();
+			assertTestInstanceOfParentContext(context);
+		}
+
+		@Test
+		void second(TestExecutionContext context) throws InterruptedException {
+			awaitOtherTest();
+			assertTestInstanceOfParentContext(context);
+		}
+
+		private void assertTestInstanceOfParentContext(TestExecutionContext context) {
+			Assert.assertSame(this, context.getParent().get().getTestInstance().get());
+		}
+	}
+
+	public static class TestExecutionContextParameterResolver implements MethodParameterResolver {
+
+		@Override
+		public boolean supports(Parameter parameter) {
+			return parameter.getType() == TestExecutionContext.class;
+		}
+
+		@Override
+		public Object resolve(Parameter parameter, TestExecutionContext testExecutionContext) {
+			return testExecutionContext;
+		}
+	}
+
+}
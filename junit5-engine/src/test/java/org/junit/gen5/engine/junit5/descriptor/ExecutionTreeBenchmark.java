@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.descriptor;
+
+import java.lang.reflect.Method;
+
+import org.junit.gen5.engine.EngineDescriptor;
+import org.junit.gen5.engine.junit5.JUnit5TestEngine;
+import org.junit.gen5.engine.junit5.execution.EngineTestExecutionNode;
+import org.junit.gen5.engine.junit5.execution.TestExecutionNodeBuilder;
+
+/**
+ * Measures the time and heap needed to build the execution tree for a
+ * synthetic test plan of 500,000 tests.
+ *
+ * <p>This is not a test; run its {@code main} method with the test
+ * classpath, optionally passing the number of classes and the number of
+ * methods per class.
+ *
+ * @since 5.0
+ */
+public class ExecutionTreeBenchmark {
+
+	private static final int ITERATIONS = 5;
+
+	// keeps the measured tree reachable while the heap is sampled
+	private static volatile EngineTestExecutionNode retained;
+
+	public static void main(String... args) throws Exception {
+		int classCount = (args.length > 0 ? Integer.parseInt(args[0]) : 25_000);
+		int methodsPerClass = (args.length > 1 ? Integer.parseInt(args[1]) : 20);
+
+		EngineDescriptor engineDescriptor = createTestPlan(classCount, methodsPerClass);
+		TestExecutionNodeBuilder builder = new TestExecutionNodeBuilder();
+
+		long bestNanos = Long.MAX_VALUE;
+		for (int i = 0; i < ITERATIONS; i++) {
+			long start = System.nanoTime();
+			builder.buildExecutionTree(engineDescriptor);
+			bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+		}
+
+		long heapBefore = usedHeap();
+		retained = builder.buildExecutionTree(engineDescriptor);
+		long heapAfter = usedHeap();
+
+		System.out.printf("tests: %,d (%,d classes x %,d methods)%n", classCount * methodsPerClass, classCount,
+			methodsPerClass);
+		System.out.printf("build time (best of %d): %,d ms%n", ITERATIONS, bestNanos / 1_000_000);
+		System.out.printf("execution tree heap: %,d KiB%n", (heapAfter - heapBefore) / 1024);
+	}
+
+	private static EngineDescriptor createTestPlan(int classCount, int methodsPerClass) throws Exception {
+		Method testMethod = SampleTestCase.class.getDeclaredMethod("test");
+		EngineDescriptor engineDescriptor = new EngineDescriptor(new JUnit5TestEngine());
+		for (int c = 0; c < classCount; c++) {
+			String classId = engineDescriptor.getUniqueId() + ":Class" + c;
+			ClassTestDescriptor classDescriptor = new ClassTestDescriptor(classId, SampleTestCase.class);
+			for (int m = 0; m < methodsPerClass; m++) {
+				classDescriptor.addChild(new MethodTestDescriptor(classId + "#test" + m + "()", testMethod));
+			}
+			engineDescriptor.addChild(classDescriptor);
+		}
+		return engineDescriptor;
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static class SampleTestCase {
+
+		@org.junit.gen5.api.Test
+		void test() {
+		}
+	}
+
+}
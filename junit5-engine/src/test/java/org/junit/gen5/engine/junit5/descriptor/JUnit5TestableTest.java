@@ -128,6 +128,21 @@ public class JUnit5TestableTest {
 		Assert.assertSame(testMethod, testable.getJavaMethod());
 	}
 
+	@org.junit.Test
+	public void factoryResolvesSharedUniqueIdPrefixesOnce() {
+		JUnit5TestableFactory factory = new JUnit5TestableFactory(engineDescriptor.getUniqueId());
+
+		JUnit5Class classTestable = (JUnit5Class) factory.fromUniqueId(
+			"junit5:org.junit.gen5.engine.junit5.descriptor.ATestClass$AnInnerTestClass");
+		JUnit5Method methodTestable = (JUnit5Method) factory.fromUniqueId(
+			"junit5:org.junit.gen5.engine.junit5.descriptor.ATestClass$AnInnerTestClass#test2()");
+
+		Assert.assertSame(classTestable, factory.fromClass(ATestClass.AnInnerTestClass.class));
+		Assert.assertSame(ATestClass.AnInnerTestClass.class, methodTestable.getContainerClass());
+		Assert.assertSame(methodTestable, factory.fromUniqueId(
+			"junit5:org.junit.gen5.engine.junit5.descriptor.ATestClass$AnInnerTestClass#test2()"));
+	}
+
 }
 
 class ATestClass {
@@ -267,6 +267,19 @@ public class SpecificationResolverTest {
 			"junit5:org.junit.gen5.engine.junit5.descriptor.subpackage.Class2WithTestCases#test2()"));
 	}
 
+	@org.junit.Test
+	public void testPackageResolutionOfClassInheritingDefaultTestMethods() {
+		PackageSpecification specification = new PackageSpecification(
+			"org.junit.gen5.engine.junit5.descriptor.defaultmethods");
+		resolver.resolveElement(specification);
+
+		String classId = "junit5:org.junit.gen5.engine.junit5.descriptor.defaultmethods.ClassImplementingTestInterface";
+		assertEquals(2, engineDescriptor.allChildren().size());
+		List<String> uniqueIds = uniqueIds();
+		assertTrue(uniqueIds.contains(classId));
+		assertTrue(uniqueIds.contains(classId + "#defaultTest()"));
+	}
+
 	@org.junit.Test
 	public void testNestedTestResolutionFromBaseClass() {
 		ClassSpecification specification = new ClassSpecification(TestCaseWithNesting.class);
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.gen5.api.AfterAll;
+import org.junit.gen5.api.AfterEach;
+import org.junit.gen5.api.BeforeAll;
+import org.junit.gen5.api.BeforeEach;
+import org.junit.gen5.api.TestInstance;
+import org.junit.gen5.api.TestInstance.Lifecycle;
+import org.junit.gen5.api.extension.ExtendWith;
+import org.junit.gen5.engine.junit5.execution.injection.sample.CustomTypeParameterResolver;
+import org.junit.gen5.engine.junit5.extension.TestNameParameterResolver;
+
+/**
+ * Unit tests for {@link ClassLifecycleMetadata}.
+ *
+ * @since 5.0
+ */
+public class ClassLifecycleMetadataTests {
+
+	@Test
+	public void beforeMethodsAreOrderedFromSuperclassToSubclass() {
+		ClassLifecycleMetadata metadata = ClassLifecycleMetadata.forClass(ChildTestCase.class);
+
+		Assert.assertEquals(asList("parentBeforeAll", "childBeforeAll"), names(metadata.getBeforeAllMethods()));
+		Assert.assertEquals(asList("parentBeforeEach", "childBeforeEach"), names(metadata.getBeforeEachMethods()));
+	}
+
+	@Test
+	public void afterMethodsAreOrderedFromSubclassToSuperclass() {
+		ClassLifecycleMetadata metadata = ClassLifecycleMetadata.forClass(ChildTestCase.class);
+
+		Assert.assertEquals(asList("childAfterAll", "parentAfterAll"), names(metadata.getAfterAllMethods()));
+		Assert.assertEquals(asList("childAfterEach", "parentAfterEach"), names(metadata.getAfterEachMethods()));
+	}
+
+	@Test
+	public void overriddenLifecycleMethodsAreOnlyIncludedOnce() {
+		ClassLifecycleMetadata metadata = ClassLifecycleMetadata.forClass(OverridingTestCase.class);
+
+		Assert.assertEquals(asList("parentBeforeEach"), names(metadata.getBeforeEachMethods()));
+		Assert.assertEquals(OverridingTestCase.class, metadata.getBeforeEachMethods().get(0).getDeclaringClass());
+	}
+
+	@Test
+	public void superclassMetadataIsNotAffectedBySubclasses() {
+		ClassLifecycleMetadata.forClass(ChildTestCase.class);
+		ClassLifecycleMetadata metadata = ClassLifecycleMetadata.forClass(ParentTestCase.class);
+
+		Assert.assertEquals(asList("parentBeforeEach"), names(metadata.getBeforeEachMethods()));
+		Assert.assertEquals(asList("parentAfterEach"), names(metadata.getAfterEachMethods()));
+	}
+
+	@Test
+	public void lifecycleDefaultsToPerMethodWithoutPrefetching() {
+		ClassLifecycleMetadata metadata = ClassLifecycleMetadata.forClass(ParentTestCase.class);
+
+		Assert.assertEquals(Lifecycle.PER_METHOD, metadata.getLifecycle());
+		Assert.assertEquals(0, metadata.getPrefetchCount());
+		Assert.assertFalse(metadata.getConditional().isPresent());
+	}
+
+	@Test
+	public void lifecycleAndExtensionsAreTakenFromAnnotations() {
+		ClassLifecycleMetadata metadata = ClassLifecycleMetadata.forClass(ChildTestCase.class);
+
+		Assert.assertEquals(Lifecycle.PER_METHOD, metadata.getLifecycle());
+		Assert.assertEquals(2, metadata.getPrefetchCount());
+		Assert.assertEquals(asList(CustomTypeParameterResolver.class, TestNameParameterResolver.class),
+			metadata.getExtensionClasses());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void cachedMethodsCannotBeModified() {
+		ClassLifecycleMetadata.forClass(ChildTestCase.class).getBeforeEachMethods().clear();
+	}
+
+	private static List<String> names(List<Method> methods) {
+		return methods.stream().map(Method::getName).collect(toList());
+	}
+
+	// -------------------------------------------------------------------
+
+	private static class ParentTestCase {
+
+		@BeforeAll
+		static void parentBeforeAll() {
+		}
+
+		@AfterAll
+		static void parentAfterAll() {
+		}
+
+		@BeforeEach
+		void parentBeforeEach() {
+		}
+
+		@AfterEach
+		void parentAfterEach() {
+		}
+	}
+
+	@TestInstance(value = Lifecycle.PER_METHOD, prefetch = 2)
+	@ExtendWith({ CustomTypeParameterResolver.class, TestNameParameterResolver.class })
+	private static class ChildTestCase extends ParentTestCase {
+
+		@BeforeAll
+		static void childBeforeAll() {
+		}
+
+		@AfterAll
+		static void childAfterAll() {
+		}
+
+		@BeforeEach
+		void childBeforeEach() {
+		}
+
+		@AfterEach
+		void childAfterEach() {
+		}
+	}
+
+	private static class OverridingTestCase extends ParentTestCase {
+
+		@BeforeEach
+		@Override
+		void parentBeforeEach() {
+		}
+	}
+
+}
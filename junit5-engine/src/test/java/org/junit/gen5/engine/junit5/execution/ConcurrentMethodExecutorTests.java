@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ConcurrentMethodExecutor}.
+ *
+ * @since 5.0
+ */
+public class ConcurrentMethodExecutorTests {
+
+	private final ConcurrentMethodExecutor executor = new ConcurrentMethodExecutor(1);
+
+	@After
+	public void shutdownExecutor() {
+		this.executor.shutdown();
+	}
+
+	@Test
+	public void submitBlocksUntilAConcurrencyPermitIsAvailable() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Future<?> blockingTask = this.executor.submit(() -> await(release));
+
+		AtomicReference<Future<?>> secondTask = new AtomicReference<>();
+		Thread submitter = new Thread(() -> secondTask.set(this.executor.submit(() -> {
+		})));
+		submitter.start();
+		submitter.join(200);
+		Assert.assertTrue("second task was submitted without a permit", submitter.isAlive());
+		Assert.assertNull(secondTask.get());
+
+		release.countDown();
+		submitter.join(5000);
+		Assert.assertFalse(submitter.isAlive());
+		blockingTask.get(5, TimeUnit.SECONDS);
+		secondTask.get().get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void permitIsReleasedIfTaskFails() throws Exception {
+		Future<?> failingTask = this.executor.submit(() -> {
+			throw new IllegalStateException("task failure");
+		});
+		try {
+			failingTask.get(5, TimeUnit.SECONDS);
+			Assert.fail("exception expected");
+		}
+		catch (ExecutionException ex) {
+			Assert.assertEquals("task failure", ex.getCause().getMessage());
+		}
+
+		this.executor.submit(() -> {
+		}).get(5, TimeUnit.SECONDS);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
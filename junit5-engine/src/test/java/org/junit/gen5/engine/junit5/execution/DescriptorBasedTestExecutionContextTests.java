@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+import java.lang.reflect.Field;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.gen5.engine.EngineDescriptor;
+import org.junit.gen5.engine.junit5.JUnit5TestEngine;
+
+/**
+ * Unit tests for {@link DescriptorBasedTestExecutionContext}.
+ *
+ * @since 5.0
+ */
+public class DescriptorBasedTestExecutionContextTests {
+
+	private final DescriptorBasedTestExecutionContext classContext = new DescriptorBasedTestExecutionContext(
+		new EngineDescriptor(new JUnit5TestEngine()), null, null);
+
+	@Test
+	public void instanceContextsShareTheAttributesOfTheirClassContext() {
+		DescriptorBasedTestExecutionContext first = this.classContext.createInstanceContext();
+		DescriptorBasedTestExecutionContext second = this.classContext.createInstanceContext();
+
+		first.getAttributes().put("key", "value");
+
+		Assert.assertEquals("value", this.classContext.getAttributes().get("key"));
+		Assert.assertEquals("value", second.getAttributes().get("key"));
+	}
+
+	@Test
+	public void creatingInstanceContextsDoesNotCreateAttributes() throws Exception {
+		this.classContext.createInstanceContext();
+
+		Field attributes = DescriptorBasedTestExecutionContext.class.getDeclaredField("attributes");
+		attributes.setAccessible(true);
+		Assert.assertNull(attributes.get(this.classContext));
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+import static org.junit.gen5.engine.TestPlanSpecification.build;
+import static org.junit.gen5.engine.TestPlanSpecification.forClass;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.gen5.api.Nested;
+import org.junit.gen5.engine.EngineDescriptor;
+import org.junit.gen5.engine.TestDescriptor;
+import org.junit.gen5.engine.junit5.JUnit5TestEngine;
+
+/**
+ * Unit tests for {@link ExecutionTree} as built by
+ * {@link TestExecutionNodeBuilder}.
+ *
+ * @since 5.0
+ */
+public class ExecutionTreeTests {
+
+	@Test
+	public void childrenAndParentsMirrorTheDescriptorTree() {
+		JUnit5TestEngine engine = new JUnit5TestEngine();
+		EngineDescriptor engineDescriptor = new EngineDescriptor(engine);
+		engine.discoverTests(build(forClass(TestCase.class), forClass(OtherTestCase.class)), engineDescriptor);
+
+		EngineTestExecutionNode root = new TestExecutionNodeBuilder().buildExecutionTree(engineDescriptor);
+
+		Assert.assertNull(root.getParent());
+		assertMirrors(engineDescriptor, root);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void childIndexIsCheckedAgainstTheChildCountOfItsNode() {
+		JUnit5TestEngine engine = new JUnit5TestEngine();
+		EngineDescriptor engineDescriptor = new EngineDescriptor(engine);
+		engine.discoverTests(build(forClass(TestCase.class), forClass(OtherTestCase.class)), engineDescriptor);
+
+		EngineTestExecutionNode root = new TestExecutionNodeBuilder().buildExecutionTree(engineDescriptor);
+
+		// the next node in the flat arrays belongs to a sibling, not to this node
+		root.getChild(0).getChild(root.getChild(0).getChildCount());
+	}
+
+	private static void assertMirrors(TestDescriptor descriptor, TestExecutionNode node) {
+		Assert.assertSame(descriptor, node.getTestDescriptor());
+		Assert.assertEquals(descriptor.getChildren().size(), node.getChildCount());
+		int i = 0;
+		for (TestDescriptor childDescriptor : descriptor.getChildren()) {
+			TestExecutionNode child = node.getChild(i++);
+			Assert.assertSame(node, child.getParent());
+			assertMirrors(childDescriptor, child);
+		}
+	}
+
+	// -------------------------------------------------------------------
+
+	private static class TestCase {
+
+		@org.junit.gen5.api.Test
+		void firstTest() {
+		}
+
+		@org.junit.gen5.api.Test
+		void secondTest() {
+		}
+
+		@Nested
+		class NestedTestCase {
+
+			@org.junit.gen5.api.Test
+			void nestedTest() {
+			}
+		}
+	}
+
+	private static class OtherTestCase {
+
+		@org.junit.gen5.api.Test
+		void otherTest() {
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.gen5.api.extension.MethodParameterResolver;
+import org.junit.gen5.engine.junit5.execution.injection.sample.CustomTypeParameterResolver;
+import org.junit.gen5.engine.junit5.extension.TestNameParameterResolver;
+
+/**
+ * Unit tests for {@link MethodInvocationPlan}.
+ *
+ * @since 5.0
+ */
+public class MethodInvocationPlanTests {
+
+	@Test
+	public void plansAreCachedPerMethod() throws Exception {
+		Method method = FirstTestCase.class.getDeclaredMethod("test", String.class);
+
+		MethodInvocationPlan plan = MethodInvocationPlan.forMethod(method);
+
+		Assert.assertSame(plan, MethodInvocationPlan.forMethod(method));
+		Assert.assertSame(plan, MethodInvocationPlan.forMethod(FirstTestCase.class.getDeclaredMethod("test",
+			String.class)));
+		Assert.assertEquals(method, plan.getMethod());
+		Assert.assertEquals(1, plan.getParameterCount());
+		Assert.assertEquals(String.class, plan.getParameter(0).getType());
+	}
+
+	@Test
+	public void plansAreIsolatedPerClass() throws Exception {
+		MethodInvocationPlan first = MethodInvocationPlan.forMethod(
+			FirstTestCase.class.getDeclaredMethod("test", String.class));
+		MethodInvocationPlan second = MethodInvocationPlan.forMethod(
+			SecondTestCase.class.getDeclaredMethod("test", String.class));
+
+		Assert.assertNotSame(first, second);
+		Assert.assertEquals("first:value", first.invoke(new FirstTestCase(), new Object[] { "value" }));
+		Assert.assertEquals("second:value", second.invoke(new SecondTestCase(), new Object[] { "value" }));
+	}
+
+	@Test
+	public void invocationRethrowsExceptionOfInvokedMethodUnchanged() throws Exception {
+		MethodInvocationPlan plan = MethodInvocationPlan.forMethod(
+			FirstTestCase.class.getDeclaredMethod("failing"));
+
+		try {
+			plan.invoke(new FirstTestCase(), new Object[0]);
+			Assert.fail("exception expected");
+		}
+		catch (IllegalArgumentException ex) {
+			Assert.assertEquals("failing", ex.getMessage());
+		}
+	}
+
+	@Test
+	public void selectedResolversAreReusedForResolversOfTheSameClasses() throws Exception {
+		MethodInvocationPlan plan = MethodInvocationPlan.forMethod(
+			SecondTestCase.class.getDeclaredMethod("test", String.class));
+		MethodParameterResolver resolver = new TestNameParameterResolver();
+		List<MethodParameterResolver> availableResolvers = Arrays.asList(new CustomTypeParameterResolver(),
+			resolver);
+
+		plan.rememberSelectedResolvers(availableResolvers, new MethodParameterResolver[] { resolver });
+
+		Assert.assertArrayEquals(new MethodParameterResolver[] { resolver },
+			plan.getSelectedResolvers(availableResolvers));
+		MethodParameterResolver otherResolver = new TestNameParameterResolver();
+		Assert.assertArrayEquals(new MethodParameterResolver[] { otherResolver },
+			plan.getSelectedResolvers(Arrays.asList(new CustomTypeParameterResolver(), otherResolver)));
+	}
+
+	@Test
+	public void selectedResolversAreNotReusedForResolversOfOtherClasses() throws Exception {
+		MethodInvocationPlan plan = MethodInvocationPlan.forMethod(
+			FirstTestCase.class.getDeclaredMethod("test", String.class));
+		MethodParameterResolver resolver = new TestNameParameterResolver();
+
+		plan.rememberSelectedResolvers(Arrays.asList(new CustomTypeParameterResolver(), resolver),
+			new MethodParameterResolver[] { resolver });
+
+		Assert.assertNull(plan.getSelectedResolvers(Arrays.asList(resolver)));
+		Assert.assertNull(plan.getSelectedResolvers(Arrays.asList(resolver, new CustomTypeParameterResolver())));
+	}
+
+	private static class FirstTestCase {
+
+		String test(String value) {
+			return "first:" + value;
+		}
+
+		void failing() {
+			throw new IllegalArgumentException("failing");
+		}
+	}
+
+	private static class SecondTestCase {
+
+		String test(String value) {
+			return "second:" + value;
+		}
+	}
+
+}
@@ -10,6 +10,7 @@
 
 package org.junit.gen5.engine.junit5.execution;
 
+import java.util.List;
 import java.util.Set;
 
 import org.junit.Assert;
@@ -71,6 +72,37 @@ public class TestExtensionRegistryTest {
 		assertExtensionPresentIn(MyExtension.class, grandChild.getExtensions());
 	}
 
+	@Test
+	public void extensionsViewIsReusedUntilExtensionIsAdded() {
+
+		TestExtensionRegistry parent = new TestExtensionRegistry();
+		registry = new TestExtensionRegistry(parent);
+
+		Set<TestExtension> extensions = registry.getExtensions();
+		Assert.assertSame(extensions, registry.getExtensions());
+		Assert.assertSame(parent.getExtensions(), extensions);
+
+		parent.addExtension(MyExtension.class);
+		Assert.assertNotSame(extensions, registry.getExtensions());
+		assertExtensionPresent(MyExtension.class);
+	}
+
+	@Test
+	public void extensionsCanBeLookedUpByType() {
+
+		TestExtensionRegistry parent = new TestExtensionRegistry();
+		parent.addExtension(MyExtension.class);
+
+		registry = new TestExtensionRegistry(parent);
+		registry.addExtension(YourExtension.class);
+
+		List<MyExtension> myExtensions = registry.getExtensions(MyExtension.class);
+		Assert.assertEquals(1, myExtensions.size());
+		Assert.assertSame(myExtensions, registry.getExtensions(MyExtension.class));
+		Assert.assertEquals(1, registry.getExtensions(YourExtension.class).size());
+		Assert.assertEquals(3, registry.getExtensions(TestExtension.class).size());
+	}
+
 	private void assertExtensionPresent(Class<? extends TestExtension> extensionClass) {
 		assertExtensionPresentIn(extensionClass, registry.getExtensions());
 	}
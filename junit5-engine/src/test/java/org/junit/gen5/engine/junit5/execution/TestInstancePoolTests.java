@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.junit.gen5.engine.junit5.execution;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TestInstancePool}.
+ *
+ * @since 5.0
+ */
+public class TestInstancePoolTests {
+
+	private static final List<Thread> constructingThreads = new CopyOnWriteArrayList<>();
+
+	private ExecutorService executorService;
+
+	@Before
+	public void createExecutor() {
+		constructingThreads.clear();
+		this.executorService = Executors.newSingleThreadExecutor(
+			runnable -> new Thread(runnable, "shared-prefetcher"));
+	}
+
+	@After
+	public void shutdownExecutor() {
+		this.executorService.shutdownNow();
+	}
+
+	@Test
+	public void instancesAreCreatedOnSharedExecutor() throws Exception {
+		TestInstancePool pool = new TestInstancePool(Instantiable.class, 1, 2, this.executorService);
+
+		Object first = pool.take();
+		Object second = pool.take();
+		pool.close();
+
+		Assert.assertNotSame(first, second);
+		Assert.assertEquals(2, constructingThreads.size());
+		constructingThreads.forEach(thread -> Assert.assertEquals("shared-prefetcher", thread.getName()));
+	}
+
+	@Test
+	public void instancesBeyondRequestedCountAreCreatedOnCallingThread() throws Exception {
+		TestInstancePool pool = new TestInstancePool(Instantiable.class, 2, 1, this.executorService);
+
+		pool.take();
+		pool.take();
+		pool.close();
+
+		Assert.assertEquals(2, constructingThreads.size());
+		Assert.assertEquals("shared-prefetcher", constructingThreads.get(0).getName());
+		Assert.assertSame(Thread.currentThread(), constructingThreads.get(1));
+	}
+
+	@Test
+	public void closingPoolDoesNotShutDownSharedExecutor() throws Exception {
+		new TestInstancePool(Instantiable.class, 2, 4, this.executorService).close();
+
+		Assert.assertFalse(this.executorService.isShutdown());
+		Assert.assertNotNull(new TestInstancePool(Instantiable.class, 1, 1, this.executorService).take());
+	}
+
+	@Test
+	public void constructorFailureIsRethrownOnTake() {
+		TestInstancePool pool = new TestInstancePool(FailingInstantiable.class, 1, 1, this.executorService);
+
+		try {
+			pool.take();
+			Assert.fail("exception expected");
+		}
+		catch (Exception ex) {
+			Assert.assertEquals(UnsupportedOperationException.class, ex.getClass());
+		}
+		finally {
+			pool.close();
+		}
+	}
+
+	private static class Instantiable {
+
+		Instantiable() {
+			constructingThreads.add(Thread.currentThread());
+		}
+	}
+
+	private static class FailingInstantiable {
+
+		FailingInstantiable() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+}